@@ -0,0 +1,113 @@
+package com.example.taskmanager.taskmanager.benchmark;
+
+import com.example.taskmanager.taskmanager.TaskmanagerApplication;
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the application without a web server against a private in-memory H2 database
+ * and seeds it with synthetic tasks for the benchmarks.
+ */
+final class BenchmarkApplication {
+
+    /** Seeded ids start here so they never collide with ids handed out by task_seq. */
+    static final long SEED_ID_OFFSET = 10_000_000L;
+
+    /** Tenants that {@link #seedStore} spreads the rows over, so a sharded store gets every shard populated. */
+    static final int SEED_TENANTS = 8;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return start(WebApplicationType.NONE, properties);
+    }
+
+    /**
+     * Starts the full application with an embedded server on a random port, see {@link #port}.
+     */
+    static ConfigurableApplicationContext startWeb(String... properties) {
+        List<String> withPort = new ArrayList<>(Arrays.asList(properties));
+        withPort.add("server.port=0");
+        return start(WebApplicationType.SERVLET, withPort.toArray(String[]::new));
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        List<String> defaults = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "logging.level.org.hibernate.SQL=WARN"));
+        defaults.addAll(Arrays.asList(properties));
+
+        return new SpringApplicationBuilder(TaskmanagerApplication.class)
+                .web(webApplicationType)
+                .properties(defaults.toArray(String[]::new))
+                .run();
+    }
+
+    /**
+     * Inserts {@code rows} tasks spread evenly over every status and priority, with due dates
+     * ranging from roughly a month in the past to a month in the future.
+     */
+    static void seed(ConfigurableApplicationContext context, int rows) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("""
+                INSERT INTO task (id, title, description, status, priority, due_date, created_at, updated_at, version)
+                SELECT X + ?, 'Benchmark task ' || X, 'Seeded for benchmarking',
+                       CASE MOD(X, 3) WHEN 0 THEN 'PENDING' WHEN 1 THEN 'IN_PROGRESS' ELSE 'COMPLETED' END,
+                       CASE MOD(X / 3, 3) WHEN 0 THEN 'LOW' WHEN 1 THEN 'MEDIUM' ELSE 'HIGH' END,
+                       DATEADD('MINUTE', MOD(X * 7919, 86400) - 43200, CURRENT_TIMESTAMP),
+                       CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0
+                FROM SYSTEM_RANGE(1, ?)
+                """, SEED_ID_OFFSET, rows);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * Same distribution as {@link #seed}, written through the active {@link TaskStore} so that it also
+     * fills the in-memory and sharded backends. Rows are spread round-robin over {@link #SEED_TENANTS} tenants.
+     */
+    static void seedStore(ConfigurableApplicationContext context, int rows) {
+        TaskStore taskStore = context.getBean(TaskStore.class);
+        Status[] statuses = {Status.PENDING, Status.IN_PROGRESS, Status.COMPLETED};
+        Priority[] priorities = {Priority.LOW, Priority.MEDIUM, Priority.HIGH};
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int tenant = 0; tenant < SEED_TENANTS; tenant++) {
+            List<RequestTaskModel> chunk = new ArrayList<>();
+            for (long x = tenant + 1; x <= rows; x += SEED_TENANTS) {
+                RequestTaskModel task = new RequestTaskModel();
+                task.setTitle("Benchmark task " + x);
+                task.setDescription("Seeded for benchmarking");
+                task.setStatus(statuses[(int) (x % 3)]);
+                task.setPriority(priorities[(int) (x / 3 % 3)]);
+                task.setDueDate(now.plusMinutes(x * 7919 % 86400 - 43200));
+                chunk.add(task);
+                if (chunk.size() == 10_000) {
+                    taskStore.insertAll("tenant-" + tenant, chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                taskStore.insertAll("tenant-" + tenant, chunk);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.taskmanager.taskmanager.benchmark;
+
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Identical list and stats reads from 64 threads with request coalescing on and off. Besides
+ * throughput, each iteration prints the JDBC statements prepared per operation, which is the
+ * number that falls when concurrent identical reads share one query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class CoalescingBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    @Param({"true", "false"})
+    public boolean coalescing;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Statistics statistics;
+    private final LongAdder operations = new LongAdder();
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("taskmanager.coalescing.enabled=" + coalescing,
+                "taskmanager.stats.in-memory=false",
+                "taskmanager.stats.history.enabled=false",
+                "taskmanager.scheduler.enabled=false",
+                "taskmanager.changes.drain-interval=PT1H",
+                "spring.jpa.properties.hibernate.generate_statistics=true");
+        BenchmarkApplication.seed(context, rows);
+        taskService = context.getBean(TaskService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounts() {
+        statistics.clear();
+        operations.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportCounts() {
+        long ops = Math.max(1, operations.sum());
+        System.out.printf("%n  statements/op: %.4f (%d statements, %d ops)%n", (double) statistics.getPrepareStatementCount() / ops, statistics.getPrepareStatementCount(), ops);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<TaskModel> pendingFirstPage() {
+        operations.increment();
+        return taskService.findAllData(null, Status.PENDING, null, null, PageRequest.of(0, 5));
+    }
+
+    @Benchmark
+    public Map<String, Object> stats() {
+        operations.increment();
+        return taskService.getTaskStatusAndPriorityCount();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.taskmanager.taskmanager.benchmark;
+
+import com.example.taskmanager.taskmanager.entity.TaskEntity;
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.utility.MapperClass;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private TaskEntity entity;
+    private RequestTaskModel request;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+
+        entity = new TaskEntity();
+        entity.setId(42L);
+        entity.setTitle("Prepare Project Plan");
+        entity.setDescription("Create a detailed project plan for Q4.");
+        entity.setStatus(Status.PENDING);
+        entity.setPriority(Priority.HIGH);
+        entity.setDueDate(now.plusDays(7));
+        entity.setCreatedAt(now);
+        entity.setUpdatedAt(now);
+        entity.setVersion(3L);
+
+        request = new RequestTaskModel();
+        request.setTitle(entity.getTitle());
+        request.setDescription(entity.getDescription());
+        request.setStatus(entity.getStatus());
+        request.setPriority(entity.getPriority());
+        request.setDueDate(entity.getDueDate());
+    }
+
+    @Benchmark
+    public TaskModel mapToModel() {
+        return MapperClass.mapToModel(entity);
+    }
+
+    @Benchmark
+    public TaskEntity mapToEntity() {
+        return MapperClass.mapToEntity("default", request);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.taskmanager.taskmanager.benchmark;
+
+import com.example.taskmanager.taskmanager.config.JacksonConfig;
+import com.example.taskmanager.taskmanager.entity.TaskEntity;
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.model.TaskPageResponse;
+import com.example.taskmanager.taskmanager.utility.MapperClass;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing one list response the old way (entity to model copy, {@code HashMap} wrapper, stock
+ * {@code LocalDateTime} serializer) versus the projected models in a {@link TaskPageResponse} with
+ * the pre-registered serializer. Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int size;
+
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    private List<TaskEntity> entities;
+    private List<TaskModel> models;
+    private ObjectWriter stockWriter;
+    private ObjectWriter tunedWriter;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        entities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            TaskEntity entity = new TaskEntity();
+            entity.setId((long) i);
+            entity.setTitle("Task " + i);
+            entity.setDescription("Benchmark task number " + i);
+            entity.setStatus(Status.values()[i % Status.values().length]);
+            entity.setPriority(Priority.values()[i % Priority.values().length]);
+            entity.setDueDate(now.plusHours(i));
+            entity.setCreatedAt(now);
+            entity.setUpdatedAt(now);
+            entity.setVersion(0L);
+            entities.add(entity);
+        }
+        models = entities.stream().map(MapperClass::mapToModel).toList();
+
+        stockWriter = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build().writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        Jackson2ObjectMapperBuilder tuned = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        new JacksonConfig().localDateTimeSerializerCustomizer().customize(tuned);
+        tunedWriter = tuned.build().writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Benchmark
+    public void mapWrapper() throws IOException {
+        List<TaskModel> tasks = entities.stream().map(MapperClass::mapToModel).toList();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("tasks", tasks);
+        response.put("currentPage", 0);
+        response.put("totalItems", (long) size);
+        response.put("totalPages", 1);
+
+        stockWriter.writeValue(out, response);
+    }
+
+    @Benchmark
+    public void typedRecord() throws IOException {
+        tunedWriter.writeValue(out, new TaskPageResponse(models, 0, size, 1));
+    }
+}
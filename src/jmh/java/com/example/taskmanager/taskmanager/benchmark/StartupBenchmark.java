@@ -0,0 +1,140 @@
+package com.example.taskmanager.taskmanager.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time from launching the packaged application in a fresh JVM to its first successful
+ * {@code GET /api/tasks}, for the default profile, the prod profile, and the prod profile with
+ * the AOT-processed context and the CDS archive. Needs the jar extracted by the {@code prod} Maven
+ * profile under {@code target/app}; every run uses a private in-memory database.
+ * <p>
+ * The application is stopped after each invocation, outside the measured time. The
+ * {@code firstRequest} counter reports the latency of the first successful request by itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final Path APP_DIRECTORY = Path.of("target", "app");
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"default", "prod", "prod-aot-cds"})
+    public String mode;
+
+    private Path jar;
+    private HttpClient client;
+    private Process process;
+
+    // Reported by JMH next to the score, in milliseconds
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class FirstRequest {
+
+        public double firstRequest;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            firstRequest = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        try (Stream<Path> files = Files.list(APP_DIRECTORY)) {
+            jar = files.filter(file -> file.toString().endsWith(".jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No jar in " + APP_DIRECTORY + "; build with ./mvnw -Pprod package first"));
+        }
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    }
+
+    @Benchmark
+    public long timeToFirstRequest(FirstRequest counters) throws Exception {
+        int port = freePort();
+        long start = System.nanoTime();
+        process = new ProcessBuilder(command(port)).redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks?size=1")).GET().build();
+        while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + " before serving a request");
+            }
+            long sent = System.nanoTime();
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    long end = System.nanoTime();
+                    counters.firstRequest = (end - sent) / 1e6;
+                    return end - start;
+                }
+            } catch (IOException ex) {
+                // Not listening yet
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("No successful request within " + TIMEOUT);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopApplication() throws InterruptedException {
+        if (process == null) {
+            return;
+        }
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+        process = null;
+    }
+
+    private List<String> command(int port) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (mode.equals("prod-aot-cds")) {
+            command.add("-XX:SharedArchiveFile=" + APP_DIRECTORY.resolve("taskmanager.jsa"));
+            command.add("-Dspring.aot.enabled=true");
+        }
+        if (!mode.equals("default")) {
+            command.add("-Dspring.profiles.active=prod");
+        }
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:mem:startup");
+        return command;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
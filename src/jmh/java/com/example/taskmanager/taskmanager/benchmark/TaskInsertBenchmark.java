@@ -0,0 +1,81 @@
+package com.example.taskmanager.taskmanager.benchmark;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.BulkItemResult;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-row cost of {@code addTask} (one transaction per row) against the batched bulk path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskInsertBenchmark {
+
+    private static final int BATCH = 500;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        taskService = context.getBean(TaskService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String singleInsert() {
+        return taskService.addTask("default", newTask());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<BulkItemResult> batchedInsert() {
+        List<RequestTaskModel> tasks = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            tasks.add(newTask());
+        }
+        return taskService.addTasks("default", tasks);
+    }
+
+    private RequestTaskModel newTask() {
+        long n = sequence.incrementAndGet();
+        RequestTaskModel task = new RequestTaskModel();
+        task.setTitle("Inserted task " + n);
+        task.setDescription("Created by the insert benchmark");
+        task.setStatus(Status.values()[(int) (n % 3)]);
+        task.setPriority(Priority.values()[(int) (n % 3)]);
+        task.setDueDate(LocalDateTime.now().plusDays(1 + n % 30));
+        return task;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.taskmanager.taskmanager.benchmark;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.service.TaskService;
+import com.example.taskmanager.taskmanager.utility.CursorCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offset and keyset list queries across filter combinations and page depths on a seeded table,
+ * against the JPA store, the in-memory store and the sharded store (where every query spans tenants).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskQueryBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"none", "status", "priority", "status_priority", "overdue", "status_overdue"})
+    public String filter;
+
+    @Param({"0", "100", "10000"})
+    public int page;
+
+    @Param({"20"})
+    public int size;
+
+    @Param({"jpa", "memory", "sharded"})
+    public String store;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Status status;
+    private Priority priority;
+    private Boolean overdue;
+    private String cursor;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("taskmanager.store.type=" + store);
+        if (!store.equals("jpa")) {
+            BenchmarkApplication.seedStore(context, rows);
+        } else {
+            BenchmarkApplication.seed(context, rows);
+        }
+        taskService = context.getBean(TaskService.class);
+
+        status = filter.contains("status") ? Status.PENDING : null;
+        priority = filter.contains("priority") ? Priority.HIGH : null;
+        overdue = filter.contains("overdue") ? Boolean.TRUE : null;
+
+        // Keyset cursor positioned at the same depth as the offset page
+        cursor = "";
+        if (page > 0) {
+            Page<TaskModel> previous = taskService.findAllData(null, status, overdue, priority, PageRequest.of(page - 1, size, Sort.by("dueDate", "id")));
+            List<TaskModel> content = previous.getContent();
+            if (!content.isEmpty()) {
+                cursor = CursorCodec.encode(content.get(content.size() - 1));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<TaskModel> offsetPage() {
+        return taskService.findAllData(null, status, overdue, priority, PageRequest.of(page, size));
+    }
+
+    @Benchmark
+    public Slice<TaskModel> keysetSlice() {
+        return taskService.findAllDataAfter(null, status, overdue, priority, cursor, size);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.taskmanager.taskmanager.benchmark;
+
+import com.example.taskmanager.taskmanager.service.TaskService;
+import com.example.taskmanager.taskmanager.service.impl.TaskStatsEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getTaskStatusAndPriorityCount} served from the in-memory counters versus the database queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskStatsBenchmark {
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"memory", "database"})
+    public String source;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("taskmanager.stats.in-memory=" + source.equals("memory"));
+        BenchmarkApplication.seed(context, rows);
+        if (source.equals("memory")) {
+            context.getBean(TaskStatsEngine.class).rebuild();
+        }
+        taskService = context.getBean(TaskService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> stats() {
+        return taskService.getTaskStatusAndPriorityCount();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.taskmanager.taskmanager.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP load test of the list endpoint with 256 concurrent clients, comparing the default
+ * platform-thread Tomcat pool against virtual threads behind the database concurrency limiter.
+ * Throughput is reported per second; {@code -prof gc} and the limiter wait timer on
+ * {@code /actuator/metrics/taskmanager.db.limiter.wait} show where the time goes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(256)
+@Fork(1)
+public class ThreadModelLoadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.startWeb("spring.threads.virtual.enabled=" + virtualThreads, "taskmanager.db-limiter.acquire-timeout=60s",
+                "taskmanager.rate-limit.enabled=false", "taskmanager.load-shedding.enabled=false");
+        BenchmarkApplication.seed(context, rows);
+        baseUrl = "http://localhost:" + BenchmarkApplication.port(context) + "/api/tasks";
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int listTasks() throws Exception {
+        int page = ThreadLocalRandom.current().nextInt(100);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "?status=PENDING&size=20&page=" + page)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
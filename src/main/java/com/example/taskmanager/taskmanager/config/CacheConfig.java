@@ -0,0 +1,15 @@
+package com.example.taskmanager.taskmanager.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the task read cache. Size, TTL and the on/off switch live under {@code spring.cache}
+ * in application.yml; hit, miss and eviction counts are published as {@code cache.*} metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TASK_CACHE = "tasks";
+}
@@ -0,0 +1,21 @@
+package com.example.taskmanager.taskmanager.config;
+
+import com.example.taskmanager.taskmanager.utility.IsoLocalDateTimeSerializer;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registers {@link IsoLocalDateTimeSerializer} on the application {@code ObjectMapper}, ahead of the
+ * JavaTimeModule one, so task timestamps are written without per-value formatter allocations.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer localDateTimeSerializerCustomizer() {
+        return builder -> builder.serializerByType(LocalDateTime.class, IsoLocalDateTimeSerializer.INSTANCE);
+    }
+}
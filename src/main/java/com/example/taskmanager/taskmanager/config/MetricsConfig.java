@@ -0,0 +1,21 @@
+package com.example.taskmanager.taskmanager.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@code @Timed} on the service classes and on every {@code TaskStore}, so store calls are
+ * timed as {@code taskmanager.store} whichever store is configured. Spring Data repository calls are
+ * also timed by Spring Boot as {@code spring.data.repository.invocations}, Hikari pool gauges as
+ * {@code hikaricp.*}, and everything is scraped from {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
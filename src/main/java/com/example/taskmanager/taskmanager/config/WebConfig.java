@@ -0,0 +1,31 @@
+package com.example.taskmanager.taskmanager.config;
+
+import com.example.taskmanager.taskmanager.interceptor.DbConcurrencyInterceptor;
+import com.example.taskmanager.taskmanager.interceptor.LoadSheddingInterceptor;
+import com.example.taskmanager.taskmanager.interceptor.RateLimitInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ObjectProvider<RateLimitInterceptor> rateLimitInterceptor;
+
+    @Autowired
+    private ObjectProvider<LoadSheddingInterceptor> loadSheddingInterceptor;
+
+    @Autowired
+    private ObjectProvider<DbConcurrencyInterceptor> dbConcurrencyInterceptor;
+
+    // Cheapest rejection first: per-client rate limit, then global load shedding, then the database permit
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        rateLimitInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor).addPathPatterns("/api/**"));
+        loadSheddingInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor).addPathPatterns("/api/**"));
+        dbConcurrencyInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor).addPathPatterns("/api/**"));
+    }
+}
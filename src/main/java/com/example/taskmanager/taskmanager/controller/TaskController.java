@@ -1,10 +1,27 @@
 package com.example.taskmanager.taskmanager.controller;
 
 import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.StatsBucket;
 import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.enums.TransferFormat;
+import com.example.taskmanager.taskmanager.model.BulkResponse;
+import com.example.taskmanager.taskmanager.model.ImportResponse;
+import com.example.taskmanager.taskmanager.model.ImportSummary;
+import com.example.taskmanager.taskmanager.model.MessageResponse;
+import com.example.taskmanager.taskmanager.model.StatsHistoryResponse;
 import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.StatusUpdateModel;
+import com.example.taskmanager.taskmanager.model.TaskChangeFeedResponse;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
 import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.model.TaskPageResponse;
+import com.example.taskmanager.taskmanager.model.TaskResponse;
+import com.example.taskmanager.taskmanager.model.TaskSliceResponse;
+import com.example.taskmanager.taskmanager.service.TaskChangeFeedService;
+import com.example.taskmanager.taskmanager.service.TaskSearchService;
 import com.example.taskmanager.taskmanager.service.TaskService;
+import com.example.taskmanager.taskmanager.service.TaskStatsHistoryService;
+import com.example.taskmanager.taskmanager.service.TaskTransferService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,16 +31,28 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
 
 /**
  * REST controller for managing tasks.
@@ -32,87 +61,278 @@ import java.util.Map;
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+    /**
+     * Names the tenant a request acts for. Creates use the default tenant when it is absent,
+     * and list, cursor and export reads then span every tenant. Requests by id answer 404 for a
+     * task of another tenant.
+     */
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskTransferService taskTransferService;
+
+    @Autowired
+    private TaskChangeFeedService taskChangeFeedService;
+
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    @Autowired
+    private TaskStatsHistoryService taskStatsHistoryService;
+
+    @Value("${taskmanager.changes.max-wait:PT30S}")
+    private Duration maxChangesWait;
+
+    @Value("${taskmanager.api.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${taskmanager.api.max-offset:0}")
+    private long maxOffset;
+
+    @Value("${taskmanager.tenancy.default-tenant:default}")
+    private String defaultTenant;
+
     private static final Logger logger = LoggerFactory.getLogger(TaskController.class);
 
-    @Operation(summary = "Retrieve all tasks", description = "Get a paginated list of tasks, optionally filtered by status, priority, or due date")
-    @ApiResponses({@ApiResponse(responseCode = "200", description = "Tasks retrieved successfully", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = TaskModel.class))), @ApiResponse(responseCode = "400", description = "Invalid request parameters", content = @Content), @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)})
+    @Operation(summary = "Retrieve all tasks", description = "Get a paginated list of tasks, optionally filtered by status, priority, or due date. Sending X-Tenant-Id limits the list to that tenant; without it the list spans every tenant")
+    @ApiResponses({@ApiResponse(responseCode = "200", description = "Tasks retrieved successfully", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = TaskPageResponse.class))), @ApiResponse(responseCode = "400", description = "Invalid request parameters", content = @Content), @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)})
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllTasks(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "5") int size, @RequestParam(required = false) Status status, @RequestParam(required = false) Priority priority, @RequestParam(required = false) Boolean dueDate) {
+    public ResponseEntity<TaskPageResponse> getAllTasks(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "5") int size, @RequestParam(required = false) Status status, @RequestParam(required = false) Priority priority, @RequestParam(required = false) Boolean dueDate, @RequestHeader(value = TENANT_HEADER, required = false) String tenant) {
         logger.info("Fetching all tasks");
 
+        checkPage(page, size);
         Pageable pageable = PageRequest.of(page, size);
-        Page<TaskModel> tasksPage = taskService.findAllData(status, dueDate, priority, pageable);
+        Page<TaskModel> tasksPage = taskService.findAllData(readTenant(tenant), status, dueDate, priority, pageable);
+
+        return ResponseEntity.ok(TaskPageResponse.of(tasksPage));
+    }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("tasks", tasksPage.getContent());
-        response.put("currentPage", tasksPage.getNumber());
-        response.put("totalItems", tasksPage.getTotalElements());
-        response.put("totalPages", tasksPage.getTotalPages());
+    @Operation(summary = "Retrieve tasks after a cursor", description = "Passing a cursor (empty for the first slice) switches to keyset pagination ordered by due date and id, which skips the total count")
+    @GetMapping(params = "cursor")
+    public ResponseEntity<TaskSliceResponse> getTasksAfterCursor(@RequestParam String cursor, @RequestParam(defaultValue = "5") int size, @RequestParam(required = false) Status status, @RequestParam(required = false) Priority priority, @RequestParam(required = false) Boolean dueDate, @RequestHeader(value = TENANT_HEADER, required = false) String tenant) {
+        logger.info("Fetching tasks after cursor");
 
-        return ResponseEntity.ok(response);
+        checkPageSize(size);
+        Slice<TaskModel> tasksSlice = taskService.findAllDataAfter(readTenant(tenant), status, dueDate, priority, cursor, size);
+
+        return ResponseEntity.ok(TaskSliceResponse.of(tasksSlice));
+    }
+
+    @Operation(summary = "Search tasks", description = "Full-text search over title and description, ranked by relevance and optionally filtered by status or priority. Sending X-Tenant-Id limits the results to that tenant; without it they span every tenant")
+    @GetMapping("/search")
+    public ResponseEntity<TaskPageResponse> searchTasks(@RequestParam String q, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "5") int size, @RequestParam(required = false) Status status, @RequestParam(required = false) Priority priority, @RequestHeader(value = TENANT_HEADER, required = false) String tenant) {
+        logger.info("Searching tasks");
+
+        checkPage(page, size);
+        Page<TaskModel> tasksPage = taskSearchService.search(q, readTenant(tenant), status, priority, PageRequest.of(page, size));
+
+        return ResponseEntity.ok(TaskPageResponse.of(tasksPage));
+    }
+
+    @Operation(summary = "Rebuild the search index", description = "Reindexes every task from the database; use when search results have drifted")
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<MessageResponse> rebuildSearchIndex() {
+        logger.info("Rebuilding search index");
+
+        int indexed = taskSearchService.rebuildIndex();
+
+        return ResponseEntity.ok(new MessageResponse("Search index rebuilt with " + indexed + " tasks"));
     }
 
-    @Operation(summary = "Retrieve a task by ID")
+    @Operation(summary = "Retrieve a task by ID", description = "Archived tasks are served from the archive. The response carries the task version as ETag; a matching If-None-Match is answered with 304 and no body")
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getTaskById(@PathVariable Long id) {
+    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id, @RequestHeader(value = TENANT_HEADER, required = false) String tenant) {
         logger.info("Fetching task by ID: {}", id);
 
         TaskModel task = taskService.getTaskById(id);
-        Map<String, Object> response = new HashMap<>();
-        response.put("task", task);
+        checkTenant(task, readTenant(tenant));
 
-        return ResponseEntity.ok(response);
+        // Spring answers a matching If-None-Match with 304 before the body is serialized
+        return ResponseEntity.ok().eTag(eTag(task.getVersion())).body(new TaskResponse(task));
     }
 
     @Operation(summary = "Create a new task")
     @PostMapping
-    public ResponseEntity<Map<String, Object>> addTask(@Valid @RequestBody RequestTaskModel requestTaskModel) {
+    public ResponseEntity<MessageResponse> addTask(@Valid @RequestBody RequestTaskModel requestTaskModel, @RequestHeader(value = TENANT_HEADER, required = false) String tenant) {
         logger.info("Adding new task");
 
-        String message = taskService.addTask(requestTaskModel);
-        Map<String, Object> response = new HashMap<>();
-        response.put("message", message);
+        String message = taskService.addTask(writeTenant(tenant), requestTaskModel);
+        return new ResponseEntity<>(new MessageResponse(message), HttpStatus.CREATED);
+    }
+
+    private void checkPageSize(int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("size must be between 1 and " + maxPageSize);
+        }
+    }
+
+    // Every store reads past the skipped rows, and the sharded one reads them on each shard; zero sets no limit
+    private void checkPage(int page, int size) {
+        checkPageSize(size);
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (maxOffset > 0 && (long) page * size > maxOffset) {
+            throw new IllegalArgumentException("page * size must be at most " + maxOffset + "; page further with the cursor parameter");
+        }
+    }
+
+    /**
+     * Validates the tenant header; absent means the read spans every tenant.
+     */
+    private static String readTenant(String tenant) {
+        if (tenant == null || tenant.isBlank()) {
+            return null;
+        }
+        if (!TENANT_ID.matcher(tenant.trim()).matches()) {
+            throw new IllegalArgumentException("Invalid " + TENANT_HEADER + " header: " + tenant);
+        }
+        return tenant.trim();
+    }
 
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    private String writeTenant(String tenant) {
+        String tenantId = readTenant(tenant);
+        return tenantId != null ? tenantId : defaultTenant;
+    }
+
+    /**
+     * Answers a task of another tenant as missing. Tasks never change tenant, so checking before a
+     * write is as good as checking inside it.
+     */
+    private static void checkTenant(TaskModel task, String tenantId) {
+        if (tenantId != null && !tenantId.equals(task.getTenantId())) {
+            throw new NoSuchElementException("Task with id " + task.getId() + " not found");
+        }
+    }
+
+    private void checkTenant(Long id, String tenant) {
+        String tenantId = readTenant(tenant);
+        if (tenantId != null) {
+            checkTenant(taskService.getTaskById(id), tenantId);
+        }
+    }
+
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Reads the expected task version from an If-Match header; absent or "*" means "any version".
+     */
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid If-Match header: " + ifMatch);
+        }
     }
 
     @Operation(summary = "Update task details")
     @PutMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> updateTask(@PathVariable Long id, @Valid @RequestBody RequestTaskModel requestTaskModel) {
+    public ResponseEntity<MessageResponse> updateTask(@PathVariable Long id, @Valid @RequestBody RequestTaskModel requestTaskModel, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, @RequestHeader(value = TENANT_HEADER, required = false) String tenant) {
         logger.info("Updating task with ID: {}", id);
 
-        String message = taskService.updateTask(id, requestTaskModel);
-        Map<String, Object> response = new HashMap<>();
-        response.put("message", message);
+        checkTenant(id, tenant);
 
-        return ResponseEntity.ok(response);
+        String message = taskService.updateTask(id, requestTaskModel, parseVersion(ifMatch));
+        return ResponseEntity.ok(new MessageResponse(message));
     }
 
-    @Operation(summary = "Update task status")
+    @Operation(summary = "Update task status", description = "With write-behind enabled and no If-Match, the change is logged and answered with 202; it is written to the database shortly after")
     @PatchMapping("/{id}/status")
-    public ResponseEntity<Map<String, Object>> patchStatus(@PathVariable Long id, @RequestParam Status status) {
+    public ResponseEntity<MessageResponse> patchStatus(@PathVariable Long id, @RequestParam Status status, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, @RequestHeader(value = TENANT_HEADER, required = false) String tenant) {
         logger.info("Updating status for task ID: {}", id);
 
-        String message = taskService.patchStatus(id, status);
-        Map<String, Object> response = new HashMap<>();
-        response.put("message", message);
+        checkTenant(id, tenant);
 
-        return ResponseEntity.ok(response);
+        // A version check needs the current row, so conditional updates are always written synchronously
+        if (ifMatch == null && taskService.queueStatus(id, status)) {
+            return ResponseEntity.accepted().body(new MessageResponse("Status Update Accepted"));
+        }
+        String message = taskService.patchStatus(id, status, parseVersion(ifMatch));
+        return ResponseEntity.ok(new MessageResponse(message));
     }
 
     @Operation(summary = "Delete a task by ID")
     @DeleteMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> deleteTask(@PathVariable Long id) {
+    public ResponseEntity<MessageResponse> deleteTask(@PathVariable Long id, @RequestHeader(value = TENANT_HEADER, required = false) String tenant) {
         logger.info("Deleting task with ID: {}", id);
 
+        checkTenant(id, tenant);
+
         String message = taskService.deleteTask(id);
-        Map<String, Object> response = new HashMap<>();
-        response.put("message", message);
+        return ResponseEntity.ok(new MessageResponse(message));
+    }
+
+    @Operation(summary = "Create tasks in bulk", description = "Validates every entry up front, writes the valid ones in batched chunks and reports a result per entry")
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResponse> addTasks(@RequestBody List<RequestTaskModel> requestTaskModels, @RequestHeader(value = TENANT_HEADER, required = false) String tenant) {
+        logger.info("Adding {} tasks in bulk", requestTaskModels.size());
+
+        return ResponseEntity.ok(BulkResponse.of(taskService.addTasks(writeTenant(tenant), requestTaskModels)));
+    }
+
+    @Operation(summary = "Update task statuses in bulk", description = "Sending X-Tenant-Id reports tasks of other tenants as not found")
+    @PatchMapping("/bulk/status")
+    public ResponseEntity<BulkResponse> patchStatuses(@RequestBody List<StatusUpdateModel> statusUpdates, @RequestHeader(value = TENANT_HEADER, required = false) String tenant) {
+        logger.info("Updating status for {} tasks in bulk", statusUpdates.size());
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(BulkResponse.of(taskService.patchStatuses(readTenant(tenant), statusUpdates)));
+    }
+
+    @Operation(summary = "Delete tasks in bulk", description = "Sending X-Tenant-Id reports tasks of other tenants as not found")
+    @DeleteMapping("/bulk")
+    public ResponseEntity<BulkResponse> deleteTasks(@RequestBody List<Long> ids, @RequestHeader(value = TENANT_HEADER, required = false) String tenant) {
+        logger.info("Deleting {} tasks in bulk", ids.size());
+
+        return ResponseEntity.ok(BulkResponse.of(taskService.deleteTasks(readTenant(tenant), ids)));
+    }
+
+    @Operation(summary = "Export tasks", description = "Streams every task matching the filters as NDJSON or CSV")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(defaultValue = "ndjson") String format, @RequestParam(required = false) Status status, @RequestParam(required = false) Priority priority, @RequestParam(required = false) Boolean dueDate, @RequestHeader(value = TENANT_HEADER, required = false) String tenant) {
+        logger.info("Exporting tasks");
+
+        TransferFormat transferFormat = TransferFormat.fromValue(format);
+        TaskFilter filter = new TaskFilter(readTenant(tenant), status, priority, dueDate);
+        StreamingResponseBody body = out -> taskTransferService.exportTasks(filter, transferFormat, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(transferFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tasks." + transferFormat.getExtension())
+                .body(body);
+    }
+
+    @Operation(summary = "Import tasks", description = "Streams an NDJSON or CSV body into the task table and reports the lines that failed. The format defaults to the request content type")
+    @PostMapping("/import")
+    public ResponseEntity<ImportResponse> importTasks(@RequestParam(required = false) String format, @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType, @RequestHeader(value = TENANT_HEADER, required = false) String tenant, InputStream body) throws IOException {
+        TransferFormat transferFormat = format != null ? TransferFormat.fromValue(format) : contentType != null && contentType.contains(TransferFormat.CSV.getContentType()) ? TransferFormat.CSV : TransferFormat.NDJSON;
+        logger.info("Importing tasks as {}", transferFormat);
+
+        ImportSummary summary = taskTransferService.importTasks(writeTenant(tenant), transferFormat, body);
+
+        return ResponseEntity.ok(new ImportResponse(summary));
+    }
+
+    @Operation(summary = "Tail task changes", description = "Long-polls for changes recorded after the given offset. Answers as soon as any are available, or with an empty batch after the wait; send nextOffset as since on the following call")
+    @GetMapping("/changes")
+    public DeferredResult<TaskChangeFeedResponse> getChanges(@RequestParam(defaultValue = "0") long since, @RequestParam(defaultValue = "100") int limit, @RequestParam(required = false) Duration wait) {
+        logger.info("Polling task changes since offset {}", since);
+
+        Duration effectiveWait = wait == null || wait.compareTo(maxChangesWait) > 0 ? maxChangesWait : wait;
+        return taskChangeFeedService.changesSince(since, limit, effectiveWait);
     }
 
     @Operation(summary = "Get task statistics")
@@ -123,4 +343,12 @@ public class TaskController {
         Map<String, Object> stats = taskService.getTaskStatusAndPriorityCount();
         return ResponseEntity.ok(stats);
     }
+
+    @Operation(summary = "Get task statistics history", description = "Counts per minute, hour or day bucket between from and to (ISO date-times), read from the precomputed rollups")
+    @GetMapping("/stats/history")
+    public ResponseEntity<StatsHistoryResponse> getTaskStatsHistory(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from, @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to, @RequestParam(defaultValue = "minute") String bucket) {
+        logger.info("Fetching task statistics history");
+
+        return ResponseEntity.ok(taskStatsHistoryService.getHistory(from, to, StatsBucket.fromValue(bucket)));
+    }
 }
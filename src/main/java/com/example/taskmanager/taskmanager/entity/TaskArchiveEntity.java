@@ -0,0 +1,49 @@
+package com.example.taskmanager.taskmanager.entity;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a completed task moved out of {@code task} by the archiver. The row has its own key
+ * and keeps the task's id and version, so reads by id fall back to it unchanged. A store that reuses
+ * ids can archive several tasks under one task id; each keeps its row and reads see the newest.
+ */
+@Entity
+@Table(name = "task_archive", indexes = @Index(name = "idx_task_archive_task", columnList = "task_id, archived_at"))
+@Getter
+@Setter
+public class TaskArchiveEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_archive_seq_gen")
+    @SequenceGenerator(name = "task_archive_seq_gen", sequenceName = "task_archive_seq", allocationSize = 50)
+    private Long id;
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+    @Column(name = "title", nullable = false, length = 100)
+    private String title;
+    @Column(name = "description", length = 500)
+    private String description;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", nullable = false)
+    private Priority priority;
+    @Column(name = "due_date", nullable = false)
+    private LocalDateTime dueDate;
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    @Column(name = "version", nullable = false)
+    private Long version;
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
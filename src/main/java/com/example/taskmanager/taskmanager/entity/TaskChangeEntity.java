@@ -0,0 +1,38 @@
+package com.example.taskmanager.taskmanager.entity;
+
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.event.TaskChangedEvent;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row written in the same transaction as the task mutation it records. The feed offset
+ * is left empty on insert and assigned later by the single publisher, in the order rows become visible.
+ */
+@Entity
+@Table(name = "task_change", indexes = @Index(name = "idx_task_change_offset", columnList = "change_offset"))
+@Getter
+@Setter
+public class TaskChangeEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_change_seq_gen")
+    @SequenceGenerator(name = "task_change_seq_gen", sequenceName = "task_change_seq", allocationSize = 50)
+    private Long id;
+    @Column(name = "change_offset", unique = true)
+    private Long changeOffset;
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private TaskChangedEvent.ChangeType changeType;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private Status status;
+    @Column(name = "payload", length = 4000)
+    private String payload;
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
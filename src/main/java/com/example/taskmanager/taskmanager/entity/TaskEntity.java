@@ -13,14 +13,22 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "task", uniqueConstraints = @UniqueConstraint(columnNames = {"title", "status"}))
+@Table(name = "task", uniqueConstraints = @UniqueConstraint(columnNames = {"tenant_id", "title", "status"}), indexes = {
+        @Index(name = "idx_task_tenant_status_priority_due", columnList = "tenant_id, status, priority, due_date"),
+        @Index(name = "idx_task_status_priority_due", columnList = "status, priority, due_date"),
+        @Index(name = "idx_task_due_status", columnList = "due_date, status"),
+        @Index(name = "idx_task_priority_due", columnList = "priority, due_date"),
+        @Index(name = "idx_task_status_updated", columnList = "status, updated_at")
+})
 @Getter
 @Setter
 public class TaskEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq_gen")
-    @SequenceGenerator(name = "task_seq_gen", sequenceName = "task_seq", allocationSize = 10, initialValue = 100)
+    @SequenceGenerator(name = "task_seq_gen", sequenceName = "task_seq", allocationSize = 50, initialValue = 100)
     private Long id;
+    @Column(name = "tenant_id", nullable = false, length = 64, updatable = false)
+    private String tenantId;
     @Column(name = "title", nullable = false, length = 100)
     private String title;
     @Column(name = "description", length = 500)
@@ -39,4 +47,7 @@ public class TaskEntity {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
@@ -0,0 +1,41 @@
+package com.example.taskmanager.taskmanager.entity;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.StatsBucket;
+import com.example.taskmanager.taskmanager.enums.Status;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Task counts for one status x priority cell at the close of one bucket.
+ */
+@Entity
+@Table(name = "task_stats_rollup", uniqueConstraints = @UniqueConstraint(columnNames = {"bucket", "bucket_start", "status", "priority"}), indexes = {
+        @Index(name = "idx_task_stats_rollup_bucket_start", columnList = "bucket, bucket_start")
+})
+@Getter
+@Setter
+public class TaskStatsRollupEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_stats_rollup_seq_gen")
+    @SequenceGenerator(name = "task_stats_rollup_seq_gen", sequenceName = "task_stats_rollup_seq", allocationSize = 50)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "bucket", nullable = false)
+    private StatsBucket bucket;
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", nullable = false)
+    private Priority priority;
+    @Column(name = "total_count", nullable = false)
+    private long totalCount;
+    @Column(name = "overdue_count", nullable = false)
+    private long overdueCount;
+}
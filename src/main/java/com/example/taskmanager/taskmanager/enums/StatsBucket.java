@@ -0,0 +1,46 @@
+package com.example.taskmanager.taskmanager.enums;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Resolutions of the stats history; each bucket is labelled with its start time.
+ */
+public enum StatsBucket {
+    MINUTE(ChronoUnit.MINUTES, Duration.ofHours(1)),
+    HOUR(ChronoUnit.HOURS, Duration.ofDays(1)),
+    DAY(ChronoUnit.DAYS, Duration.ofDays(30));
+
+    private final ChronoUnit unit;
+    private final Duration defaultRange;
+
+    StatsBucket(ChronoUnit unit, Duration defaultRange) {
+        this.unit = unit;
+        this.defaultRange = defaultRange;
+    }
+
+    public LocalDateTime start(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Range returned when the caller gives no {@code from}.
+     */
+    public Duration getDefaultRange() {
+        return defaultRange;
+    }
+
+    public static StatsBucket fromValue(String value) {
+        for (StatsBucket bucket : values()) {
+            if (bucket.name().equalsIgnoreCase(value)) {
+                return bucket;
+            }
+        }
+        throw new IllegalArgumentException("Invalid bucket '" + value + "'. Allowed values are: minute, hour, day");
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.taskmanager.taskmanager.enums;
+
+/**
+ * Line-oriented formats supported by the export and import endpoints.
+ */
+public enum TransferFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    TransferFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static TransferFormat fromValue(String value) {
+        for (TransferFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Invalid format '" + value + "'. Allowed values are: ndjson, csv");
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.taskmanager.taskmanager.event;
+
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+
+/**
+ * Published by the service layer for every task mutation. {@code task} carries the full
+ * state for creations and updates; status changes, deletions and archivals only know the id (and status).
+ * An archived task has left the live table for {@code task_archive} and is only readable by id.
+ */
+public record TaskChangedEvent(ChangeType type, Long id, TaskModel task, Status status) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED,
+        ARCHIVED
+    }
+
+    public static TaskChangedEvent created(TaskModel task) {
+        return new TaskChangedEvent(ChangeType.CREATED, task.getId(), task, task.getStatus());
+    }
+
+    public static TaskChangedEvent updated(TaskModel task) {
+        return new TaskChangedEvent(ChangeType.UPDATED, task.getId(), task, task.getStatus());
+    }
+
+    public static TaskChangedEvent statusChanged(Long id, Status status) {
+        return new TaskChangedEvent(ChangeType.STATUS_CHANGED, id, null, status);
+    }
+
+    public static TaskChangedEvent deleted(Long id) {
+        return new TaskChangedEvent(ChangeType.DELETED, id, null, null);
+    }
+
+    public static TaskChangedEvent archived(Long id) {
+        return new TaskChangedEvent(ChangeType.ARCHIVED, id, null, Status.COMPLETED);
+    }
+}
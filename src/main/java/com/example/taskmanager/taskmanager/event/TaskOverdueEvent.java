@@ -0,0 +1,10 @@
+package com.example.taskmanager.taskmanager.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by the due-date scheduler when a non-completed task passes its due date.
+ * Consumers subscribe with {@code @EventListener}; delivery happens on the scheduler thread.
+ */
+public record TaskOverdueEvent(Long id, LocalDateTime dueDate) {
+}
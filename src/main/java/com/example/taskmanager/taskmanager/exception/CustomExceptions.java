@@ -6,4 +6,36 @@ public class CustomExceptions {
             super(message);
         }
     }
+
+    public static class ServiceBusyException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public ServiceBusyException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    public static class RateLimitExceededException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public RateLimitExceededException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    public static class PreconditionFailedException extends RuntimeException {
+        public PreconditionFailedException(String message) {
+            super(message);
+        }
+    }
 }
@@ -2,7 +2,14 @@ package com.example.taskmanager.taskmanager.exception;
 
 import com.example.taskmanager.taskmanager.model.ErrorResponse;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -18,8 +25,18 @@ import java.util.NoSuchElementException;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private void countError(Exception ex, HttpStatus status) {
+        meterRegistry.counter("taskmanager.api.errors", "exception", ex.getClass().getSimpleName(), "status", String.valueOf(status.value())).increment();
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        countError(ex, HttpStatus.BAD_REQUEST);
         ErrorResponse response = ErrorResponse.builder().timestamp(LocalDateTime.now()).status(HttpStatus.BAD_REQUEST.value()).message("Database constraint violated: " + ex.getMostSpecificCause().getMessage()).build();
 
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
@@ -27,13 +44,47 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(CustomExceptions.TaskDeletionException.class)
     public ResponseEntity<ErrorResponse> handleTaskDeletionException(CustomExceptions.TaskDeletionException ex) {
+        countError(ex, HttpStatus.BAD_REQUEST);
         ErrorResponse response = ErrorResponse.builder().timestamp(LocalDateTime.now()).status(HttpStatus.BAD_REQUEST.value()).message(ex.getMessage()).build();
 
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(CustomExceptions.PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(CustomExceptions.PreconditionFailedException ex) {
+        countError(ex, HttpStatus.PRECONDITION_FAILED);
+        ErrorResponse response = ErrorResponse.builder().timestamp(LocalDateTime.now()).status(HttpStatus.PRECONDITION_FAILED.value()).message(ex.getMessage()).build();
+
+        return new ResponseEntity<>(response, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler({OptimisticLockException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponse> handleOptimisticLockException(Exception ex) {
+        countError(ex, HttpStatus.CONFLICT);
+        ErrorResponse response = ErrorResponse.builder().timestamp(LocalDateTime.now()).status(HttpStatus.CONFLICT.value()).message("Task was modified concurrently, reload it and retry").build();
+
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(CustomExceptions.ServiceBusyException.class)
+    public ResponseEntity<ErrorResponse> handleServiceBusyException(CustomExceptions.ServiceBusyException ex) {
+        countError(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        ErrorResponse response = ErrorResponse.builder().timestamp(LocalDateTime.now()).status(HttpStatus.SERVICE_UNAVAILABLE.value()).message(ex.getMessage()).build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds())).body(response);
+    }
+
+    @ExceptionHandler(CustomExceptions.RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(CustomExceptions.RateLimitExceededException ex) {
+        countError(ex, HttpStatus.TOO_MANY_REQUESTS);
+        ErrorResponse response = ErrorResponse.builder().timestamp(LocalDateTime.now()).status(HttpStatus.TOO_MANY_REQUESTS.value()).message(ex.getMessage()).build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds())).body(response);
+    }
+
     @ExceptionHandler(NoSuchElementException.class)
     public ResponseEntity<ErrorResponse> handleNoSuchElementException(NoSuchElementException ex) {
+        countError(ex, HttpStatus.NOT_FOUND);
         ErrorResponse response = ErrorResponse.builder().timestamp(LocalDateTime.now()).status(HttpStatus.NOT_FOUND.value()).message(ex.getMessage()).build();
 
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
@@ -41,6 +92,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        countError(ex, HttpStatus.BAD_REQUEST);
         ErrorResponse response = ErrorResponse.builder().timestamp(LocalDateTime.now()).status(HttpStatus.BAD_REQUEST.value()).message(ex.getMessage()).build();
 
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
@@ -48,6 +100,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException ex) {
+        countError(ex, HttpStatus.BAD_REQUEST);
         Map<String, String> fieldErrors = new HashMap<>();
         ex.getBindingResult().getFieldErrors().forEach(error -> fieldErrors.put(error.getField(), error.getDefaultMessage()));
 
@@ -58,7 +111,8 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleAllExceptions(Exception ex) {
-        ex.printStackTrace(); // log for debugging
+        countError(ex, HttpStatus.INTERNAL_SERVER_ERROR);
+        logger.error("Unhandled exception", ex);
 
         ErrorResponse response = ErrorResponse.builder().timestamp(LocalDateTime.now()).status(HttpStatus.INTERNAL_SERVER_ERROR.value()).message("An unexpected error occurred").build();
 
@@ -67,6 +121,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ErrorResponse> handleHttpMessageNotReadable(HttpMessageNotReadableException ex) {
+        countError(ex, HttpStatus.BAD_REQUEST);
         Throwable cause = ex.getCause();
 
         if (cause instanceof InvalidFormatException invalidEx) {
@@ -0,0 +1,123 @@
+package com.example.taskmanager.taskmanager.interceptor;
+
+import com.example.taskmanager.taskmanager.exception.CustomExceptions;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds the number of API requests that may use the database at once when requests run on
+ * virtual threads. Without it, thousands of cheap virtual threads would all queue inside the
+ * connection pool (pinning their carriers in synchronized JDBC code); here the excess waits on a
+ * fair semaphore sized to the pool, which parks the virtual thread without holding a carrier.
+ * <p>
+ * A streamed response ({@link StreamingResponseBody}) reads the database on the async thread, so
+ * its permit is kept until the async request completes, fails or times out. Other async handlers,
+ * such as change-feed long polls, only wait, and give their permit back when async handling starts.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class DbConcurrencyInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = DbConcurrencyInterceptor.class.getName() + ".PERMIT";
+
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final Timer waitTimer;
+
+    public DbConcurrencyInterceptor(@Value("${taskmanager.db-limiter.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+                                    @Value("${taskmanager.db-limiter.acquire-timeout:5s}") Duration acquireTimeout,
+                                    MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeout = acquireTimeout;
+        this.waitTimer = Timer.builder("taskmanager.db.limiter.wait").description("Time API requests waited for a database permit").publishPercentileHistogram().register(meterRegistry);
+        Gauge.builder("taskmanager.db.limiter.queued", permits, Semaphore::getQueueLength).description("Requests waiting for a database permit").register(meterRegistry);
+        Gauge.builder("taskmanager.db.limiter.available", permits, Semaphore::availablePermits).description("Unused database permits").register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // The dispatch after async processing only renders the result; a streamed body still holds its permit
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        long start = System.nanoTime();
+        boolean acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            throw new CustomExceptions.ServiceBusyException("Too many concurrent requests, try again shortly", Math.max(1, acquireTimeout.toSeconds()));
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new AtomicBoolean(true));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!streamsBody(handler)) {
+            release(request);
+            return;
+        }
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                release(request);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                release(request);
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                release(request);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    // The async listener and the final dispatch may both get here; only the first gives the permit back
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AtomicBoolean held && held.compareAndSet(true, false)) {
+            permits.release();
+        }
+    }
+
+    private static boolean streamsBody(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return false;
+        }
+        ResolvableType returnType = ResolvableType.forMethodReturnType(handlerMethod.getMethod());
+        if (ResponseEntity.class.isAssignableFrom(returnType.toClass())) {
+            returnType = returnType.getGeneric(0);
+        }
+        return StreamingResponseBody.class.isAssignableFrom(returnType.toClass());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.taskmanager.taskmanager.interceptor;
+
+import com.example.taskmanager.taskmanager.exception.CustomExceptions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sheds API load with {@code 503} before it reaches the database. Requests beyond the in-flight
+ * limit are rejected; while the recent p99 latency is above the threshold the limit drops to the
+ * degraded value, which still lets some requests through so the latency window can recover.
+ * Long-polls and streamed responses stop counting once their handler goes asynchronous.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.load-shedding.enabled", havingValue = "true", matchIfMissing = true)
+public class LoadSheddingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = LoadSheddingInterceptor.class.getName() + ".START";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int maxInFlight;
+    private final int degradedInFlight;
+    private final Duration p99Threshold;
+    private final long retryAfterSeconds;
+    private final Timer latency;
+    private final Counter shedInFlight;
+    private final Counter shedLatency;
+
+    private volatile boolean degraded;
+
+    public LoadSheddingInterceptor(@Value("${taskmanager.load-shedding.max-in-flight:200}") int maxInFlight,
+                                   @Value("${taskmanager.load-shedding.degraded-in-flight:50}") int degradedInFlight,
+                                   @Value("${taskmanager.load-shedding.p99-threshold:2s}") Duration p99Threshold,
+                                   @Value("${taskmanager.load-shedding.retry-after:2s}") Duration retryAfter,
+                                   MeterRegistry meterRegistry) {
+        this.maxInFlight = maxInFlight;
+        this.degradedInFlight = degradedInFlight;
+        this.p99Threshold = p99Threshold;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        this.latency = Timer.builder("taskmanager.api.latency").description("Synchronous API request latency seen by the load shedder")
+                .publishPercentiles(0.99).distributionStatisticExpiry(Duration.ofSeconds(30)).distributionStatisticBufferLength(3).register(meterRegistry);
+        this.shedInFlight = Counter.builder("taskmanager.api.rejected").tag("reason", "in_flight").register(meterRegistry);
+        this.shedLatency = Counter.builder("taskmanager.api.rejected").tag("reason", "latency").register(meterRegistry);
+        Gauge.builder("taskmanager.api.in_flight", inFlight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        boolean latencyBound = degraded;
+        int limit = latencyBound ? degradedInFlight : maxInFlight;
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            (latencyBound ? shedLatency : shedInFlight).increment();
+            throw new CustomExceptions.ServiceBusyException("Service is overloaded, try again shortly", retryAfterSeconds);
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        finish(request, false);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        finish(request, true);
+    }
+
+    /**
+     * Whether the recent p99 latency is above the threshold; background work backs off while it is.
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void evaluate() {
+        for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.99) {
+                degraded = percentile.value(TimeUnit.NANOSECONDS) > p99Threshold.toNanos();
+            }
+        }
+    }
+
+    private void finish(HttpServletRequest request, boolean recordLatency) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start == null) {
+            return;
+        }
+        request.removeAttribute(START_ATTRIBUTE);
+        inFlight.decrementAndGet();
+        if (recordLatency) {
+            latency.record(System.nanoTime() - (Long) start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.taskmanager.taskmanager.interceptor;
+
+import com.example.taskmanager.taskmanager.exception.CustomExceptions;
+import com.example.taskmanager.taskmanager.utility.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token-bucket rate limit on the API; idle buckets expire so the table stays bounded.
+ * <p>
+ * Clients are identified by the authenticated principal, or else by the remote address. Behind a
+ * proxy the remote address is the client's only when {@code server.forward-headers-strategy} is
+ * set. A client id header is honoured only when {@code client-header} names one and the request
+ * comes straight from one of the {@code trusted-proxies}, which must set it themselves; otherwise
+ * any client could pick a fresh bucket per request.
+ */
+@Component
+@ConditionalOnProperty(name = "taskmanager.rate-limit.enabled", havingValue = "true")
+public class RateLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final String clientHeader;
+    private final Set<String> trustedProxies;
+    private final Cache<String, TokenBucket> buckets;
+    private final Counter rejected;
+
+    public RateLimitInterceptor(@Value("${taskmanager.rate-limit.requests-per-second:20}") double permitsPerSecond,
+                                @Value("${taskmanager.rate-limit.burst:40}") int burst,
+                                @Value("${taskmanager.rate-limit.client-header:}") String clientHeader,
+                                @Value("${taskmanager.rate-limit.trusted-proxies:}") List<String> trustedProxies,
+                                @Value("${taskmanager.rate-limit.max-clients:100000}") long maxClients,
+                                MeterRegistry meterRegistry) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.clientHeader = clientHeader;
+        this.trustedProxies = Set.copyOf(trustedProxies);
+        this.buckets = Caffeine.newBuilder().maximumSize(maxClients).expireAfterAccess(Duration.ofMinutes(10)).build();
+        this.rejected = Counter.builder("taskmanager.api.rejected").tag("reason", "rate_limit").description("API requests rejected before reaching a controller").register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The async re-dispatch of an already admitted request is not charged again
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(clientKey(request), key -> new TokenBucket(permitsPerSecond, burst, now));
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            rejected.increment();
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            throw new CustomExceptions.RateLimitExceededException("Rate limit exceeded, try again in " + retryAfterSeconds + " s", retryAfterSeconds);
+        }
+        return true;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        if (!clientHeader.isEmpty() && trustedProxies.contains(request.getRemoteAddr())) {
+            String client = request.getHeader(clientHeader);
+            if (client != null && !client.isBlank()) {
+                return "client:" + client;
+            }
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.taskmanager.taskmanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single entry of a bulk request, reported at the entry's position in the request array.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResult {
+
+    private int index;
+    private Long id;
+    private boolean success;
+    private String message;
+}
@@ -0,0 +1,14 @@
+package com.example.taskmanager.taskmanager.model;
+
+import java.util.List;
+
+/**
+ * Per-entry outcome of a bulk request, ordered by request index, with success and failure totals.
+ */
+public record BulkResponse(List<BulkItemResult> results, long succeeded, long failed) {
+
+    public static BulkResponse of(List<BulkItemResult> results) {
+        long succeeded = results.stream().filter(BulkItemResult::isSuccess).count();
+        return new BulkResponse(results, succeeded, results.size() - succeeded);
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.taskmanager.taskmanager.model;
+
+public record ImportResponse(ImportSummary summary) {
+}
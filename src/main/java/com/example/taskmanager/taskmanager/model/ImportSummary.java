@@ -0,0 +1,27 @@
+package com.example.taskmanager.taskmanager.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ImportSummary {
+
+    private long totalRows;
+    private long imported;
+    private long failed;
+    private List<LineError> errors = new ArrayList<>();
+    private boolean errorsTruncated; // true when more rows failed than are listed in errors
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.taskmanager.taskmanager.model;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Stats at the close of one bucket, with the same totals as {@code /api/tasks/stats}.
+ */
+public record StatsHistoryPoint(LocalDateTime bucketStart, long notOverdueCount, long overdueCount, List<Cell> detailedStats) {
+
+    public record Cell(Status status, Priority priority, long count, long overdue) {
+    }
+}
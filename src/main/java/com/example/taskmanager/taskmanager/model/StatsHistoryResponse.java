@@ -0,0 +1,9 @@
+package com.example.taskmanager.taskmanager.model;
+
+import com.example.taskmanager.taskmanager.enums.StatsBucket;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record StatsHistoryResponse(StatsBucket bucket, LocalDateTime from, LocalDateTime to, List<StatsHistoryPoint> points) {
+}
@@ -0,0 +1,17 @@
+package com.example.taskmanager.taskmanager.model;
+
+import com.example.taskmanager.taskmanager.enums.Status;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class StatusUpdateModel {
+
+    @NotNull(message = "Id cannot be null")
+    private Long id;
+
+    @NotNull(message = "Status cannot be null")
+    private Status status;
+}
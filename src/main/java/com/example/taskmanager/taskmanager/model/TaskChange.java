@@ -0,0 +1,13 @@
+package com.example.taskmanager.taskmanager.model;
+
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.event.TaskChangedEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the change feed. {@code task} holds the full task for creations and updates only.
+ */
+public record TaskChange(long offset, Long taskId, TaskChangedEvent.ChangeType type, Status status, LocalDateTime changedAt, @JsonRawValue String task) {
+}
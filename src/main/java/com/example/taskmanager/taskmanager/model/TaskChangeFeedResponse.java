@@ -0,0 +1,9 @@
+package com.example.taskmanager.taskmanager.model;
+
+import java.util.List;
+
+/**
+ * A batch of changes in offset order; {@code nextOffset} is the {@code since} value for the following poll.
+ */
+public record TaskChangeFeedResponse(List<TaskChange> changes, long nextOffset) {
+}
@@ -0,0 +1,14 @@
+package com.example.taskmanager.taskmanager.model;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+
+/**
+ * Optional list filters accepted by the task endpoints; a {@code null} component means "not filtered",
+ * so a {@code null} tenant spans every tenant. {@code overdue} selects non-completed tasks whose due
+ * date is in the past (true) or future (false).
+ */
+public record TaskFilter(String tenantId, Status status, Priority priority, Boolean overdue) {
+
+    public static final TaskFilter ALL = new TaskFilter(null, null, null, null);
+}
@@ -2,6 +2,7 @@ package com.example.taskmanager.taskmanager.model;
 
 import com.example.taskmanager.taskmanager.enums.Priority;
 import com.example.taskmanager.taskmanager.enums.Status;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -10,8 +11,10 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @NoArgsConstructor
+@AllArgsConstructor
 public class TaskModel {
     private Long id;
+    private String tenantId;
     private String title;
     private String description;
     private Status status;
@@ -19,5 +22,6 @@ public class TaskModel {
     private LocalDateTime dueDate;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
 }
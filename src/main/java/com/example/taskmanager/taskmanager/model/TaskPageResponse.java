@@ -0,0 +1,15 @@
+package com.example.taskmanager.taskmanager.model;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * One offset page of tasks together with the totals needed for page navigation.
+ */
+public record TaskPageResponse(List<TaskModel> tasks, int currentPage, long totalItems, int totalPages) {
+
+    public static TaskPageResponse of(Page<TaskModel> page) {
+        return new TaskPageResponse(page.getContent(), page.getNumber(), page.getTotalElements(), page.getTotalPages());
+    }
+}
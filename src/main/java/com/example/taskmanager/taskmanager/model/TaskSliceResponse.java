@@ -0,0 +1,17 @@
+package com.example.taskmanager.taskmanager.model;
+
+import com.example.taskmanager.taskmanager.utility.CursorCodec;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * One keyset slice of tasks; {@code nextCursor} is {@code null} on the last slice.
+ */
+public record TaskSliceResponse(List<TaskModel> tasks, boolean hasNext, String nextCursor) {
+
+    public static TaskSliceResponse of(Slice<TaskModel> slice) {
+        List<TaskModel> tasks = slice.getContent();
+        return new TaskSliceResponse(tasks, slice.hasNext(), slice.hasNext() ? CursorCodec.encode(tasks.get(tasks.size() - 1)) : null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.taskmanager.taskmanager.repository;
+
+import com.example.taskmanager.taskmanager.entity.TaskArchiveEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TaskArchiveRepo extends JpaRepository<TaskArchiveEntity, Long> {
+
+    // Newest copy first, for ids a store has handed out more than once
+    Optional<TaskArchiveEntity> findFirstByTaskIdOrderByArchivedAtDescIdDesc(Long taskId);
+
+    boolean existsByTaskId(Long taskId);
+}
@@ -0,0 +1,28 @@
+package com.example.taskmanager.taskmanager.repository;
+
+import com.example.taskmanager.taskmanager.entity.TaskChangeEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskChangeRepo extends JpaRepository<TaskChangeEntity, Long> {
+
+    List<TaskChangeEntity> findByChangeOffsetIsNullOrderByIdAsc(Pageable pageable);
+
+    List<TaskChangeEntity> findByChangeOffsetGreaterThanOrderByChangeOffsetAsc(Long changeOffset, Pageable pageable);
+
+    @Query("select coalesce(max(c.changeOffset), 0) from TaskChangeEntity c")
+    long findMaxChangeOffset();
+
+    // Only published rows are removed, so a slow publisher never loses changes
+    @Modifying
+    @Query("delete from TaskChangeEntity c where c.changedAt < :before and c.changeOffset is not null")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
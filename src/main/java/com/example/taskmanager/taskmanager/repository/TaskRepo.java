@@ -1,28 +1,62 @@
 package com.example.taskmanager.taskmanager.repository;
 
 import com.example.taskmanager.taskmanager.entity.TaskEntity;
-import com.example.taskmanager.taskmanager.enums.Priority;
 import com.example.taskmanager.taskmanager.enums.Status;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TaskRepo extends JpaRepository<TaskEntity, Long> {
+public interface TaskRepo extends JpaRepository<TaskEntity, Long>, JpaSpecificationExecutor<TaskEntity>, TaskRepoCustom {
 
-    @Query("SELECT t FROM TaskEntity t WHERE (:STATUS IS NULL OR t.status = :STATUS) AND (:PRIORITY IS NULL OR t.priority = :PRIORITY) AND (:DUE_DATE IS NULL OR (:DUE_DATE = TRUE AND t.dueDate < CURRENT_TIMESTAMP and t.status <> 'COMPLETED') OR (:DUE_DATE = FALSE AND t.dueDate > CURRENT_TIMESTAMP AND t.status <> 'COMPLETED'))")
-    Page<TaskEntity> findAll(@Param("STATUS") Status status, @Param("PRIORITY") Priority priority, @Param("DUE_DATE") Boolean dueDate, Pageable pageable);
+    // A null version skips the optimistic check; a zero count means "missing" or "stale version".
+    // The persistence context is cleared so later reads in the transaction see the new row
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update TaskEntity t set t.status = :status, t.updatedAt = :updatedAt, t.version = t.version + 1 where t.id = :id and (:version is null or t.version = :version)")
+    int updateStatusById(@Param("id") Long id, @Param("status") Status status, @Param("version") Long version, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Deletes unless the task is in the given status; a zero count means "missing" or "protected"
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from TaskEntity t where t.id = :id and t.status <> :status")
+    int deleteByIdAndStatusNot(@Param("id") Long id, @Param("status") Status status);
+
+    // Rows stay locked until the transaction ends, so the versions read here cannot move before a delete
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from TaskEntity t where t.id in :ids")
+    List<TaskEntity> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from TaskEntity t where t.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    // Range scan on idx_task_status_updated, oldest first
+    List<TaskEntity> findByStatusAndUpdatedAtBeforeOrderByUpdatedAtAscIdAsc(Status status, LocalDateTime updatedAt, Pageable pageable);
 
     @Query("select t.status, t.priority , count(*) from TaskEntity t group by t.status, t.priority")
     List<Object[]> getTaskStatusAndPriorityCount();
 
+    @Query("select t.status, t.priority, count(*) from TaskEntity t where t.dueDate < :now and t.status <> :status group by t.status, t.priority")
+    List<Object[]> getOverdueStatusAndPriorityCount(@Param("now") LocalDateTime now, @Param("status") Status status);
+
     Long countByDueDateBeforeAndStatusNot(LocalDateTime dueDate, Status status);
     Long countByDueDateAfterAndStatusNot(LocalDateTime dueDate, Status status);
 
+    // Range scan on idx_task_due_status; rows are (id, dueDate)
+    @Query("select t.id, t.dueDate from TaskEntity t where t.dueDate > :from and t.dueDate <= :to and t.status <> :status")
+    List<Object[]> findDueBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to, @Param("status") Status status);
+
+    @Query("select t.dueDate from TaskEntity t where t.id = :id and t.status <> :status")
+    Optional<LocalDateTime> findDueDateByIdAndStatusNot(@Param("id") Long id, @Param("status") Status status);
+
 }
@@ -0,0 +1,34 @@
+package com.example.taskmanager.taskmanager.repository;
+
+import com.example.taskmanager.taskmanager.entity.TaskEntity;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.stream.Stream;
+
+/**
+ * Query fragments of {@link TaskRepo} that need direct access to the Criteria API.
+ */
+public interface TaskRepoCustom {
+
+    /**
+     * Reads one page straight into {@link TaskModel} through a constructor projection, so no
+     * managed entities are created. The count query is skipped when the page itself shows the total.
+     */
+    Page<TaskModel> findModels(Specification<TaskEntity> spec, Pageable pageable);
+
+    /**
+     * Reads one keyset slice ordered by (dueDate, id) into {@link TaskModel}, fetching a single
+     * extra row to detect a following slice instead of running a count query.
+     */
+    Slice<TaskModel> findSliceOrderedByDueDate(Specification<TaskEntity> spec, int size);
+
+    /**
+     * Opens a forward-only cursor over the matching tasks in id order, read through the same
+     * projection as {@link #findModels}. Must be consumed inside a transaction and closed by the caller.
+     */
+    Stream<TaskModel> streamModels(Specification<TaskEntity> spec, int fetchSize);
+}
@@ -0,0 +1,101 @@
+package com.example.taskmanager.taskmanager.repository;
+
+import com.example.taskmanager.taskmanager.entity.TaskEntity;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class TaskRepoCustomImpl implements TaskRepoCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<TaskModel> findModels(Specification<TaskEntity> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskModel> query = cb.createQuery(TaskModel.class);
+        Root<TaskEntity> root = query.from(TaskEntity.class);
+        selectModel(query, root, cb);
+        applySpec(spec, query, root, cb);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<TaskModel> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public Slice<TaskModel> findSliceOrderedByDueDate(Specification<TaskEntity> spec, int size) {
+        Pageable pageable = PageRequest.of(0, size, Sort.by("dueDate", "id"));
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskModel> query = cb.createQuery(TaskModel.class);
+        Root<TaskEntity> root = query.from(TaskEntity.class);
+        selectModel(query, root, cb);
+        applySpec(spec, query, root, cb);
+        query.orderBy(cb.asc(root.get("dueDate")), cb.asc(root.get("id")));
+
+        List<TaskModel> rows = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+    }
+
+    @Override
+    public Stream<TaskModel> streamModels(Specification<TaskEntity> spec, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskModel> query = cb.createQuery(TaskModel.class);
+        Root<TaskEntity> root = query.from(TaskEntity.class);
+        selectModel(query, root, cb);
+        applySpec(spec, query, root, cb);
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    private long count(Specification<TaskEntity> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<TaskEntity> root = query.from(TaskEntity.class);
+        query.select(cb.count(root));
+        applySpec(spec, query, root, cb);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Selects the columns in the order of the {@link TaskModel} all-args constructor.
+     */
+    private static void selectModel(CriteriaQuery<TaskModel> query, Root<TaskEntity> root, CriteriaBuilder cb) {
+        query.select(cb.construct(TaskModel.class,
+                root.get("id"), root.get("tenantId"), root.get("title"), root.get("description"), root.get("status"), root.get("priority"),
+                root.get("dueDate"), root.get("createdAt"), root.get("updatedAt"), root.get("version")));
+    }
+
+    private static void applySpec(Specification<TaskEntity> spec, CriteriaQuery<?> query, Root<TaskEntity> root, CriteriaBuilder cb) {
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+}
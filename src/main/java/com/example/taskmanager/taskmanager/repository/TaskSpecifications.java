@@ -0,0 +1,57 @@
+package com.example.taskmanager.taskmanager.repository;
+
+import com.example.taskmanager.taskmanager.entity.TaskEntity;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+import com.example.taskmanager.taskmanager.utility.CursorCodec;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds task queries that contain only the predicates actually supplied, so every
+ * filter combination stays sargable against the indexes declared on {@link TaskEntity}.
+ */
+public class TaskSpecifications {
+
+    public static Specification<TaskEntity> matches(TaskFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.tenantId() != null) {
+                predicates.add(cb.equal(root.get("tenantId"), filter.tenantId()));
+            }
+            if (filter.status() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.status()));
+            }
+            if (filter.priority() != null) {
+                predicates.add(cb.equal(root.get("priority"), filter.priority()));
+            }
+            if (filter.overdue() != null) {
+                Expression<LocalDateTime> dueDate = root.get("dueDate");
+                predicates.add(filter.overdue() ? cb.lessThan(dueDate, cb.localDateTime()) : cb.greaterThan(dueDate, cb.localDateTime()));
+                predicates.add(cb.notEqual(root.get("status"), Status.COMPLETED));
+            }
+
+            return predicates.isEmpty() ? null : cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Seek predicate for keyset pagination over (dueDate, id); a {@code null} position matches everything.
+     */
+    public static Specification<TaskEntity> after(CursorCodec.Position position) {
+        return (root, query, cb) -> {
+            if (position == null) {
+                return null;
+            }
+            Expression<LocalDateTime> dueDate = root.get("dueDate");
+            Expression<Long> id = root.get("id");
+            return cb.or(cb.greaterThan(dueDate, position.dueDate()), cb.and(cb.equal(dueDate, position.dueDate()), cb.greaterThan(id, position.id())));
+        };
+    }
+}
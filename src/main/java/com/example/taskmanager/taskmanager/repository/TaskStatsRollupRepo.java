@@ -0,0 +1,24 @@
+package com.example.taskmanager.taskmanager.repository;
+
+import com.example.taskmanager.taskmanager.entity.TaskStatsRollupEntity;
+import com.example.taskmanager.taskmanager.enums.StatsBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskStatsRollupRepo extends JpaRepository<TaskStatsRollupEntity, Long> {
+
+    List<TaskStatsRollupEntity> findByBucketAndBucketStart(StatsBucket bucket, LocalDateTime bucketStart);
+
+    List<TaskStatsRollupEntity> findByBucketAndBucketStartBetweenOrderByBucketStartAsc(StatsBucket bucket, LocalDateTime from, LocalDateTime to);
+
+    @Modifying
+    @Query("delete from TaskStatsRollupEntity r where r.bucket = :bucket and r.bucketStart < :before")
+    int deleteByBucketAndBucketStartBefore(@Param("bucket") StatsBucket bucket, @Param("before") LocalDateTime before);
+}
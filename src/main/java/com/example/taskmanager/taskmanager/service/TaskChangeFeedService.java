@@ -0,0 +1,16 @@
+package com.example.taskmanager.taskmanager.service;
+
+import com.example.taskmanager.taskmanager.model.TaskChangeFeedResponse;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+
+public interface TaskChangeFeedService {
+
+    /**
+     * Completes with up to {@code limit} changes after {@code since} as soon as any are published,
+     * or with an empty batch once {@code wait} has elapsed. A negative {@code since} or {@code wait}
+     * is rejected with an {@link IllegalArgumentException}.
+     */
+    public DeferredResult<TaskChangeFeedResponse> changesSince(long since, int limit, Duration wait);
+}
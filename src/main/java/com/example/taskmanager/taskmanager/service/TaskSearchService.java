@@ -0,0 +1,13 @@
+package com.example.taskmanager.taskmanager.service;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface TaskSearchService {
+
+    public Page<TaskModel> search(String query, String tenantId, Status status, Priority priority, Pageable pageable);
+    public int rebuildIndex();
+}
@@ -3,13 +3,17 @@ package com.example.taskmanager.taskmanager.service;
 import com.example.taskmanager.taskmanager.enums.Priority;
 import com.example.taskmanager.taskmanager.enums.Status;
 
+import com.example.taskmanager.taskmanager.model.BulkItemResult;
 import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.StatusUpdateModel;
 import com.example.taskmanager.taskmanager.model.TaskModel;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Map;
 
 
@@ -18,9 +22,14 @@ public interface TaskService {
 
     public String deleteTask(Long id);
     public TaskModel getTaskById(Long id);
-    public String addTask(RequestTaskModel taskModel);
-    public String updateTask(Long id, RequestTaskModel updatedTask);
-    public String patchStatus(Long Id, Status status) ;
-    public Page<TaskModel> findAllData(Status status, Boolean dueDate, Priority priority, Pageable pageable);
+    public String addTask(String tenantId, RequestTaskModel taskModel);
+    public String updateTask(Long id, RequestTaskModel updatedTask, Long expectedVersion);
+    public String patchStatus(Long Id, Status status, Long expectedVersion) ;
+    public boolean queueStatus(Long id, Status status);
+    public Page<TaskModel> findAllData(String tenantId, Status status, Boolean dueDate, Priority priority, Pageable pageable);
+    public Slice<TaskModel> findAllDataAfter(String tenantId, Status status, Boolean dueDate, Priority priority, String cursor, int size);
     public Map<String, Object> getTaskStatusAndPriorityCount();
+    public List<BulkItemResult> addTasks(String tenantId, List<RequestTaskModel> taskModels);
+    public List<BulkItemResult> patchStatuses(String tenantId, List<StatusUpdateModel> updates);
+    public List<BulkItemResult> deleteTasks(String tenantId, List<Long> ids);
 }
@@ -0,0 +1,11 @@
+package com.example.taskmanager.taskmanager.service;
+
+import com.example.taskmanager.taskmanager.enums.StatsBucket;
+import com.example.taskmanager.taskmanager.model.StatsHistoryResponse;
+
+import java.time.LocalDateTime;
+
+public interface TaskStatsHistoryService {
+
+    public StatsHistoryResponse getHistory(LocalDateTime from, LocalDateTime to, StatsBucket bucket);
+}
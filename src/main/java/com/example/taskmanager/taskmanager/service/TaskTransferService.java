@@ -0,0 +1,15 @@
+package com.example.taskmanager.taskmanager.service;
+
+import com.example.taskmanager.taskmanager.enums.TransferFormat;
+import com.example.taskmanager.taskmanager.model.ImportSummary;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface TaskTransferService {
+
+    public void exportTasks(TaskFilter filter, TransferFormat format, OutputStream out) throws IOException;
+    public ImportSummary importTasks(String tenantId, TransferFormat format, InputStream in) throws IOException;
+}
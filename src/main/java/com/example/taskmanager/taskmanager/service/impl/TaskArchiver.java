@@ -0,0 +1,150 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.entity.TaskArchiveEntity;
+import com.example.taskmanager.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.taskmanager.interceptor.LoadSheddingInterceptor;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.repository.TaskArchiveRepo;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.example.taskmanager.taskmanager.utility.MapperClass.mapToArchive;
+
+/**
+ * Moves completed tasks that have not changed for {@code taskmanager.archive.min-age} out of the
+ * store into {@code task_archive}, so list and count queries only scan live work however much
+ * history accumulates.
+ * <p>
+ * Tasks are archived oldest first, one transaction per chunk: the copies are written and flushed,
+ * then the live rows are deleted only where their version still matches the copy, and copies of
+ * tasks changed in between are dropped again. Chunks are spaced by a pause, a run is capped at
+ * {@code max-chunks}, and a run stops early while the load shedder reports degraded latency.
+ * With the JPA store a chunk is atomic; the other stores delete outside the database transaction,
+ * after the copies have been flushed.
+ */
+@Component
+public class TaskArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskArchiver.class);
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private TaskArchiveRepo taskArchiveRepo;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectProvider<LoadSheddingInterceptor> loadShedding;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${taskmanager.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${taskmanager.archive.min-age:P30D}")
+    private Duration minAge;
+
+    @Value("${taskmanager.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${taskmanager.archive.max-chunks:100}")
+    private int maxChunks;
+
+    @Value("${taskmanager.archive.pause:200ms}")
+    private Duration pause;
+
+    private record Chunk(int found, int archived) {
+    }
+
+    public TaskArchiver(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${taskmanager.archive.interval:PT10M}", fixedDelayString = "${taskmanager.archive.interval:PT10M}")
+    public void run() {
+        if (enabled) {
+            archive(LocalDateTime.now().minus(minAge));
+        }
+    }
+
+    /**
+     * Archives completed tasks last updated before {@code cutoff} and returns how many were moved.
+     */
+    public int archive(LocalDateTime cutoff) {
+        int archived = 0;
+        for (int i = 0; i < maxChunks; i++) {
+            if (i > 0 && !backOff()) {
+                break;
+            }
+            Chunk chunk = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            archived += chunk.archived();
+            if (chunk.found() < chunkSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            logger.info("Archived {} completed tasks last updated before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    private Chunk archiveChunk(LocalDateTime cutoff) {
+        List<TaskModel> candidates = taskStore.findCompletedBefore(cutoff, chunkSize);
+        if (candidates.isEmpty()) {
+            return new Chunk(0, 0);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Long> versions = new LinkedHashMap<>();
+        List<TaskArchiveEntity> copies = new ArrayList<>(candidates.size());
+        for (TaskModel task : candidates) {
+            versions.put(task.getId(), task.getVersion());
+            copies.add(mapToArchive(task, now));
+        }
+        // Copies get their own keys, so an id the store hands out again never replaces an earlier copy
+        taskArchiveRepo.saveAllAndFlush(copies);
+
+        Set<Long> removed = taskStore.deleteAllByIdAndVersion(versions);
+        if (removed.size() < versions.size()) {
+            taskArchiveRepo.deleteAllInBatch(copies.stream().filter(copy -> !removed.contains(copy.getTaskId())).toList());
+        }
+        removed.forEach(id -> eventPublisher.publishEvent(TaskChangedEvent.archived(id)));
+        return new Chunk(candidates.size(), removed.size());
+    }
+
+    // Pauses between chunks; false when the run should stop and leave the rest to the next one
+    private boolean backOff() {
+        LoadSheddingInterceptor shedder = loadShedding.getIfAvailable();
+        if (shedder != null && shedder.isDegraded()) {
+            logger.info("Archiving paused while API latency is degraded");
+            return false;
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
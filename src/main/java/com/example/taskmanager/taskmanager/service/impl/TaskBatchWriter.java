@@ -0,0 +1,167 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.taskmanager.model.BulkItemResult;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.StatusUpdateModel;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes already-validated bulk requests in chunks, one transaction per chunk, so that the JPA
+ * store can group the statements into JDBC batches. When a chunk hits a constraint violation it is
+ * rolled back and replayed one entry at a time to pin the failure on the offending entries.
+ */
+@Component
+public class TaskBatchWriter {
+
+    private static final String DUPLICATE_MESSAGE = "Task with the same title and status already exists.";
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${taskmanager.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * A bulk entry together with its position in the original request.
+     */
+    public record Item<T>(int index, T value) {
+    }
+
+    public TaskBatchWriter(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public List<BulkItemResult> insert(String tenantId, List<Item<RequestTaskModel>> items) {
+        return writeInChunks(items, chunk -> insertChunk(tenantId, chunk));
+    }
+
+    public List<BulkItemResult> updateStatus(List<Item<StatusUpdateModel>> items) {
+        return writeInChunks(items, this::updateStatusChunk);
+    }
+
+    public List<BulkItemResult> delete(List<Item<Long>> items) {
+        return writeInChunks(items, this::deleteChunk);
+    }
+
+    private <T> List<BulkItemResult> writeInChunks(List<Item<T>> items, Function<List<Item<T>>, List<BulkItemResult>> writer) {
+        List<BulkItemResult> results = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            writeChunk(items.subList(from, Math.min(from + chunkSize, items.size())), writer, results);
+        }
+        return results;
+    }
+
+    private <T> void writeChunk(List<Item<T>> chunk, Function<List<Item<T>>, List<BulkItemResult>> writer, List<BulkItemResult> results) {
+        try {
+            results.addAll(transactionTemplate.execute(status -> {
+                List<BulkItemResult> written = writer.apply(chunk);
+                // Flush first so rows queued by change listeners (the outbox) are not discarded
+                entityManager.flush();
+                entityManager.clear();
+                return written;
+            }));
+        } catch (DataIntegrityViolationException ex) {
+            if (chunk.size() == 1) {
+                results.add(failure(chunk.get(0).index(), null, DUPLICATE_MESSAGE));
+                return;
+            }
+            for (Item<T> item : chunk) {
+                writeChunk(List.of(item), writer, results);
+            }
+        }
+    }
+
+    private List<BulkItemResult> insertChunk(String tenantId, List<Item<RequestTaskModel>> chunk) {
+        List<TaskModel> saved = taskStore.insertAll(tenantId, chunk.stream().map(Item::value).toList());
+
+        List<BulkItemResult> written = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            TaskModel task = saved.get(i);
+            eventPublisher.publishEvent(TaskChangedEvent.created(task));
+            written.add(success(chunk.get(i).index(), task.getId(), "Task added successfully"));
+        }
+        return written;
+    }
+
+    private List<BulkItemResult> updateStatusChunk(List<Item<StatusUpdateModel>> chunk) {
+        Set<Long> found = taskStore.updateStatuses(chunk.stream().map(Item::value).toList());
+
+        // A repeated id ends up with its last status, which every event for it reports
+        Map<Long, Status> applied = new HashMap<>();
+        List<BulkItemResult> written = new ArrayList<>(chunk.size());
+        for (Item<StatusUpdateModel> item : chunk) {
+            Long id = item.value().getId();
+            if (!found.contains(id)) {
+                written.add(failure(item.index(), id, "Task with id " + id + " not found"));
+                continue;
+            }
+            applied.put(id, item.value().getStatus());
+            written.add(success(item.index(), id, "Status Updated Successfully"));
+        }
+
+        written.stream().filter(BulkItemResult::isSuccess).forEach(result -> eventPublisher.publishEvent(TaskChangedEvent.statusChanged(result.getId(), applied.get(result.getId()))));
+        return written;
+    }
+
+    private List<BulkItemResult> deleteChunk(List<Item<Long>> chunk) {
+        List<Long> ids = chunk.stream().map(Item::value).toList();
+        Set<Long> deleted = taskStore.deleteAllByIdUnlessStatus(ids, Status.IN_PROGRESS);
+        // Of the rest, the tasks that are still there were kept by their status
+        Set<Long> kept = taskStore.findAllById(ids.stream().filter(id -> !deleted.contains(id)).distinct().toList()).stream()
+                .map(TaskModel::getId)
+                .collect(Collectors.toSet());
+
+        List<BulkItemResult> written = new ArrayList<>(chunk.size());
+        Set<Long> seen = new HashSet<>();
+        for (Item<Long> item : chunk) {
+            Long id = item.value();
+            if (seen.add(id) && deleted.contains(id)) {
+                written.add(success(item.index(), id, "Task Deleted Successfully"));
+            } else if (kept.contains(id)) {
+                written.add(failure(item.index(), id, "Cannot delete task with status IN_PROGRESS"));
+            } else {
+                written.add(failure(item.index(), id, "Task with id " + id + " not found"));
+            }
+        }
+
+        deleted.forEach(id -> eventPublisher.publishEvent(TaskChangedEvent.deleted(id)));
+        return written;
+    }
+
+    private static BulkItemResult success(int index, Long id, String message) {
+        return BulkItemResult.builder().index(index).id(id).success(true).message(message).build();
+    }
+
+    static BulkItemResult failure(int index, Long id, String message) {
+        return BulkItemResult.builder().index(index).id(id).success(false).message(message).build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.config.CacheConfig;
+import com.example.taskmanager.taskmanager.event.TaskChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts a task from the read cache as soon as a change to it commits, on the writing thread,
+ * so that the next read after the write returns reaches the database. The cache is read with
+ * {@code sync}, so a miss that read the old row before the commit finishes its load before this
+ * eviction runs, and the stale entry it stored is the one removed.
+ */
+@Component
+public class TaskCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.TASK_CACHE);
+        if (cache != null) {
+            cache.evict(event.id());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.entity.TaskChangeEntity;
+import com.example.taskmanager.taskmanager.model.TaskChange;
+import com.example.taskmanager.taskmanager.model.TaskChangeFeedResponse;
+import com.example.taskmanager.taskmanager.repository.TaskChangeRepo;
+import com.example.taskmanager.taskmanager.service.TaskChangeFeedService;
+import com.example.taskmanager.taskmanager.utility.MapperClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Publishes the {@code task_change} outbox as an ordered feed.
+ * <p>
+ * A single scheduled drainer assigns consecutive offsets to committed outbox rows in batches.
+ * Because only committed rows are visible to it, offsets never appear out of order to readers,
+ * whatever order the writing transactions committed in. Long-poll requests that find nothing
+ * after their offset park as waiters and are completed by the drainer once it has published
+ * newer rows, from a single read starting at the lowest waiting offset. Offsets are assigned in-process, so only one application instance may drain.
+ */
+@Service
+public class TaskChangeFeedServiceImpl implements TaskChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskChangeFeedServiceImpl.class);
+
+    @Autowired
+    private TaskChangeRepo taskChangeRepo;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${taskmanager.changes.drain-batch-size:500}")
+    private int drainBatchSize;
+
+    @Value("${taskmanager.changes.max-limit:1000}")
+    private int maxLimit;
+
+    @Value("${taskmanager.changes.retention:P7D}")
+    private Duration retention;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+
+    // Highest offset assigned so far; -1 until the drainer has read it from the table
+    private volatile long lastOffset = -1;
+
+    private record Waiter(long since, int limit, DeferredResult<TaskChangeFeedResponse> result) {
+    }
+
+    public TaskChangeFeedServiceImpl(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        lastOffset = taskChangeRepo.findMaxChangeOffset();
+    }
+
+    @Override
+    public DeferredResult<TaskChangeFeedResponse> changesSince(long since, int limit, Duration wait) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        if (wait.isNegative()) {
+            throw new IllegalArgumentException("wait must not be negative");
+        }
+        int cappedLimit = Math.max(1, Math.min(limit, maxLimit));
+        DeferredResult<TaskChangeFeedResponse> result = new DeferredResult<>(wait.toMillis(), new TaskChangeFeedResponse(List.of(), since));
+
+        if (since < lastOffset) {
+            result.setResult(read(since, cappedLimit));
+            return result;
+        }
+
+        Waiter waiter = new Waiter(since, cappedLimit, result);
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+        // The drainer may have published between the check above and the registration
+        if (since < lastOffset) {
+            complete(waiter);
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.changes.drain-interval:PT0.1S}")
+    public void drain() {
+        if (lastOffset < 0) {
+            return;
+        }
+        long published = lastOffset;
+        long drained;
+        do {
+            long from = published;
+            published = transactionTemplate.execute(status -> {
+                List<TaskChangeEntity> pending = taskChangeRepo.findByChangeOffsetIsNullOrderByIdAsc(PageRequest.of(0, drainBatchSize));
+                long next = from;
+                for (TaskChangeEntity change : pending) {
+                    change.setChangeOffset(++next);
+                }
+                return next;
+            });
+            drained = published - from;
+            lastOffset = published;
+        } while (drained == drainBatchSize);
+
+        completeWaiters(published);
+    }
+
+    // One read from the lowest waiting offset serves every waiter; offsets only grow, so the rows a
+    // waiter needs are among the first (since + limit - lowest) rows after the lowest offset
+    private void completeWaiters(long published) {
+        List<Waiter> ready = waiters.stream().filter(waiter -> waiter.since() < published).toList();
+        if (ready.isEmpty()) {
+            return;
+        }
+        long from = ready.stream().mapToLong(Waiter::since).min().getAsLong();
+        long until = Math.min(published, ready.stream().mapToLong(waiter -> waiter.since() + waiter.limit()).max().getAsLong());
+
+        List<TaskChange> changes;
+        try {
+            changes = findChanges(from, Math.toIntExact(until - from));
+        } catch (RuntimeException ex) {
+            ready.forEach(waiter -> waiter.result().setErrorResult(ex));
+            return;
+        }
+        for (Waiter waiter : ready) {
+            List<TaskChange> batch = changes.stream().dropWhile(change -> change.offset() <= waiter.since()).limit(waiter.limit()).toList();
+            waiter.result().setResult(response(batch, waiter.since()));
+        }
+    }
+
+    @Scheduled(initialDelayString = "PT1H", fixedDelayString = "PT1H")
+    public void purge() {
+        int removed = transactionTemplate.execute(status -> taskChangeRepo.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        if (removed > 0) {
+            logger.info("Purged {} published task changes older than {}", removed, retention);
+        }
+    }
+
+    private void complete(Waiter waiter) {
+        try {
+            waiter.result().setResult(read(waiter.since(), waiter.limit()));
+        } catch (RuntimeException ex) {
+            waiter.result().setErrorResult(ex);
+        }
+    }
+
+    private TaskChangeFeedResponse read(long since, int limit) {
+        return response(findChanges(since, limit), since);
+    }
+
+    private List<TaskChange> findChanges(long since, int limit) {
+        return taskChangeRepo.findByChangeOffsetGreaterThanOrderByChangeOffsetAsc(since, PageRequest.of(0, limit)).stream().map(MapperClass::mapToChange).toList();
+    }
+
+    private static TaskChangeFeedResponse response(List<TaskChange> changes, long since) {
+        return new TaskChangeFeedResponse(changes, changes.isEmpty() ? since : changes.get(changes.size() - 1).offset());
+    }
+}
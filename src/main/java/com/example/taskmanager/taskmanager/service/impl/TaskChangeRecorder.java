@@ -0,0 +1,51 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.entity.TaskChangeEntity;
+import com.example.taskmanager.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.taskmanager.repository.TaskChangeRepo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Writes every task mutation to the {@code task_change} outbox. Unlike the other change listeners
+ * this one runs synchronously inside the publishing transaction, so the outbox row commits or rolls
+ * back together with the task row.
+ * <p>
+ * That guarantee holds only for the JPA store, whose task rows share the outbox's database and
+ * transaction. The in-memory store applies a write immediately, and the sharded store commits it on
+ * the shard's own connection. With either, a change whose outbox transaction then rolls back is
+ * missing from the feed.
+ */
+@Component
+public class TaskChangeRecorder {
+
+    @Autowired
+    private TaskChangeRepo taskChangeRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskChangeEntity change = new TaskChangeEntity();
+        change.setTaskId(event.id());
+        change.setChangeType(event.type());
+        change.setStatus(event.status());
+        change.setPayload(event.task() != null ? toJson(event.task()) : null);
+        change.setChangedAt(LocalDateTime.now());
+        taskChangeRepo.save(change);
+    }
+
+    private String toJson(Object task) {
+        try {
+            return objectMapper.writeValueAsString(task);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize task change", ex);
+        }
+    }
+}
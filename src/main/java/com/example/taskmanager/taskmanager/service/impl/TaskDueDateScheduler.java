@@ -0,0 +1,199 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.taskmanager.event.TaskOverdueEvent;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires a {@link TaskOverdueEvent} when a non-completed task crosses its due date.
+ * <p>
+ * Only tasks due within the next {@code taskmanager.scheduler.window} are held in memory: the
+ * window is loaded with an index range scan and extended on every refresh, each load starting
+ * where the previous one ended. Committed {@link TaskChangedEvent}s reschedule or cancel the
+ * affected entry, and a final single-row check against the database before firing guards against
+ * changes that raced with a window load.
+ */
+@Component
+public class TaskDueDateScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskDueDateScheduler.class);
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${taskmanager.scheduler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${taskmanager.scheduler.window:PT1H}")
+    private Duration window;
+
+    @Value("${taskmanager.scheduler.refresh-interval:PT15M}")
+    private Duration refreshInterval;
+
+    private final DelayQueue<DueEntry> queue = new DelayQueue<>();
+    private final Map<Long, DueEntry> scheduled = new ConcurrentHashMap<>();
+
+    // Upper bound of the loaded window; null until the first load
+    private volatile LocalDateTime loadedUntil;
+    private Thread dispatcher;
+
+    // A refresh slower than the window would leave due dates between the two unscheduled
+    @PostConstruct
+    public void validate() {
+        if (enabled && refreshInterval.compareTo(window) >= 0) {
+            throw new IllegalStateException("taskmanager.scheduler.refresh-interval (" + refreshInterval + ") must be shorter than taskmanager.scheduler.window (" + window + ")");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("taskmanager.scheduler.pending", scheduled, Map::size).register(meterRegistry);
+        extendWindow();
+        dispatcher = Thread.ofPlatform().name("task-due-dispatcher").daemon().start(this::dispatch);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${taskmanager.scheduler.refresh-interval:PT15M}", fixedDelayString = "${taskmanager.scheduler.refresh-interval:PT15M}")
+    public void refresh() {
+        if (loadedUntil != null) {
+            extendWindow();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (loadedUntil == null) {
+            return;
+        }
+        switch (event.type()) {
+            case CREATED, UPDATED -> {
+                if (event.task().getStatus() == Status.COMPLETED) {
+                    cancel(event.id());
+                } else {
+                    schedule(event.id(), event.task().getDueDate());
+                }
+            }
+            case STATUS_CHANGED -> {
+                if (event.status() == Status.COMPLETED) {
+                    cancel(event.id());
+                } else if (!scheduled.containsKey(event.id())) {
+                    // Reopened task: only the id and status travel with the event
+                    taskStore.findOpenDueDate(event.id()).ifPresent(dueDate -> schedule(event.id(), dueDate));
+                }
+            }
+            case DELETED, ARCHIVED -> cancel(event.id());
+        }
+    }
+
+    private synchronized void extendWindow() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = loadedUntil != null ? loadedUntil : now;
+        LocalDateTime to = now.plus(window);
+
+        Map<Long, LocalDateTime> dueDates = taskStore.findOpenDueBetween(from, to);
+        // An event may already have placed a fresher entry for a task
+        dueDates.forEach((id, dueDate) -> scheduled.computeIfAbsent(id, key -> enqueue(key, dueDate)));
+        loadedUntil = to;
+        logger.debug("Due-date window extended to {} with {} tasks", to, dueDates.size());
+    }
+
+    // Serialized with extendWindow so a change committed during a load is either read by it or sees the new bound
+    private synchronized void schedule(Long id, LocalDateTime dueDate) {
+        if (dueDate == null || !dueDate.isAfter(LocalDateTime.now()) || dueDate.isAfter(loadedUntil)) {
+            // Past due dates have nothing left to fire; far ones are picked up by a later window
+            cancel(id);
+            return;
+        }
+        scheduled.compute(id, (key, previous) -> {
+            if (previous != null) {
+                queue.remove(previous);
+            }
+            return enqueue(key, dueDate);
+        });
+    }
+
+    private void cancel(Long id) {
+        DueEntry previous = scheduled.remove(id);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+    }
+
+    private DueEntry enqueue(Long id, LocalDateTime dueDate) {
+        DueEntry entry = new DueEntry(id, dueDate, dueDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        queue.put(entry);
+        return entry;
+    }
+
+    private void dispatch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                DueEntry entry = queue.take();
+                // Skip entries that were replaced or cancelled after being queued
+                if (!scheduled.remove(entry.id(), entry)) {
+                    continue;
+                }
+                boolean stillDue = taskStore.findOpenDueDate(entry.id()).map(entry.dueDate()::equals).orElse(false);
+                if (stillDue) {
+                    eventPublisher.publishEvent(new TaskOverdueEvent(entry.id(), entry.dueDate()));
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException ex) {
+                logger.error("Failed to dispatch overdue event", ex);
+            }
+        }
+    }
+
+    private record DueEntry(Long id, LocalDateTime dueDate, long dueAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMillis, ((DueEntry) other).dueAtMillis);
+        }
+    }
+}
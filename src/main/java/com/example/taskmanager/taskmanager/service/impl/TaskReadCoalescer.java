@@ -0,0 +1,47 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.taskmanager.utility.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Shares one database read between concurrent identical list and stats requests. Keys are the
+ * normalized query parameters; every committed task change drops all shared results so a read
+ * that starts after a write never sees data from before it.
+ */
+@Component
+public class TaskReadCoalescer {
+
+    private final boolean enabled;
+    private final SingleFlight<Object, Object> flights;
+
+    public TaskReadCoalescer(@Value("${taskmanager.coalescing.enabled:true}") boolean enabled,
+                             @Value("${taskmanager.coalescing.ttl:0ms}") Duration ttl,
+                             @Value("${taskmanager.coalescing.max-entries:1000}") int maxEntries,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.flights = new SingleFlight<>(ttl, maxEntries);
+        FunctionCounter.builder("taskmanager.coalescing.requests", flights, SingleFlight::loadCount).tag("result", "loaded").register(meterRegistry);
+        FunctionCounter.builder("taskmanager.coalescing.requests", flights, SingleFlight::sharedCount).tag("result", "shared").register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T load(Object key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        return (T) flights.execute(key, loader::get);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        flights.invalidate();
+    }
+}
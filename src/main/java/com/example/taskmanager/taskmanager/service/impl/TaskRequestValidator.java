@@ -0,0 +1,48 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+/**
+ * Validates task payloads that do not pass through {@code @Valid} controller binding,
+ * such as entries of bulk requests and rows of imported files.
+ */
+@Component
+public class TaskRequestValidator {
+
+    @Autowired
+    private Validator validator;
+
+    public void validateDueDate(LocalDateTime dueDate) {
+        if (dueDate != null && dueDate.isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Due date cannot be before today");
+        }
+    }
+
+    /**
+     * Returns the validation errors of {@code item} joined into one message, or {@code null} if it is valid.
+     */
+    public String validate(Object item) {
+        if (item == null) {
+            return "Item cannot be null";
+        }
+        String violations = validator.validate(item).stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        if (!violations.isEmpty()) {
+            return violations;
+        }
+        if (item instanceof RequestTaskModel taskModel) {
+            try {
+                validateDueDate(taskModel.getDueDate());
+            } catch (IllegalArgumentException ex) {
+                return ex.getMessage();
+            }
+        }
+        return null;
+    }
+}
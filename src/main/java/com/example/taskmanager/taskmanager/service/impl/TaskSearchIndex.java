@@ -0,0 +1,252 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over task titles and descriptions, ranked with BM25.
+ * <p>
+ * Built from the store when the application is ready and kept current from committed
+ * {@link TaskChangedEvent}s, the same way as {@link TaskStatsEngine}. Title terms count
+ * twice as much as description terms. Tenant, status and priority are kept per document so
+ * the list filters can be applied while scoring.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int TITLE_WEIGHT = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int REBUILD_FETCH_SIZE = 1000;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${taskmanager.search.enabled:true}")
+    private boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Both guarded by lock
+    private Index index;
+    private List<TaskChangedEvent> replayLog;
+
+    public record Hit(Long id, double score) {
+    }
+
+    /**
+     * One page of hits in rank order together with the total number of matching tasks.
+     */
+    public record Result(List<Hit> hits, long total) {
+    }
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return index != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (replayLog != null) {
+                replayLog.add(event);
+            }
+            if (index != null) {
+                index.apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the tasks matching any term of the query; a {@code null} tenant, status or priority
+     * matches every task.
+     */
+    public Result search(String query, String tenantId, Status status, Priority priority, int offset, int limit) {
+        List<String> terms = tokenize(query).distinct().toList();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = index.score(terms, tenantId, status, priority);
+            List<Hit> ranked = scores.entrySet().stream()
+                    .map(entry -> new Hit(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::id))
+                    .skip(offset)
+                    .limit(limit)
+                    .toList();
+            return new Result(ranked, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reindexes the whole store and returns the number of indexed tasks. Changes committed while
+     * the store is being read are recorded and replayed before the new index replaces the old one;
+     * searches keep using the old index until then.
+     */
+    public synchronized int rebuild() {
+        lock.writeLock().lock();
+        try {
+            replayLog = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index fresh = new Index();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<TaskModel> tasks = taskStore.streamAll(TaskFilter.ALL, REBUILD_FETCH_SIZE)) {
+                    tasks.forEach(task -> fresh.put(task.getId(), task.getTenantId(), task.getTitle(), task.getDescription(), task.getStatus(), task.getPriority()));
+                }
+            });
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                replayLog = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            replayLog.forEach(fresh::apply);
+            replayLog = null;
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Search index built for {} tasks", fresh.docs.size());
+        return fresh.docs.size();
+    }
+
+    static Stream<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Stream.empty();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))).filter(token -> !token.isEmpty());
+    }
+
+    private record Doc(String tenantId, Status status, Priority priority, int length, String[] terms) {
+
+        boolean matches(String tenantId, Status status, Priority priority) {
+            return (tenantId == null || tenantId.equals(this.tenantId)) && (status == null || this.status == status) && (priority == null || this.priority == priority);
+        }
+    }
+
+    /**
+     * Postings and document table; callers hold the engine lock.
+     */
+    private static class Index {
+
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        private final Map<Long, Doc> docs = new HashMap<>();
+        private long totalLength;
+
+        void apply(TaskChangedEvent event) {
+            switch (event.type()) {
+                case CREATED, UPDATED -> put(event.id(), event.task().getTenantId(), event.task().getTitle(), event.task().getDescription(), event.task().getStatus(), event.task().getPriority());
+                case STATUS_CHANGED -> docs.computeIfPresent(event.id(), (id, doc) -> new Doc(doc.tenantId(), event.status(), doc.priority(), doc.length(), doc.terms()));
+                case DELETED, ARCHIVED -> remove(event.id());
+            }
+        }
+
+        void put(Long id, String tenantId, String title, String description, Status status, Priority priority) {
+            remove(id);
+            Map<String, Integer> frequencies = new HashMap<>();
+            tokenize(title).forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+            tokenize(description).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+
+            int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+            docs.put(id, new Doc(tenantId, status, priority, length, frequencies.keySet().toArray(new String[0])));
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, frequency));
+            totalLength += length;
+        }
+
+        void remove(Long id) {
+            Doc doc = docs.remove(id);
+            if (doc == null) {
+                return;
+            }
+            for (String term : doc.terms()) {
+                Map<Long, Integer> posting = postings.get(term);
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            totalLength -= doc.length();
+        }
+
+        Map<Long, Double> score(List<String> terms, String tenantId, Status status, Priority priority) {
+            Map<Long, Double> scores = new HashMap<>();
+            if (docs.isEmpty()) {
+                return scores;
+            }
+            double averageLength = (double) totalLength / docs.size();
+            for (String term : terms) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (docs.size() - posting.size() + 0.5) / (posting.size() + 0.5));
+                posting.forEach((id, frequency) -> {
+                    Doc doc = docs.get(id);
+                    if (doc.matches(tenantId, status, priority)) {
+                        double tf = frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * doc.length() / averageLength));
+                        scores.merge(id, idf * tf, Double::sum);
+                    }
+                });
+            }
+            return scores;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.exception.CustomExceptions;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.service.TaskSearchService;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(value = "taskmanager.service", histogram = true)
+public class TaskSearchServiceImpl implements TaskSearchService {
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    public Page<TaskModel> search(String query, String tenantId, Status status, Priority priority, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        if (!taskSearchIndex.isReady()) {
+            throw new CustomExceptions.ServiceBusyException("Search index is not available yet, try again shortly", 5);
+        }
+
+        TaskSearchIndex.Result result = taskSearchIndex.search(query, tenantId, status, priority, (int) pageable.getOffset(), pageable.getPageSize());
+        List<Long> ids = result.hits().stream().map(TaskSearchIndex.Hit::id).toList();
+
+        // Rows are loaded by primary key and put back into rank order; a task deleted in between is skipped
+        Map<Long, TaskModel> found = taskStore.findAllById(ids).stream().collect(Collectors.toMap(TaskModel::getId, Function.identity()));
+        List<TaskModel> tasks = ids.stream().map(found::get).filter(Objects::nonNull).toList();
+
+        return new PageImpl<>(tasks, pageable, result.total());
+    }
+
+    public int rebuildIndex() {
+        return taskSearchIndex.rebuild();
+    }
+}
@@ -1,110 +1,333 @@
 package com.example.taskmanager.taskmanager.service.impl;
 
-import com.example.taskmanager.taskmanager.entity.TaskEntity;
+import com.example.taskmanager.taskmanager.config.CacheConfig;
 import com.example.taskmanager.taskmanager.enums.Priority;
 import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.event.TaskChangedEvent;
 import com.example.taskmanager.taskmanager.exception.CustomExceptions;
+import com.example.taskmanager.taskmanager.model.BulkItemResult;
 import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.StatusUpdateModel;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
 import com.example.taskmanager.taskmanager.model.TaskModel;
-import com.example.taskmanager.taskmanager.repository.TaskRepo;
+import com.example.taskmanager.taskmanager.repository.TaskArchiveRepo;
 import com.example.taskmanager.taskmanager.service.TaskService;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import com.example.taskmanager.taskmanager.utility.CursorCodec;
 import com.example.taskmanager.taskmanager.utility.MapperClass;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
-
-import static com.example.taskmanager.taskmanager.utility.MapperClass.*;
+import java.util.Objects;
+import java.util.Set;
 
 
 @Service
+@Timed(value = "taskmanager.service", histogram = true)
 public class TaskServiceImpl implements TaskService {
 
+    private static final Logger logger = LoggerFactory.getLogger(TaskServiceImpl.class);
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private TaskStatsEngine taskStatsEngine;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TaskBatchWriter taskBatchWriter;
+
+    @Autowired
+    private TaskRequestValidator taskRequestValidator;
+
+    @Autowired
+    private TaskReadCoalescer taskReadCoalescer;
+
     @Autowired
-    private TaskRepo taskRepo;
+    private TaskArchiveRepo taskArchiveRepo;
+
+    @Autowired
+    private TaskStatusWriteBehind taskStatusWriteBehind;
+
+    @Value("${taskmanager.bulk.max-items:10000}")
+    private int bulkMaxItems;
+
+    @Value("${taskmanager.metrics.slow-query-threshold:200ms}")
+    private Duration slowQueryThreshold;
 
     // --- CRUD Operations ---
 
+    // Archived tasks are no longer in the store; their archive copy keeps the same id and version.
+    // A queued status change is shown until it is written; the cache entry is evicted at both points.
+    // sync loads the entry atomically per key, so an eviction issued while a miss is reading the
+    // store waits for that load and removes what it put, instead of being overtaken by a stale put
+    @Cacheable(cacheNames = CacheConfig.TASK_CACHE, key = "#id", sync = true)
     public TaskModel getTaskById(Long id) {
-        TaskEntity task = taskRepo.findById(id).orElseThrow(() -> new NoSuchElementException("Task with id " + id + " not found"));
-        return mapToModel(task);
+        return taskStore.findById(id).map(taskStatusWriteBehind::overlay)
+                .or(() -> taskArchiveRepo.findFirstByTaskIdOrderByArchivedAtDescIdDesc(id).map(MapperClass::mapToModel))
+                .orElseThrow(() -> new NoSuchElementException("Task with id " + id + " not found"));
     }
 
     @Transactional
-    public String addTask(RequestTaskModel taskModel) {
+    public String addTask(String tenantId, RequestTaskModel taskModel) {
         validateDueDate(taskModel.getDueDate());
         try {
-            taskRepo.save(mapToEntity(taskModel));
+            TaskModel saved = taskStore.insert(tenantId, taskModel);
+            eventPublisher.publishEvent(TaskChangedEvent.created(saved));
             return "Task added successfully";
         } catch (DataIntegrityViolationException ex) {
             throw new DataIntegrityViolationException("Task with the same title and status already exists.");
         }
     }
 
+    // Synchronous writes first write a queued status change of the task through, then apply over it
     @Transactional
-    public String updateTask(Long id, RequestTaskModel updatedTask) {
-        TaskEntity task = taskRepo.findById(id).orElseThrow(() -> new NoSuchElementException("Task with id " + id + " not found"));
+    public String updateTask(Long id, RequestTaskModel updatedTask, Long expectedVersion) {
+        return taskStatusWriteBehind.supersede(List.of(id), () -> {
+            TaskModel task = taskStore.findById(id).orElseThrow(() -> new NoSuchElementException("Task with id " + id + " not found"));
+            if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+                throw new CustomExceptions.PreconditionFailedException("Task with id " + id + " has been modified (current version " + task.getVersion() + ")");
+            }
 
-        task.setTitle(updatedTask.getTitle());
-        task.setDescription(updatedTask.getDescription());
-        task.setStatus(updatedTask.getStatus());
-        task.setPriority(updatedTask.getPriority());
-        task.setDueDate(updatedTask.getDueDate());
+            validateDueDate(updatedTask.getDueDate());
 
-        validateDueDate(updatedTask.getDueDate());
+            try {
+                TaskModel saved = taskStore.update(id, updatedTask, expectedVersion).orElseThrow(() -> missingOrStale(id, expectedVersion));
+                eventPublisher.publishEvent(TaskChangedEvent.updated(saved));
+                return "Task updated successfully";
+            } catch (DataIntegrityViolationException ex) {
+                throw new DataIntegrityViolationException("Task with the same title and status already exists.");
+            }
+        });
+    }
 
-        try {
-            taskRepo.save(task);
-            return "Task updated successfully";
-        } catch (DataIntegrityViolationException ex) {
-            throw new DataIntegrityViolationException("Task with the same title and status already exists.");
+    @Transactional
+    public String deleteTask(Long id) {
+        return taskStatusWriteBehind.supersede(List.of(id), () -> {
+            if (taskStore.deleteUnlessStatus(id, Status.IN_PROGRESS) == 0) {
+                if (taskStore.existsById(id)) {
+                    throw new CustomExceptions.TaskDeletionException("Cannot delete task with status IN_PROGRESS");
+                }
+                throw new NoSuchElementException("Task with id " + id + " not found");
+            }
+
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(id));
+            return "Task Deleted Successfully";
+        });
+    }
+
+    @Transactional
+    public String patchStatus(Long id, Status status, Long expectedVersion) {
+        return taskStatusWriteBehind.supersede(List.of(id), () -> {
+            if (taskStore.updateStatus(id, status, expectedVersion) == 0) {
+                throw missingOrStale(id, expectedVersion);
+            }
+
+            eventPublisher.publishEvent(TaskChangedEvent.statusChanged(id, status));
+            return "Status Updated Successfully";
+        });
+    }
+
+    // Write-behind: the change is logged and answered at once; the committer writes it later.
+    // Only live tasks are queued, so a missing one is answered with 404 instead of dropped later
+    public boolean queueStatus(Long id, Status status) {
+        if (!taskStatusWriteBehind.isEnabled()) {
+            return false;
         }
+        if (!taskStore.existsById(id)) {
+            throw new NoSuchElementException("Task with id " + id + " not found");
+        }
+        return taskStatusWriteBehind.submit(id, status);
     }
 
-    public String deleteTask(Long id) {
-        TaskEntity task = taskRepo.findById(id).orElseThrow(() -> new NoSuchElementException("Task with id " + id + " not found"));
+    // Explains a write that matched no row: the task is gone, or its version moved on
+    private RuntimeException missingOrStale(Long id, Long expectedVersion) {
+        if (expectedVersion != null && taskStore.existsById(id)) {
+            return new CustomExceptions.PreconditionFailedException("Task with id " + id + " has been modified since version " + expectedVersion);
+        }
+        return new NoSuchElementException("Task with id " + id + " not found");
+    }
 
-        if (task.getStatus() == Status.IN_PROGRESS) {
-            throw new CustomExceptions.TaskDeletionException("Cannot delete task with status IN_PROGRESS");
+    // --- Bulk Operations ---
+
+    public List<BulkItemResult> addTasks(String tenantId, List<RequestTaskModel> taskModels) {
+        checkBulkSize(taskModels);
+
+        List<BulkItemResult> failures = new ArrayList<>();
+        List<TaskBatchWriter.Item<RequestTaskModel>> valid = new ArrayList<>();
+        Set<String> titleAndStatusKeys = new HashSet<>();
+        for (int i = 0; i < taskModels.size(); i++) {
+            RequestTaskModel taskModel = taskModels.get(i);
+            String error = taskRequestValidator.validate(taskModel);
+            if (error == null && !titleAndStatusKeys.add(taskModel.getTitle() + "\u0000" + taskModel.getStatus())) {
+                error = "Task with the same title and status already exists.";
+            }
+            if (error != null) {
+                failures.add(TaskBatchWriter.failure(i, null, error));
+            } else {
+                valid.add(new TaskBatchWriter.Item<>(i, taskModel));
+            }
         }
 
-        taskRepo.delete(task);
-        return "Task Deleted Successfully";
+        return mergeResults(failures, taskBatchWriter.insert(tenantId, valid));
     }
 
-    @Transactional
-    public String patchStatus(Long id, Status status) {
-        TaskEntity task = taskRepo.findById(id).orElseThrow(() -> new NoSuchElementException("Task with id " + id + " not found"));
-        task.setStatus(status);
-        taskRepo.save(task);
-        return "Status Updated Successfully";
+    public List<BulkItemResult> patchStatuses(String tenantId, List<StatusUpdateModel> updates) {
+        checkBulkSize(updates);
+
+        Set<Long> foreign = foreignIds(tenantId, updates.stream().filter(Objects::nonNull).map(StatusUpdateModel::getId).toList());
+        List<BulkItemResult> failures = new ArrayList<>();
+        List<TaskBatchWriter.Item<StatusUpdateModel>> valid = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            String error = taskRequestValidator.validate(updates.get(i));
+            if (error == null && foreign.contains(updates.get(i).getId())) {
+                error = "Task with id " + updates.get(i).getId() + " not found";
+            }
+            if (error != null) {
+                failures.add(TaskBatchWriter.failure(i, updates.get(i) != null ? updates.get(i).getId() : null, error));
+            } else {
+                valid.add(new TaskBatchWriter.Item<>(i, updates.get(i)));
+            }
+        }
+
+        List<Long> validIds = valid.stream().map(item -> item.value().getId()).toList();
+        return mergeResults(failures, taskStatusWriteBehind.supersede(validIds, () -> taskBatchWriter.updateStatus(valid)));
+    }
+
+    public List<BulkItemResult> deleteTasks(String tenantId, List<Long> ids) {
+        checkBulkSize(ids);
+
+        Set<Long> foreign = foreignIds(tenantId, ids);
+        List<BulkItemResult> failures = new ArrayList<>();
+        List<TaskBatchWriter.Item<Long>> valid = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) {
+                failures.add(TaskBatchWriter.failure(i, null, "Id cannot be null"));
+            } else if (foreign.contains(ids.get(i))) {
+                failures.add(TaskBatchWriter.failure(i, ids.get(i), "Task with id " + ids.get(i) + " not found"));
+            } else {
+                valid.add(new TaskBatchWriter.Item<>(i, ids.get(i)));
+            }
+        }
+
+        List<Long> validIds = valid.stream().map(TaskBatchWriter.Item::value).toList();
+        return mergeResults(failures, taskStatusWriteBehind.supersede(validIds, () -> taskBatchWriter.delete(valid)));
+    }
+
+    // Ids of live tasks outside the tenant, which bulk writes report as missing; none without a tenant
+    private Set<Long> foreignIds(String tenantId, List<Long> ids) {
+        List<Long> present = ids.stream().filter(Objects::nonNull).toList();
+        if (tenantId == null || present.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> foreign = new HashSet<>();
+        for (TaskModel task : taskStore.findAllById(present)) {
+            if (!tenantId.equals(task.getTenantId())) {
+                foreign.add(task.getId());
+            }
+        }
+        return foreign;
+    }
+
+    private void checkBulkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Bulk request must contain at least one item");
+        }
+        if (items.size() > bulkMaxItems) {
+            throw new IllegalArgumentException("Bulk request must contain at most " + bulkMaxItems + " items");
+        }
+    }
+
+    private static List<BulkItemResult> mergeResults(List<BulkItemResult> failures, List<BulkItemResult> written) {
+        List<BulkItemResult> results = new ArrayList<>(failures.size() + written.size());
+        results.addAll(failures);
+        results.addAll(written);
+        results.sort(Comparator.comparingInt(BulkItemResult::getIndex));
+        return results;
     }
 
     // --- Pagination & Filtering ---
-    public Page<TaskModel> findAllData(Status status, Boolean dueDate, Priority priority, Pageable pageable) {
-        Page<TaskEntity> entitiesPage = taskRepo.findAll(status, priority, dueDate, pageable);
-        return entitiesPage.map(MapperClass::mapToModel);
+    // Coalescing keys: concurrent calls with equal keys share one query
+    private record ListQuery(TaskFilter filter, Pageable pageable) {
+    }
+
+    private record SliceQuery(TaskFilter filter, CursorCodec.Position position, int size) {
+    }
+
+    private static final String STATS_QUERY = "stats";
+
+    public Page<TaskModel> findAllData(String tenantId, Status status, Boolean dueDate, Priority priority, Pageable pageable) {
+        TaskFilter filter = new TaskFilter(tenantId, status, priority, dueDate);
+        // A coalesced page is shared by every caller that joined it, so each gets its own task objects
+        return taskReadCoalescer.load(new ListQuery(filter, pageable), () -> {
+            long start = System.nanoTime();
+            Page<TaskModel> tasksPage = taskStore.findAll(filter, pageable);
+            logIfSlow(start, "findAll", filter, "page=" + pageable.getPageNumber() + ", size=" + pageable.getPageSize());
+            return tasksPage;
+        }).map(task -> MapperClass.copyOf(taskStatusWriteBehind.overlay(task)));
+    }
+
+    public Slice<TaskModel> findAllDataAfter(String tenantId, Status status, Boolean dueDate, Priority priority, String cursor, int size) {
+        TaskFilter filter = new TaskFilter(tenantId, status, priority, dueDate);
+        CursorCodec.Position position = CursorCodec.decode(cursor);
+        return taskReadCoalescer.load(new SliceQuery(filter, position, size), () -> {
+            long start = System.nanoTime();
+            Slice<TaskModel> tasksSlice = taskStore.findAfter(filter, position, size);
+            logIfSlow(start, "findAllAfter", filter, "cursor=" + cursor + ", size=" + size);
+            return tasksSlice;
+        }).map(task -> MapperClass.copyOf(taskStatusWriteBehind.overlay(task)));
+    }
+
+    private void logIfSlow(long startNanos, String query, TaskFilter filter, String paging) {
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        if (elapsed.compareTo(slowQueryThreshold) > 0) {
+            logger.warn("Slow {} query took {} ms (tenant={}, status={}, priority={}, dueDate={}, {})", query, elapsed.toMillis(),
+                    filter.tenantId(), filter.status(), filter.priority(), filter.overdue(), paging);
+        }
     }
 
     // --- Statistics ---
     public Map<String, Object> getTaskStatusAndPriorityCount() {
-        Map<String, Object> stats = new HashMap<>();
-        stats.put("Not_Overdue_Count", taskRepo.countByDueDateAfterAndStatusNot(LocalDateTime.now(), Status.COMPLETED));
-        stats.put("Overdue_Count", taskRepo.countByDueDateBeforeAndStatusNot(LocalDateTime.now(), Status.COMPLETED));
-        stats.put("Detailed_Stats", taskRepo.getTaskStatusAndPriorityCount());
-        return stats;
+        if (taskStatsEngine.isReady()) {
+            return taskStatsEngine.snapshot();
+        }
+
+        // Served from the store until the in-memory counters have been loaded (or when they are disabled)
+        return taskReadCoalescer.load(STATS_QUERY, () -> {
+            Map<String, Object> stats = new HashMap<>();
+            stats.put("Not_Overdue_Count", taskStore.countNotOverdue(LocalDateTime.now()));
+            stats.put("Overdue_Count", taskStore.countOverdue(LocalDateTime.now()));
+            stats.put("Detailed_Stats", List.copyOf(taskStore.countByStatusAndPriority()));
+            // Shared by every caller that joined the read
+            return Collections.unmodifiableMap(stats);
+        });
     }
     // --- Validation ---
     public void validateDueDate(LocalDateTime dueDate) {
-        if (dueDate != null && dueDate.isBefore(LocalDateTime.now())) {
-            throw new IllegalArgumentException("Due date cannot be before today");
-        }
+        taskRequestValidator.validateDueDate(dueDate);
     }
 }
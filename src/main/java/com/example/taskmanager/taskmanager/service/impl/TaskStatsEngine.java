@@ -0,0 +1,302 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Keeps status x priority task counts, split by overdue state, in memory so that
+ * {@code /api/tasks/stats} is answered without touching the database.
+ * <p>
+ * The table is loaded once when the application is ready; afterwards every committed
+ * {@link TaskChangedEvent} adjusts the counters, a one-second tick moves tasks whose due date
+ * has passed into the overdue bucket, and a periodic reconciliation rebuilds the counters
+ * if they drift from the store.
+ * <p>
+ * Besides the counters the engine keeps one snapshot (id, status, priority, due date) per task on
+ * the heap, on the order of 100 bytes each, so that an event carrying only an id can be applied.
+ * Tables with tens of millions of tasks should turn it off with {@code taskmanager.stats.in-memory=false}.
+ */
+@Component
+public class TaskStatsEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatsEngine.class);
+    private static final int REBUILD_FETCH_SIZE = 1000;
+    private static final String OVERDUE = "overdue";
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${taskmanager.stats.in-memory:true}")
+    private boolean enabled;
+
+    private volatile Counters counters;
+    private List<TaskChangedEvent> replayLog;
+    // Drift seen by the previous reconciliation; only touched by reconcile()
+    private Map<String, Long> suspectedDrift;
+
+    public boolean isReady() {
+        return counters != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTaskChanged(TaskChangedEvent event) {
+        if (replayLog != null) {
+            replayLog.add(event);
+        }
+        if (counters != null) {
+            counters.apply(event, LocalDateTime.now());
+        }
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void advanceOverdue() {
+        advanceOverdue(LocalDateTime.now());
+    }
+
+    synchronized void advanceOverdue(LocalDateTime now) {
+        if (counters != null) {
+            counters.advance(now);
+        }
+    }
+
+    /**
+     * Compares the counters with the store and rebuilds them when they disagree by the same amounts
+     * in two consecutive runs. The store reads and the counters are not one snapshot, so a change
+     * committed in between shows up as drift once and is gone by the next run; real drift stays.
+     */
+    @Scheduled(initialDelayString = "${taskmanager.stats.reconcile-interval:PT5M}", fixedDelayString = "${taskmanager.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        if (counters == null) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Long> drift = new HashMap<>();
+        for (Object[] row : taskStore.countByStatusAndPriority()) {
+            drift.merge(row[0] + ":" + row[1], (Long) row[2], Long::sum);
+        }
+        drift.merge(OVERDUE, taskStore.countOverdue(now), Long::sum);
+
+        synchronized (this) {
+            // Advanced to the clock of the store query, so tasks that fell due since the last tick are not drift
+            counters.advance(now);
+            for (Object[] row : counters.detailedStats()) {
+                drift.merge(row[0] + ":" + row[1], -((Long) row[2]), Long::sum);
+            }
+            drift.merge(OVERDUE, -counters.overdueTotal(), Long::sum);
+        }
+        drift.values().removeIf(difference -> difference == 0);
+
+        if (drift.isEmpty()) {
+            suspectedDrift = null;
+        } else if (!drift.equals(suspectedDrift)) {
+            logger.debug("Task stats differ from the store by {}, checking again on the next reconciliation", drift);
+            suspectedDrift = drift;
+        } else {
+            logger.warn("Task stats drifted from the store by {} (store minus counters), rebuilding", drift);
+            suspectedDrift = null;
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns the same shape as the database-backed statistics.
+     */
+    public Map<String, Object> snapshot() {
+        Counters current = counters;
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("Not_Overdue_Count", current.notOverdueTotal());
+        stats.put("Overdue_Count", current.overdueTotal());
+        stats.put("Detailed_Stats", current.detailedStats());
+        return stats;
+    }
+
+    /**
+     * Every status x priority cell as {status, priority, count, overdue count}.
+     */
+    public List<Object[]> cells() {
+        return counters.cells();
+    }
+
+    /**
+     * Reloads the counters from the store. Changes committed while the table is being
+     * streamed are recorded and replayed onto the new counters before they are published.
+     */
+    public void rebuild() {
+        synchronized (this) {
+            replayLog = new ArrayList<>();
+        }
+
+        Counters fresh = new Counters();
+        LocalDateTime now = LocalDateTime.now();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<TaskModel> tasks = taskStore.streamAll(TaskFilter.ALL, REBUILD_FETCH_SIZE)) {
+                tasks.forEach(task -> fresh.put(task.getId(), task.getStatus(), task.getPriority(), task.getDueDate(), now));
+            }
+        });
+
+        synchronized (this) {
+            LocalDateTime replayTime = LocalDateTime.now();
+            replayLog.forEach(event -> fresh.apply(event, replayTime));
+            replayLog = null;
+            counters = fresh;
+        }
+        logger.info("Task stats loaded for {} tasks", fresh.tasks.size());
+    }
+
+    private record Snapshot(Long id, Status status, Priority priority, LocalDateTime dueDate, boolean overdue) {
+
+        boolean open() {
+            return status != Status.COMPLETED;
+        }
+    }
+
+    /**
+     * Mutable counter state; callers serialize writes through the engine monitor,
+     * while reads of the {@link LongAdder} cells are lock-free.
+     */
+    private static class Counters {
+
+        private static final Comparator<Snapshot> BY_DUE_DATE = Comparator.comparing(Snapshot::dueDate).thenComparing(Snapshot::id);
+
+        private final Map<Long, Snapshot> tasks = new HashMap<>();
+        private final EnumMap<Status, EnumMap<Priority, LongAdder>> totals = grid();
+        private final EnumMap<Status, EnumMap<Priority, LongAdder>> overdue = grid();
+        private final TreeSet<Snapshot> upcoming = new TreeSet<>(BY_DUE_DATE);
+
+        private static EnumMap<Status, EnumMap<Priority, LongAdder>> grid() {
+            EnumMap<Status, EnumMap<Priority, LongAdder>> grid = new EnumMap<>(Status.class);
+            for (Status status : Status.values()) {
+                EnumMap<Priority, LongAdder> row = new EnumMap<>(Priority.class);
+                for (Priority priority : Priority.values()) {
+                    row.put(priority, new LongAdder());
+                }
+                grid.put(status, row);
+            }
+            return grid;
+        }
+
+        void apply(TaskChangedEvent event, LocalDateTime now) {
+            Snapshot previous = tasks.get(event.id());
+            switch (event.type()) {
+                case CREATED, UPDATED -> put(event.id(), event.task().getStatus(), event.task().getPriority(), event.task().getDueDate(), now);
+                case STATUS_CHANGED -> {
+                    if (previous != null) {
+                        put(event.id(), event.status(), previous.priority(), previous.dueDate(), now);
+                    }
+                }
+                case DELETED, ARCHIVED -> remove(event.id());
+            }
+        }
+
+        void put(Long id, Status status, Priority priority, LocalDateTime dueDate, LocalDateTime now) {
+            remove(id);
+            Snapshot snapshot = new Snapshot(id, status, priority, dueDate, status != Status.COMPLETED && dueDate != null && dueDate.isBefore(now));
+            tasks.put(id, snapshot);
+            totals.get(status).get(priority).increment();
+            if (snapshot.overdue()) {
+                overdue.get(status).get(priority).increment();
+            } else if (snapshot.open() && dueDate != null) {
+                upcoming.add(snapshot);
+            }
+        }
+
+        void remove(Long id) {
+            Snapshot snapshot = tasks.remove(id);
+            if (snapshot == null) {
+                return;
+            }
+            totals.get(snapshot.status()).get(snapshot.priority()).decrement();
+            if (snapshot.overdue()) {
+                overdue.get(snapshot.status()).get(snapshot.priority()).decrement();
+            } else if (snapshot.dueDate() != null) {
+                upcoming.remove(snapshot);
+            }
+        }
+
+        void advance(LocalDateTime now) {
+            while (!upcoming.isEmpty() && upcoming.first().dueDate().isBefore(now)) {
+                Snapshot due = upcoming.pollFirst();
+                Snapshot overdueSnapshot = new Snapshot(due.id(), due.status(), due.priority(), due.dueDate(), true);
+                tasks.put(due.id(), overdueSnapshot);
+                overdue.get(due.status()).get(due.priority()).increment();
+            }
+        }
+
+        long overdueTotal() {
+            return sumOpen(overdue);
+        }
+
+        long notOverdueTotal() {
+            return sumOpen(totals) - overdueTotal();
+        }
+
+        private long sumOpen(EnumMap<Status, EnumMap<Priority, LongAdder>> grid) {
+            long total = 0;
+            for (Map.Entry<Status, EnumMap<Priority, LongAdder>> row : grid.entrySet()) {
+                if (row.getKey() == Status.COMPLETED) {
+                    continue;
+                }
+                for (LongAdder cell : row.getValue().values()) {
+                    total += cell.sum();
+                }
+            }
+            return total;
+        }
+
+        List<Object[]> cells() {
+            List<Object[]> rows = new ArrayList<>();
+            totals.forEach((status, row) -> row.forEach((priority, cell) -> rows.add(new Object[]{status, priority, cell.sum(), overdue.get(status).get(priority).sum()})));
+            return rows;
+        }
+
+        List<Object[]> detailedStats() {
+            List<Object[]> rows = new ArrayList<>();
+            totals.forEach((status, row) -> row.forEach((priority, cell) -> {
+                long count = cell.sum();
+                if (count > 0) {
+                    rows.add(new Object[]{status, priority, count});
+                }
+            }));
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.entity.TaskStatsRollupEntity;
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.StatsBucket;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.StatsHistoryPoint;
+import com.example.taskmanager.taskmanager.model.StatsHistoryResponse;
+import com.example.taskmanager.taskmanager.repository.TaskStatsRollupRepo;
+import com.example.taskmanager.taskmanager.service.TaskStatsHistoryService;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the status x priority x overdue counts once a minute into {@code task_stats_rollup}
+ * and serves them back as history.
+ * <p>
+ * Every run writes the minute bucket and overwrites the current hour and day buckets, so a
+ * coarser bucket always holds the counts at its latest (and once past, its closing) minute.
+ * Counts come from {@link TaskStatsEngine} when it is loaded, so recording costs no table scan.
+ * Minute and hour rows are purged after their retention; day rows are kept.
+ */
+@Service
+@Timed(value = "taskmanager.service", histogram = true)
+public class TaskStatsHistoryServiceImpl implements TaskStatsHistoryService {
+
+    @Autowired
+    private TaskStatsRollupRepo taskStatsRollupRepo;
+
+    @Autowired
+    private TaskStatsEngine taskStatsEngine;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${taskmanager.stats.history.enabled:true}")
+    private boolean enabled;
+
+    @Value("${taskmanager.stats.history.minute-retention:P2D}")
+    private Duration minuteRetention;
+
+    @Value("${taskmanager.stats.history.hour-retention:P90D}")
+    private Duration hourRetention;
+
+    @Value("${taskmanager.stats.history.max-points:2000}")
+    private int maxPoints;
+
+    public TaskStatsHistoryServiceImpl(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "0 * * * * *")
+    public void recordSnapshot() {
+        if (enabled) {
+            recordSnapshot(LocalDateTime.now());
+        }
+    }
+
+    void recordSnapshot(LocalDateTime now) {
+        List<Object[]> cells = currentCells(now);
+        transactionTemplate.executeWithoutResult(status -> {
+            for (StatsBucket bucket : StatsBucket.values()) {
+                upsert(bucket, bucket.start(now), cells);
+            }
+        });
+    }
+
+    @Scheduled(cron = "0 30 * * * *")
+    public void purge() {
+        purge(LocalDateTime.now());
+    }
+
+    void purge(LocalDateTime now) {
+        transactionTemplate.executeWithoutResult(status -> {
+            taskStatsRollupRepo.deleteByBucketAndBucketStartBefore(StatsBucket.MINUTE, now.minus(minuteRetention));
+            taskStatsRollupRepo.deleteByBucketAndBucketStartBefore(StatsBucket.HOUR, now.minus(hourRetention));
+        });
+    }
+
+    public StatsHistoryResponse getHistory(LocalDateTime from, LocalDateTime to, StatsBucket bucket) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = bucket.start(from != null ? from : end.minus(bucket.getDefaultRange()));
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (bucket.getUnit().between(start, end) >= maxPoints) {
+            throw new IllegalArgumentException("Requested range spans more than " + maxPoints + " " + bucket.name().toLowerCase() + " buckets");
+        }
+
+        Map<LocalDateTime, List<TaskStatsRollupEntity>> byBucket = new LinkedHashMap<>();
+        for (TaskStatsRollupEntity row : taskStatsRollupRepo.findByBucketAndBucketStartBetweenOrderByBucketStartAsc(bucket, start, end)) {
+            byBucket.computeIfAbsent(row.getBucketStart(), key -> new ArrayList<>()).add(row);
+        }
+
+        List<StatsHistoryPoint> points = new ArrayList<>(byBucket.size());
+        byBucket.forEach((bucketStart, rows) -> points.add(toPoint(bucketStart, rows)));
+        return new StatsHistoryResponse(bucket, start, end, points);
+    }
+
+    private List<Object[]> currentCells(LocalDateTime now) {
+        if (taskStatsEngine.isReady()) {
+            return taskStatsEngine.cells();
+        }
+
+        Map<String, Long> overdue = new HashMap<>();
+        for (Object[] row : taskStore.countOverdueByStatusAndPriority(now)) {
+            overdue.put(row[0] + ":" + row[1], (Long) row[2]);
+        }
+        List<Object[]> cells = new ArrayList<>();
+        for (Object[] row : taskStore.countByStatusAndPriority()) {
+            cells.add(new Object[]{row[0], row[1], row[2], overdue.getOrDefault(row[0] + ":" + row[1], 0L)});
+        }
+        return cells;
+    }
+
+    private void upsert(StatsBucket bucket, LocalDateTime bucketStart, List<Object[]> cells) {
+        Map<String, TaskStatsRollupEntity> existing = new HashMap<>();
+        for (TaskStatsRollupEntity row : taskStatsRollupRepo.findByBucketAndBucketStart(bucket, bucketStart)) {
+            existing.put(row.getStatus() + ":" + row.getPriority(), row);
+        }
+
+        List<TaskStatsRollupEntity> rows = new ArrayList<>(cells.size());
+        for (Object[] cell : cells) {
+            TaskStatsRollupEntity row = existing.remove(cell[0] + ":" + cell[1]);
+            if (row == null) {
+                row = new TaskStatsRollupEntity();
+                row.setBucket(bucket);
+                row.setBucketStart(bucketStart);
+                row.setStatus((Status) cell[0]);
+                row.setPriority((Priority) cell[1]);
+            }
+            row.setTotalCount((Long) cell[2]);
+            row.setOverdueCount((Long) cell[3]);
+            rows.add(row);
+        }
+        // Cells that emptied since the last run of this bucket
+        existing.values().forEach(row -> {
+            row.setTotalCount(0);
+            row.setOverdueCount(0);
+        });
+        taskStatsRollupRepo.saveAll(rows);
+    }
+
+    private static StatsHistoryPoint toPoint(LocalDateTime bucketStart, List<TaskStatsRollupEntity> rows) {
+        long open = 0;
+        long overdue = 0;
+        List<StatsHistoryPoint.Cell> cells = new ArrayList<>();
+        for (TaskStatsRollupEntity row : rows) {
+            if (row.getStatus() != Status.COMPLETED) {
+                open += row.getTotalCount();
+                overdue += row.getOverdueCount();
+            }
+            if (row.getTotalCount() > 0) {
+                cells.add(new StatsHistoryPoint.Cell(row.getStatus(), row.getPriority(), row.getTotalCount(), row.getOverdueCount()));
+            }
+        }
+        return new StatsHistoryPoint(bucketStart, open - overdue, overdue, cells);
+    }
+}
@@ -0,0 +1,360 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.config.CacheConfig;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.BulkItemResult;
+import com.example.taskmanager.taskmanager.model.StatusUpdateModel;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.utility.StatusWriteAheadLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Opt-in write-behind path for single status changes ({@code taskmanager.write-behind.enabled}).
+ * <p>
+ * An accepted change is appended to a {@link StatusWriteAheadLog} and kept in a pending map keyed
+ * by task id, so repeated changes to one task collapse into the latest. A scheduled committer
+ * writes the pending changes through {@link TaskBatchWriter} in batches, then checkpoints the log
+ * up to the oldest change still pending. Changes that cannot be applied (missing task, duplicate
+ * title and status) are dropped and counted. Reads of this instance see pending statuses through
+ * {@link #overlay}. On startup the changes after the checkpoint are replayed into the pending map.
+ * <p>
+ * Synchronous writes go through {@link #supersede}, which shares a striped per-id guard with the
+ * committer: a batch never writes a change while a synchronous write to that task is open, and a
+ * synchronous write waits for a batch that is already writing it, then writes any change still
+ * queued for the task through before its own, so the later write always lands last and its checks
+ * see the accepted change. Each queued change keeps room in the log for the record that discards it.
+ */
+@Component
+public class TaskStatusWriteBehind {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatusWriteBehind.class);
+
+    @Autowired
+    private TaskBatchWriter taskBatchWriter;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${taskmanager.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${taskmanager.write-behind.log-path:data/status-wal.log}")
+    private Path logPath;
+
+    @Value("${taskmanager.write-behind.log-size:16MB}")
+    private DataSize logSize;
+
+    @Value("${taskmanager.write-behind.force-on-append:true}")
+    private boolean forceOnAppend;
+
+    @Value("${taskmanager.write-behind.batch-size:500}")
+    private int batchSize;
+
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock[] guards = new ReentrantLock[64];
+    // Guards appends together with their pending entry, so a checkpoint never passes an unapplied change
+    private final Object appendLock = new Object();
+
+    private volatile StatusWriteAheadLog log;
+    private Counter dropped;
+
+    private record Pending(Status status, long sequence) {
+    }
+
+    public TaskStatusWriteBehind() {
+        for (int i = 0; i < guards.length; i++) {
+            guards[i] = new ReentrantLock();
+        }
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        log = new StatusWriteAheadLog(logPath, logSize.toBytes(), forceOnAppend);
+        for (StatusWriteAheadLog.Entry entry : log.recovered()) {
+            if (entry.status() == null) {
+                pending.remove(entry.id());
+            } else {
+                pending.put(entry.id(), new Pending(entry.status(), entry.sequence()));
+            }
+        }
+        if (!pending.isEmpty()) {
+            logger.info("Recovered {} pending status changes from {}", pending.size(), logPath);
+        }
+        Gauge.builder("taskmanager.write_behind.pending", pending, Map::size).register(meterRegistry);
+        dropped = Counter.builder("taskmanager.write_behind.dropped").description("Queued status changes that could not be applied").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return log != null;
+    }
+
+    /**
+     * Queues a status change; false when write-behind is off or the log is full, in which case the
+     * caller writes synchronously.
+     */
+    public boolean submit(Long id, Status status) {
+        if (log == null) {
+            return false;
+        }
+        synchronized (appendLock) {
+            // Leaves a record free for every pending change, this one included, to be discarded by a synchronous write
+            long sequence = log.append(id, status, pending.size() + 1);
+            if (sequence < 0) {
+                return false;
+            }
+            pending.put(id, new Pending(status, sequence));
+        }
+        evict(id);
+        return true;
+    }
+
+    /**
+     * Runs a synchronous write to the tasks {@code ids} after writing their pending changes through,
+     * each in a transaction of its own as the committer would, so the write sees them and lands after
+     * them. A batch already writing one of these tasks is waited for, and the committer skips them
+     * until the surrounding transaction completes, or until the write returns when none is active.
+     */
+    public <T> T supersede(Collection<Long> ids, Supplier<T> write) {
+        if (log == null) {
+            return write.get();
+        }
+        List<ReentrantLock> held = lock(ids);
+        boolean deferred = false;
+        try {
+            writeThrough(ids);
+            T result = write.get();
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        held.forEach(ReentrantLock::unlock);
+                    }
+                });
+                deferred = true;
+            }
+            return result;
+        } finally {
+            if (!deferred) {
+                held.forEach(ReentrantLock::unlock);
+            }
+        }
+    }
+
+    // Guards of the tasks with a pending change, taken in stripe order so that writers cannot deadlock
+    private List<ReentrantLock> lock(Collection<Long> ids) {
+        Set<Integer> stripes = new TreeSet<>();
+        for (Long id : ids) {
+            if (pending.containsKey(id)) {
+                stripes.add(stripe(id));
+            }
+        }
+        List<ReentrantLock> held = new ArrayList<>(stripes.size());
+        for (int stripe : stripes) {
+            guards[stripe].lock();
+            held.add(guards[stripe]);
+        }
+        return held;
+    }
+
+    private int stripe(Long id) {
+        return Math.floorMod(Long.hashCode(id), guards.length);
+    }
+
+    private void writeThrough(Collection<Long> ids) {
+        List<Map.Entry<Long, Pending>> queued = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Pending change = pending.get(id);
+            // A change queued after the guards were taken is left to the committer
+            if (change != null && guards[stripe(id)].isHeldByCurrentThread()) {
+                queued.add(Map.entry(id, change));
+            }
+        }
+        if (queued.isEmpty()) {
+            return;
+        }
+        // Outside the caller's transaction, so its rollback cannot undo a change that was already accepted
+        TransactionTemplate separate = new TransactionTemplate(transactionManager);
+        separate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        separate.executeWithoutResult(status -> apply(queued, true));
+    }
+
+    // Removes a written change; with a discard record a replay does not apply it over later writes either
+    private void discard(Long id, Pending change) {
+        synchronized (appendLock) {
+            if (!pending.remove(id, change) || log == null) {
+                return;
+            }
+            if (log.append(id, null) < 0) {
+                logger.warn("Write-ahead log is full; a replay before the next checkpoint may apply the status change of task {} again", id);
+            }
+        }
+    }
+
+    /**
+     * Returns {@code task} with its pending status, as a copy, or {@code task} itself when none is pending.
+     */
+    public TaskModel overlay(TaskModel task) {
+        Pending change = pending.isEmpty() ? null : pending.get(task.getId());
+        if (change == null || change.status() == task.getStatus()) {
+            return task;
+        }
+        return new TaskModel(task.getId(), task.getTenantId(), task.getTitle(), task.getDescription(), change.status(), task.getPriority(),
+                task.getDueDate(), task.getCreatedAt(), task.getUpdatedAt(), task.getVersion());
+    }
+
+    @Scheduled(fixedDelayString = "${taskmanager.write-behind.flush-interval:PT0.05S}")
+    public synchronized void flush() {
+        if (log == null) {
+            return;
+        }
+        while (!pending.isEmpty()) {
+            List<Map.Entry<Long, Pending>> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            for (Map.Entry<Long, Pending> entry : pending.entrySet()) {
+                batch.add(Map.entry(entry.getKey(), entry.getValue()));
+                if (batch.size() == batchSize) {
+                    break;
+                }
+            }
+            int written;
+            try {
+                written = write(batch);
+            } catch (RuntimeException ex) {
+                logger.warn("Could not write {} queued status changes, retrying: {}", batch.size(), ex.getMessage());
+                break;
+            }
+            // Changes held back by synchronous writes are picked up by a later run
+            if (batch.size() < batchSize || written < batch.size()) {
+                break;
+            }
+        }
+        checkpoint();
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws IOException {
+        if (log == null) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            StatusWriteAheadLog closing;
+            synchronized (appendLock) {
+                closing = log;
+                log = null;
+            }
+            closing.close();
+        }
+    }
+
+    // Writes the changes whose guard is free and that are still pending; returns how many it wrote
+    private int write(List<Map.Entry<Long, Pending>> batch) {
+        Set<Integer> held = new TreeSet<>();
+        try {
+            List<Map.Entry<Long, Pending>> writable = new ArrayList<>(batch.size());
+            for (Map.Entry<Long, Pending> entry : batch) {
+                int stripe = stripe(entry.getKey());
+                if (!held.contains(stripe)) {
+                    if (!guards[stripe].tryLock()) {
+                        continue;
+                    }
+                    held.add(stripe);
+                }
+                // Checked under the guard, as a synchronous write may have written it through since the batch was taken
+                if (!entry.getValue().equals(pending.get(entry.getKey()))) {
+                    continue;
+                }
+                writable.add(entry);
+            }
+            if (!writable.isEmpty()) {
+                apply(writable, false);
+            }
+            return writable.size();
+        } finally {
+            held.forEach(stripe -> guards[stripe].unlock());
+        }
+    }
+
+    // Writes changes whose guards are held and removes them from the pending map, logging a discard when asked
+    private void apply(List<Map.Entry<Long, Pending>> changes, boolean logDiscard) {
+        List<TaskBatchWriter.Item<StatusUpdateModel>> items = new ArrayList<>(changes.size());
+        for (Map.Entry<Long, Pending> change : changes) {
+            StatusUpdateModel update = new StatusUpdateModel();
+            update.setId(change.getKey());
+            update.setStatus(change.getValue().status());
+            items.add(new TaskBatchWriter.Item<>(items.size(), update));
+        }
+
+        for (BulkItemResult result : taskBatchWriter.updateStatus(items)) {
+            Map.Entry<Long, Pending> written = changes.get(result.getIndex());
+            // A change queued while this one was written stays pending for the next batch
+            if (logDiscard) {
+                discard(written.getKey(), written.getValue());
+            } else {
+                pending.remove(written.getKey(), written.getValue());
+            }
+            if (!result.isSuccess()) {
+                dropped.increment();
+                evict(written.getKey());
+                logger.warn("Dropped queued status change of task {} to {}: {}", written.getKey(), written.getValue().status(), result.getMessage());
+            }
+        }
+    }
+
+    private void checkpoint() {
+        synchronized (appendLock) {
+            long safe = log.lastSequence();
+            for (Pending change : pending.values()) {
+                safe = Math.min(safe, change.sequence() - 1);
+            }
+            log.checkpoint(safe);
+        }
+    }
+
+    private void evict(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.TASK_CACHE);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+}
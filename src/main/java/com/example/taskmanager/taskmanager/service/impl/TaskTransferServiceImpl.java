@@ -0,0 +1,279 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.enums.TransferFormat;
+import com.example.taskmanager.taskmanager.model.BulkItemResult;
+import com.example.taskmanager.taskmanager.model.ImportSummary;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.service.TaskTransferService;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import com.example.taskmanager.taskmanager.utility.CsvUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@Service
+@Timed(value = "taskmanager.service", histogram = true)
+public class TaskTransferServiceImpl implements TaskTransferService {
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskBatchWriter taskBatchWriter;
+
+    @Autowired
+    private TaskRequestValidator taskRequestValidator;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    @Value("${taskmanager.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${taskmanager.import.chunk-size:500}")
+    private int importChunkSize;
+
+    @Value("${taskmanager.import.queue-capacity:4}")
+    private int importQueueCapacity;
+
+    @Value("${taskmanager.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    // --- Export ---
+
+    /**
+     * Streams every matching task to {@code out} one row at a time. With the JPA store rows are read
+     * through a forward-only cursor as projections, so heap use does not grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public void exportTasks(TaskFilter filter, TransferFormat format, OutputStream out) throws IOException {
+        try (Stream<TaskModel> tasks = taskStore.streamAll(filter, fetchSize)) {
+            if (format == TransferFormat.CSV) {
+                writeCsv(tasks.iterator(), out);
+            } else {
+                writeNdjson(tasks.iterator(), out);
+            }
+        }
+    }
+
+    private void writeNdjson(Iterator<TaskModel> tasks, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(TaskModel.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        while (tasks.hasNext()) {
+            writer.writeValue(generator, tasks.next());
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    private void writeCsv(Iterator<TaskModel> tasks, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CsvUtil.EXPORT_HEADER);
+        writer.write('\n');
+
+        while (tasks.hasNext()) {
+            writer.write(CsvUtil.toRow(tasks.next()));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    // --- Import ---
+
+    /**
+     * Reads {@code in} record by record (one line for NDJSON; a CSV record may span lines inside
+     * quotes), validating each row and handing valid rows to a writer thread in
+     * chunks through a bounded queue. When the writer falls behind the queue fills up and parsing
+     * blocks, so neither the request body nor the parsed rows are ever held in memory as a whole.
+     * Every imported row belongs to {@code tenantId}.
+     */
+    public ImportSummary importTasks(String tenantId, TransferFormat format, InputStream in) throws IOException {
+        ImportSummary summary = new ImportSummary();
+        BlockingQueue<List<TaskBatchWriter.Item<RequestTaskModel>>> queue = new ArrayBlockingQueue<>(importQueueCapacity);
+        Future<?> writer = taskExecutor.submit(() -> drain(tenantId, queue, summary));
+
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            CsvUtil.RecordReader csvRecords = format == TransferFormat.CSV ? new CsvUtil.RecordReader(reader) : null;
+            List<TaskBatchWriter.Item<RequestTaskModel>> chunk = new ArrayList<>(importChunkSize);
+            Map<String, Integer> csvColumns = null;
+            int lineNumber = 0;
+            String line;
+
+            while ((line = csvRecords != null ? csvRecords.next() : reader.readLine()) != null) {
+                // Errors point at the line a record starts on
+                lineNumber = csvRecords != null ? csvRecords.recordLine() : lineNumber + 1;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == TransferFormat.CSV && csvColumns == null) {
+                    csvColumns = readCsvHeader(line);
+                    continue;
+                }
+
+                RequestTaskModel taskModel = null;
+                String error;
+                try {
+                    taskModel = format == TransferFormat.CSV ? parseCsvRow(line, csvColumns) : objectMapper.readValue(line, RequestTaskModel.class);
+                    error = taskRequestValidator.validate(taskModel);
+                } catch (JsonProcessingException ex) {
+                    error = "Malformed JSON: " + ex.getOriginalMessage();
+                } catch (IllegalArgumentException | DateTimeParseException ex) {
+                    error = ex.getMessage();
+                }
+
+                synchronized (summary) {
+                    summary.setTotalRows(summary.getTotalRows() + 1);
+                }
+                if (error != null) {
+                    recordFailure(summary, lineNumber, error);
+                    continue;
+                }
+
+                chunk.add(new TaskBatchWriter.Item<>(lineNumber, taskModel));
+                if (chunk.size() == importChunkSize) {
+                    enqueue(queue, chunk, writer);
+                    chunk = new ArrayList<>(importChunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                enqueue(queue, chunk, writer);
+            }
+            enqueue(queue, List.of(), writer);
+            writer.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            writer.cancel(true);
+            throw new IllegalStateException("Import interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Import failed after " + summary.getImported() + " rows", ex.getCause());
+        } catch (IOException | RuntimeException ex) {
+            writer.cancel(true);
+            throw ex;
+        }
+        return summary;
+    }
+
+    private void drain(String tenantId, BlockingQueue<List<TaskBatchWriter.Item<RequestTaskModel>>> queue, ImportSummary summary) {
+        try {
+            List<TaskBatchWriter.Item<RequestTaskModel>> chunk;
+            while (!(chunk = queue.take()).isEmpty()) {
+                for (BulkItemResult result : taskBatchWriter.insert(tenantId, chunk)) {
+                    if (result.isSuccess()) {
+                        synchronized (summary) {
+                            summary.setImported(summary.getImported() + 1);
+                        }
+                    } else {
+                        recordFailure(summary, result.getIndex(), result.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Blocks while the queue is full, failing fast if the writer thread has died in the meantime.
+     */
+    private void enqueue(BlockingQueue<List<TaskBatchWriter.Item<RequestTaskModel>>> queue, List<TaskBatchWriter.Item<RequestTaskModel>> chunk, Future<?> writer) throws InterruptedException, ExecutionException {
+        while (!queue.offer(chunk, 1, TimeUnit.SECONDS)) {
+            if (writer.isDone()) {
+                writer.get();
+                throw new IllegalStateException("Import writer stopped unexpectedly");
+            }
+        }
+    }
+
+    private void recordFailure(ImportSummary summary, long line, String message) {
+        synchronized (summary) {
+            summary.setFailed(summary.getFailed() + 1);
+            if (summary.getErrors().size() < maxReportedErrors) {
+                summary.getErrors().add(new ImportSummary.LineError(line, message));
+            } else {
+                summary.setErrorsTruncated(true);
+            }
+        }
+    }
+
+    private static Map<String, Integer> readCsvHeader(String line) {
+        List<String> names = CsvUtil.parseLine(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(), i);
+        }
+        for (String required : List.of("title", "status", "priority", "duedate")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing the '" + required + "' column");
+            }
+        }
+        return columns;
+    }
+
+    private static RequestTaskModel parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> fields = CsvUtil.parseLine(line);
+        RequestTaskModel taskModel = new RequestTaskModel();
+        taskModel.setTitle(field(fields, columns, "title"));
+        taskModel.setDescription(field(fields, columns, "description"));
+
+        String status = field(fields, columns, "status");
+        taskModel.setStatus(status != null ? Status.valueOf(status.trim().toUpperCase()) : null);
+        String priority = field(fields, columns, "priority");
+        taskModel.setPriority(priority != null ? Priority.valueOf(priority.trim().toUpperCase()) : null);
+        String dueDate = field(fields, columns, "duedate");
+        taskModel.setDueDate(dueDate != null ? LocalDateTime.parse(dueDate.trim()) : null);
+        return taskModel;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+}
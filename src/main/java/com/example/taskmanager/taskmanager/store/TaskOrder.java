@@ -0,0 +1,45 @@
+package com.example.taskmanager.taskmanager.store;
+
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+
+/**
+ * Orders tasks in memory the way the database orders a page, for the stores that sort or merge
+ * pages themselves. Ties, and unsorted pages, are ordered by id, so that consecutive pages do not
+ * overlap and shards agree on one order. Enums compare by name, as they are stored as strings, and
+ * nulls sort first ascending as in H2.
+ */
+public class TaskOrder {
+
+    public static final Comparator<TaskModel> BY_ID = Comparator.comparing(TaskModel::getId);
+
+    public static Comparator<TaskModel> comparator(Sort sort) {
+        Comparator<TaskModel> order = null;
+        for (Sort.Order property : sort) {
+            Comparator<TaskModel> next = comparator(property.getProperty());
+            if (property.isDescending()) {
+                next = next.reversed();
+            }
+            order = order == null ? next : order.thenComparing(next);
+        }
+        return order == null ? BY_ID : order.thenComparing(BY_ID);
+    }
+
+    private static Comparator<TaskModel> comparator(String property) {
+        return switch (property) {
+            case "id" -> BY_ID;
+            case "tenantId" -> Comparator.comparing(TaskModel::getTenantId);
+            case "title" -> Comparator.comparing(TaskModel::getTitle);
+            case "description" -> Comparator.comparing(TaskModel::getDescription, Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "status" -> Comparator.comparing((TaskModel task) -> task.getStatus().name());
+            case "priority" -> Comparator.comparing((TaskModel task) -> task.getPriority().name());
+            case "dueDate" -> Comparator.comparing(TaskModel::getDueDate);
+            case "createdAt" -> Comparator.comparing(TaskModel::getCreatedAt);
+            case "updatedAt" -> Comparator.comparing(TaskModel::getUpdatedAt);
+            case "version" -> Comparator.comparing(TaskModel::getVersion);
+            default -> throw new IllegalArgumentException("No property '" + property + "' found for type 'TaskEntity'");
+        };
+    }
+}
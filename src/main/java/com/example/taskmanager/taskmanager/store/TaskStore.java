@@ -0,0 +1,128 @@
+package com.example.taskmanager.taskmanager.store;
+
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.StatusUpdateModel;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.utility.CursorCodec;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Storage backend for tasks, selected with {@code taskmanager.store.type}.
+ * <p>
+ * Every backend enforces the (tenant, title, status) uniqueness rule by throwing
+ * {@link org.springframework.dao.DataIntegrityViolationException}, increments the version whenever
+ * a task changes and applies {@link TaskFilter} the same way: {@code overdue} only ever matches
+ * tasks that are not completed. Ids are unique across tenants and a task keeps its tenant for life.
+ * Returned models are copies and may be modified by the caller.
+ */
+public interface TaskStore {
+
+    public Optional<TaskModel> findById(Long id);
+
+    public boolean existsById(Long id);
+
+    /**
+     * Returns the tasks that exist among {@code ids}, in no particular order.
+     */
+    public List<TaskModel> findAllById(Collection<Long> ids);
+
+    public TaskModel insert(String tenantId, RequestTaskModel task);
+
+    /**
+     * Inserts every task into {@code tenantId} or, when one of them violates the uniqueness rule,
+     * none of them. Results are in request order.
+     */
+    public List<TaskModel> insertAll(String tenantId, List<RequestTaskModel> tasks);
+
+    /**
+     * Replaces the task's fields; empty when the task is missing or, with a non-null
+     * {@code expectedVersion}, when it has been modified since that version.
+     */
+    public Optional<TaskModel> update(Long id, RequestTaskModel task, Long expectedVersion);
+
+    /**
+     * Returns the number of updated tasks; zero means missing or, with a non-null
+     * {@code expectedVersion}, modified since that version.
+     */
+    public int updateStatus(Long id, Status status, Long expectedVersion);
+
+    /**
+     * Applies every status change (the last one wins for repeated ids) or none of them, and returns
+     * the ids that were found.
+     */
+    public Set<Long> updateStatuses(List<StatusUpdateModel> updates);
+
+    /**
+     * Deletes the task unless it is in {@code protectedStatus}; zero means missing or protected.
+     */
+    public int deleteUnlessStatus(Long id, Status protectedStatus);
+
+    public void deleteAllById(Collection<Long> ids);
+
+    /**
+     * Deletes each task whose version still equals the one given for its id, and returns the ids
+     * that were deleted; tasks changed or removed in the meantime are left alone.
+     */
+    public Set<Long> deleteAllByIdAndVersion(Map<Long, Long> versions);
+
+    /**
+     * Deletes each of the tasks that is not in {@code protectedStatus}, and returns the ids that were
+     * deleted; a status change committed in the meantime is honoured.
+     */
+    public Set<Long> deleteAllByIdUnlessStatus(Collection<Long> ids, Status protectedStatus);
+
+    public Page<TaskModel> findAll(TaskFilter filter, Pageable pageable);
+
+    /**
+     * One keyset slice ordered by (dueDate, id), starting after {@code position}
+     * ({@code null} for the first slice).
+     */
+    public Slice<TaskModel> findAfter(TaskFilter filter, CursorCodec.Position position, int size);
+
+    /**
+     * Streams the matching tasks in id order. The stream must be closed by the caller and,
+     * for transactional backends, consumed inside a transaction.
+     */
+    public Stream<TaskModel> streamAll(TaskFilter filter, int fetchSize);
+
+    /**
+     * Completed tasks last updated before {@code cutoff}, oldest first (ties by id), at most {@code limit} of them.
+     */
+    public List<TaskModel> findCompletedBefore(LocalDateTime cutoff, int limit);
+
+    /**
+     * Non-empty status x priority cells as {status, priority, count}.
+     */
+    public List<Object[]> countByStatusAndPriority();
+
+    /**
+     * Non-empty status x priority cells of open tasks due before {@code now}, as {status, priority, count}.
+     */
+    public List<Object[]> countOverdueByStatusAndPriority(LocalDateTime now);
+
+    public long countOverdue(LocalDateTime now);
+
+    public long countNotOverdue(LocalDateTime now);
+
+    /**
+     * Due dates of the open tasks due after {@code from} and no later than {@code to}, by task id.
+     */
+    public Map<Long, LocalDateTime> findOpenDueBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * The task's due date, or empty when it is missing or completed.
+     */
+    public Optional<LocalDateTime> findOpenDueDate(Long id);
+}
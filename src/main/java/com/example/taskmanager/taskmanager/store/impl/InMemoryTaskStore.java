@@ -0,0 +1,685 @@
+package com.example.taskmanager.taskmanager.store.impl;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.StatusUpdateModel;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.store.TaskOrder;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import com.example.taskmanager.taskmanager.utility.CursorCodec;
+import com.example.taskmanager.taskmanager.utility.LongHashMap;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Embedded backend that keeps every task in memory, selected with {@code taskmanager.store.type=memory}.
+ * <p>
+ * Rows are immutable and live in {@link LongHashMap}s split over lock stripes by id, so writers to
+ * different stripes never contend and readers only block on the stripe they read. Status and
+ * priority sets and a (dueDate, id) skip list serve as secondary indexes; they are updated under
+ * the row's stripe lock but read without it, so every row reached through an index is checked
+ * against the filter again. The (tenant, title, status) rule is enforced by claiming the key before
+ * a row takes it.
+ * <p>
+ * The store does not take part in transactions: a write is visible as soon as the call returns
+ * and is not undone if the surrounding transaction rolls back. Contents are lost on restart.
+ */
+@Repository
+@Timed(value = "taskmanager.store", histogram = true)
+@ConditionalOnProperty(name = "taskmanager.store.type", havingValue = "memory")
+public class InMemoryTaskStore implements TaskStore {
+
+    private static final int STRIPES = 16;
+    private static final int TENANT_LENGTH = 64;
+    private static final int TITLE_LENGTH = 100;
+    private static final int DESCRIPTION_LENGTH = 500;
+    private static final Comparator<Row> BY_ID = Comparator.comparingLong(Row::id);
+    private static final Comparator<Row> BY_UPDATED_AT = Comparator.comparing(Row::updatedAt).thenComparing(BY_ID);
+    private static final Sort SLICE_ORDER = Sort.by("dueDate", "id");
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<UniqueKey, Long> claims = new ConcurrentHashMap<>();
+    private final EnumMap<Status, Set<Long>> byStatus = new EnumMap<>(Status.class);
+    private final EnumMap<Priority, Set<Long>> byPriority = new EnumMap<>(Priority.class);
+    private final NavigableSet<DueKey> byDueDate = new ConcurrentSkipListSet<>();
+
+    private static final class Stripe {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final LongHashMap<Row> rows = new LongHashMap<>();
+    }
+
+    private record Row(long id, String tenantId, String title, String description, Status status, Priority priority,
+                       LocalDateTime dueDate, LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+
+        TaskModel toModel() {
+            return new TaskModel(id, tenantId, title, description, status, priority, dueDate, createdAt, updatedAt, version);
+        }
+
+        UniqueKey key() {
+            return new UniqueKey(tenantId, title, status);
+        }
+
+        DueKey dueKey() {
+            return new DueKey(dueDate, id);
+        }
+
+        boolean open() {
+            return status != Status.COMPLETED;
+        }
+
+        boolean sameFields(Row other) {
+            return title.equals(other.title) && Objects.equals(description, other.description) && status == other.status
+                    && priority == other.priority && dueDate.equals(other.dueDate);
+        }
+
+        Row withStatus(Status status, LocalDateTime now) {
+            return new Row(id, tenantId, title, description, status, priority, dueDate, createdAt, now, version + 1);
+        }
+
+        boolean matches(TaskFilter filter, LocalDateTime now) {
+            if ((filter.tenantId() != null && !tenantId.equals(filter.tenantId()))
+                    || (filter.status() != null && status != filter.status()) || (filter.priority() != null && priority != filter.priority())) {
+                return false;
+            }
+            if (filter.overdue() == null) {
+                return true;
+            }
+            return open() && (filter.overdue() ? dueDate.isBefore(now) : dueDate.isAfter(now));
+        }
+    }
+
+    private record UniqueKey(String tenantId, String title, Status status) {
+    }
+
+    private record DueKey(LocalDateTime dueDate, long id) implements Comparable<DueKey> {
+
+        @Override
+        public int compareTo(DueKey other) {
+            int byDate = dueDate.compareTo(other.dueDate);
+            return byDate != 0 ? byDate : Long.compare(id, other.id);
+        }
+    }
+
+    private record Change(Row before, Row after) {
+    }
+
+    public InMemoryTaskStore() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        for (Status status : Status.values()) {
+            byStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    // --- Reads by id ---
+
+    @Override
+    public Optional<TaskModel> findById(Long id) {
+        return Optional.ofNullable(read(id)).map(Row::toModel);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return read(id) != null;
+    }
+
+    @Override
+    public List<TaskModel> findAllById(Collection<Long> ids) {
+        List<TaskModel> found = new ArrayList<>(ids.size());
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Row row = read(id);
+            if (row != null) {
+                found.add(row.toModel());
+            }
+        }
+        return found;
+    }
+
+    // --- Writes ---
+
+    @Override
+    public TaskModel insert(String tenantId, RequestTaskModel task) {
+        Row row = newRow(tenantId, task, LocalDateTime.now());
+        claim(row);
+        store(row);
+        return row.toModel();
+    }
+
+    @Override
+    public List<TaskModel> insertAll(String tenantId, List<RequestTaskModel> tasks) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Row> rows = tasks.stream().map(task -> newRow(tenantId, task, now)).toList();
+
+        // Claim every key first so that a conflict leaves nothing behind
+        List<Row> claimed = new ArrayList<>(rows.size());
+        try {
+            for (Row row : rows) {
+                claim(row);
+                claimed.add(row);
+            }
+        } catch (DataIntegrityViolationException ex) {
+            claimed.forEach(row -> claims.remove(row.key(), row.id()));
+            throw ex;
+        }
+
+        rows.forEach(this::store);
+        return rows.stream().map(Row::toModel).toList();
+    }
+
+    @Override
+    public Optional<TaskModel> update(Long id, RequestTaskModel task, Long expectedVersion) {
+        checkColumns(task);
+        Stripe stripe = stripe(id);
+        stripe.lock.writeLock().lock();
+        try {
+            Row current = stripe.rows.get(id);
+            if (current == null || (expectedVersion != null && expectedVersion != current.version())) {
+                return Optional.empty();
+            }
+            Row updated = new Row(id, current.tenantId(), task.getTitle(), task.getDescription(), task.getStatus(), task.getPriority(), task.getDueDate(),
+                    current.createdAt(), LocalDateTime.now(), current.version() + 1);
+            if (updated.sameFields(current)) {
+                // Like a JPA dirty check, an update that changes nothing keeps the version
+                return Optional.of(current.toModel());
+            }
+            replace(stripe, current, updated);
+            return Optional.of(updated.toModel());
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int updateStatus(Long id, Status status, Long expectedVersion) {
+        requireColumn(status, "STATUS");
+        Stripe stripe = stripe(id);
+        stripe.lock.writeLock().lock();
+        try {
+            Row current = stripe.rows.get(id);
+            if (current == null || (expectedVersion != null && expectedVersion != current.version())) {
+                return 0;
+            }
+            replace(stripe, current, current.withStatus(status, LocalDateTime.now()));
+            return 1;
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Set<Long> updateStatuses(List<StatusUpdateModel> updates) {
+        Map<Long, Status> statuses = new LinkedHashMap<>();
+        for (StatusUpdateModel update : updates) {
+            requireColumn(update.getStatus(), "STATUS");
+            statuses.put(update.getId(), update.getStatus());
+        }
+
+        List<Stripe> locked = lockAll(statuses.keySet());
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Set<Long> found = new LinkedHashSet<>();
+            List<Change> changes = new ArrayList<>();
+            statuses.forEach((id, status) -> {
+                Row current = stripe(id).rows.get(id);
+                if (current != null) {
+                    found.add(id);
+                    if (current.status() != status) {
+                        changes.add(new Change(current, current.withStatus(status, now)));
+                    }
+                }
+            });
+
+            List<Row> claimed = new ArrayList<>(changes.size());
+            try {
+                for (Change change : changes) {
+                    claim(change.after());
+                    claimed.add(change.after());
+                }
+            } catch (DataIntegrityViolationException ex) {
+                claimed.forEach(row -> claims.remove(row.key(), row.id()));
+                throw ex;
+            }
+
+            for (Change change : changes) {
+                apply(stripe(change.after().id()), change.before(), change.after());
+            }
+            return found;
+        } finally {
+            locked.forEach(stripe -> stripe.lock.writeLock().unlock());
+        }
+    }
+
+    @Override
+    public int deleteUnlessStatus(Long id, Status protectedStatus) {
+        Stripe stripe = stripe(id);
+        stripe.lock.writeLock().lock();
+        try {
+            Row current = stripe.rows.get(id);
+            if (current == null || current.status() == protectedStatus) {
+                return 0;
+            }
+            remove(stripe, current);
+            return 1;
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteAllById(Collection<Long> ids) {
+        for (Long id : ids) {
+            Stripe stripe = stripe(id);
+            stripe.lock.writeLock().lock();
+            try {
+                Row current = stripe.rows.get(id);
+                if (current != null) {
+                    remove(stripe, current);
+                }
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public Set<Long> deleteAllByIdAndVersion(Map<Long, Long> versions) {
+        Set<Long> deleted = new LinkedHashSet<>();
+        versions.forEach((id, version) -> {
+            Stripe stripe = stripe(id);
+            stripe.lock.writeLock().lock();
+            try {
+                Row current = stripe.rows.get(id);
+                if (current != null && current.version() == version) {
+                    remove(stripe, current);
+                    deleted.add(id);
+                }
+            } finally {
+                stripe.lock.writeLock().unlock();
+            }
+        });
+        return deleted;
+    }
+
+    @Override
+    public Set<Long> deleteAllByIdUnlessStatus(Collection<Long> ids, Status protectedStatus) {
+        Set<Long> deleted = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (deleteUnlessStatus(id, protectedStatus) > 0) {
+                deleted.add(id);
+            }
+        }
+        return deleted;
+    }
+
+    // --- Queries ---
+
+    @Override
+    public Page<TaskModel> findAll(TaskFilter filter, Pageable pageable) {
+        List<Row> matches = matching(filter, LocalDateTime.now());
+        // Unsorted pages, the ones the API asks for, order rows by id and copy only the page
+        if (pageable.getSort().isUnsorted()) {
+            return page(matches, pageable, BY_ID, Row::toModel);
+        }
+        return page(toModels(matches), pageable, TaskOrder.comparator(pageable.getSort()), Function.identity());
+    }
+
+    @Override
+    public Slice<TaskModel> findAfter(TaskFilter filter, CursorCodec.Position position, int size) {
+        LocalDateTime now = LocalDateTime.now();
+        NavigableSet<DueKey> range = filter.overdue() != null ? dueRange(filter.overdue(), now) : byDueDate;
+        if (position != null) {
+            range = range.tailSet(new DueKey(position.dueDate(), position.id()), false);
+        }
+
+        // Walking the due-date index yields rows already in slice order, so it stops after size + 1 matches
+        List<TaskModel> rows = new ArrayList<>(size + 1);
+        for (DueKey key : range) {
+            Row row = read(key.id());
+            if (row != null && row.dueDate().equals(key.dueDate()) && row.matches(filter, now)) {
+                rows.add(row.toModel());
+                if (rows.size() > size) {
+                    break;
+                }
+            }
+        }
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, PageRequest.of(0, size, SLICE_ORDER), hasNext);
+    }
+
+    @Override
+    public Stream<TaskModel> streamAll(TaskFilter filter, int fetchSize) {
+        List<Row> matches = matching(filter, LocalDateTime.now());
+        matches.sort(BY_ID);
+        return matches.stream().map(Row::toModel);
+    }
+
+    @Override
+    public List<TaskModel> findCompletedBefore(LocalDateTime cutoff, int limit) {
+        List<Row> matches = new ArrayList<>();
+        for (Long id : byStatus.get(Status.COMPLETED)) {
+            Row row = read(id);
+            if (row != null && row.status() == Status.COMPLETED && row.updatedAt().isBefore(cutoff)) {
+                matches.add(row);
+            }
+        }
+        return matches.isEmpty() ? List.of() : toModels(firstInOrder(matches, Math.min(limit, matches.size()), BY_UPDATED_AT));
+    }
+
+    // --- Aggregates ---
+
+    @Override
+    public List<Object[]> countByStatusAndPriority() {
+        long[][] counts = new long[Status.values().length][Priority.values().length];
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                stripe.rows.forEachValue(row -> counts[row.status().ordinal()][row.priority().ordinal()]++);
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return cells(counts);
+    }
+
+    @Override
+    public List<Object[]> countOverdueByStatusAndPriority(LocalDateTime now) {
+        long[][] counts = new long[Status.values().length][Priority.values().length];
+        forEachOpen(dueRange(true, now), row -> counts[row.status().ordinal()][row.priority().ordinal()]++);
+        return cells(counts);
+    }
+
+    @Override
+    public long countOverdue(LocalDateTime now) {
+        long[] count = new long[1];
+        forEachOpen(dueRange(true, now), row -> count[0]++);
+        return count[0];
+    }
+
+    @Override
+    public long countNotOverdue(LocalDateTime now) {
+        long[] count = new long[1];
+        forEachOpen(dueRange(false, now), row -> count[0]++);
+        return count[0];
+    }
+
+    @Override
+    public Map<Long, LocalDateTime> findOpenDueBetween(LocalDateTime from, LocalDateTime to) {
+        Map<Long, LocalDateTime> dueDates = new LinkedHashMap<>();
+        if (!from.isBefore(to)) {
+            return dueDates;
+        }
+        forEachOpen(byDueDate.subSet(new DueKey(from, Long.MAX_VALUE), false, new DueKey(to, Long.MAX_VALUE), true), row -> dueDates.put(row.id(), row.dueDate()));
+        return dueDates;
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOpenDueDate(Long id) {
+        return Optional.ofNullable(read(id)).filter(Row::open).map(Row::dueDate);
+    }
+
+    // --- Internals ---
+
+    private Stripe stripe(long id) {
+        return stripes[(int) (id ^ (id >>> 32)) & (STRIPES - 1)];
+    }
+
+    private Row read(long id) {
+        Stripe stripe = stripe(id);
+        stripe.lock.readLock().lock();
+        try {
+            return stripe.rows.get(id);
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    // Stripes are always locked in index order so multi-row writers cannot deadlock
+    private List<Stripe> lockAll(Collection<Long> ids) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Long id : ids) {
+            indexes.add((int) (id ^ (id >>> 32)) & (STRIPES - 1));
+        }
+        List<Stripe> locked = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            stripes[index].lock.writeLock().lock();
+            locked.add(stripes[index]);
+        }
+        return locked;
+    }
+
+    private Row newRow(String tenantId, RequestTaskModel task, LocalDateTime now) {
+        requireColumn(tenantId, "TENANT_ID");
+        if (tenantId.length() > TENANT_LENGTH) {
+            throw new DataIntegrityViolationException("Value too long for column TENANT_ID");
+        }
+        checkColumns(task);
+        return new Row(sequence.incrementAndGet(), tenantId, task.getTitle(), task.getDescription(), task.getStatus(), task.getPriority(), task.getDueDate(), now, now, 0);
+    }
+
+    // Mirrors the column constraints of the task table
+    private static void checkColumns(RequestTaskModel task) {
+        requireColumn(task.getTitle(), "TITLE");
+        requireColumn(task.getStatus(), "STATUS");
+        requireColumn(task.getPriority(), "PRIORITY");
+        requireColumn(task.getDueDate(), "DUE_DATE");
+        if (task.getTitle().length() > TITLE_LENGTH) {
+            throw new DataIntegrityViolationException("Value too long for column TITLE");
+        }
+        if (task.getDescription() != null && task.getDescription().length() > DESCRIPTION_LENGTH) {
+            throw new DataIntegrityViolationException("Value too long for column DESCRIPTION");
+        }
+    }
+
+    private static void requireColumn(Object value, String column) {
+        if (value == null) {
+            throw new DataIntegrityViolationException("NULL not allowed for column " + column);
+        }
+    }
+
+    private void claim(Row row) {
+        Long holder = claims.putIfAbsent(row.key(), row.id());
+        if (holder != null && holder != row.id()) {
+            throw new DataIntegrityViolationException("Unique index violation on (tenant_id, title, status) = (" + row.tenantId() + ", " + row.title() + ", " + row.status() + ")");
+        }
+    }
+
+    private void store(Row row) {
+        Stripe stripe = stripe(row.id());
+        stripe.lock.writeLock().lock();
+        try {
+            stripe.rows.put(row.id(), row);
+            byStatus.get(row.status()).add(row.id());
+            byPriority.get(row.priority()).add(row.id());
+            byDueDate.add(row.dueKey());
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the stripe's write lock
+    private void replace(Stripe stripe, Row before, Row after) {
+        if (!before.key().equals(after.key())) {
+            claim(after);
+        }
+        apply(stripe, before, after);
+    }
+
+    // Caller holds the stripe's write lock and any new unique key claim; only changed index entries are touched
+    private void apply(Stripe stripe, Row before, Row after) {
+        stripe.rows.put(after.id(), after);
+        if (before.status() != after.status()) {
+            byStatus.get(after.status()).add(after.id());
+            byStatus.get(before.status()).remove(before.id());
+        }
+        if (before.priority() != after.priority()) {
+            byPriority.get(after.priority()).add(after.id());
+            byPriority.get(before.priority()).remove(before.id());
+        }
+        if (!before.dueDate().equals(after.dueDate())) {
+            byDueDate.add(after.dueKey());
+            byDueDate.remove(before.dueKey());
+        }
+        if (!before.key().equals(after.key())) {
+            claims.remove(before.key(), before.id());
+        }
+    }
+
+    // Caller holds the stripe's write lock
+    private void remove(Stripe stripe, Row row) {
+        stripe.rows.remove(row.id());
+        byStatus.get(row.status()).remove(row.id());
+        byPriority.get(row.priority()).remove(row.id());
+        byDueDate.remove(row.dueKey());
+        claims.remove(row.key(), row.id());
+    }
+
+    /**
+     * Collects the rows matching {@code filter}, reading candidates from the smaller of the status and
+     * priority sets, from the due-date range when only {@code overdue} is given, or from every stripe.
+     */
+    private List<Row> matching(TaskFilter filter, LocalDateTime now) {
+        Set<Long> candidates = null;
+        if (filter.status() != null) {
+            candidates = byStatus.get(filter.status());
+        }
+        if (filter.priority() != null && (candidates == null || byPriority.get(filter.priority()).size() < candidates.size())) {
+            candidates = byPriority.get(filter.priority());
+        }
+
+        List<Row> matches = new ArrayList<>();
+        if (candidates != null) {
+            for (Long id : candidates) {
+                Row row = read(id);
+                if (row != null && row.matches(filter, now)) {
+                    matches.add(row);
+                }
+            }
+        } else if (filter.overdue() != null) {
+            forEachOpen(dueRange(filter.overdue(), now), row -> {
+                if (row.matches(filter, now)) {
+                    matches.add(row);
+                }
+            });
+        } else {
+            for (Stripe stripe : stripes) {
+                stripe.lock.readLock().lock();
+                try {
+                    stripe.rows.forEachValue(matches::add);
+                } finally {
+                    stripe.lock.readLock().unlock();
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Due dates before {@code now} when {@code overdue}, otherwise after it; completed tasks are not excluded.
+     */
+    private NavigableSet<DueKey> dueRange(boolean overdue, LocalDateTime now) {
+        return overdue ? byDueDate.headSet(new DueKey(now, Long.MIN_VALUE), false) : byDueDate.tailSet(new DueKey(now, Long.MAX_VALUE), false);
+    }
+
+    // Skips index entries left behind by a row whose due date changed while the range was walked
+    private void forEachOpen(NavigableSet<DueKey> range, Consumer<Row> action) {
+        for (DueKey key : range) {
+            Row row = read(key.id());
+            if (row != null && row.open() && row.dueDate().equals(key.dueDate())) {
+                action.accept(row);
+            }
+        }
+    }
+
+    private static <T> Page<TaskModel> page(List<T> matches, Pageable pageable, Comparator<T> order, Function<T, TaskModel> toModel) {
+        if (pageable.isUnpaged()) {
+            matches.sort(order);
+            return new PageImpl<>(matches.stream().map(toModel).toList(), pageable, matches.size());
+        }
+
+        long offset = pageable.getOffset();
+        if (offset >= matches.size()) {
+            return new PageImpl<>(List.of(), pageable, matches.size());
+        }
+        int end = (int) Math.min(offset + pageable.getPageSize(), matches.size());
+        return new PageImpl<>(firstInOrder(matches, end, order).subList((int) offset, end).stream().map(toModel).toList(), pageable, matches.size());
+    }
+
+    private static <T> List<T> firstInOrder(List<T> rows, int count, Comparator<T> order) {
+        if (count >= rows.size() / 4) {
+            rows.sort(order);
+            return rows.subList(0, count);
+        }
+        // Shallow pages keep a bounded max-heap instead of sorting every match
+        PriorityQueue<T> heap = new PriorityQueue<>(count + 1, order.reversed());
+        for (T row : rows) {
+            if (heap.size() < count) {
+                heap.add(row);
+            } else if (order.compare(row, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(row);
+            }
+        }
+        List<T> first = new ArrayList<>(heap);
+        first.sort(order);
+        return first;
+    }
+
+    private static List<TaskModel> toModels(List<Row> rows) {
+        List<TaskModel> models = new ArrayList<>(rows.size());
+        rows.forEach(row -> models.add(row.toModel()));
+        return models;
+    }
+
+    private static List<Object[]> cells(long[][] counts) {
+        List<Object[]> cells = new ArrayList<>();
+        for (Status status : Status.values()) {
+            for (Priority priority : Priority.values()) {
+                long count = counts[status.ordinal()][priority.ordinal()];
+                if (count > 0) {
+                    cells.add(new Object[]{status, priority, count});
+                }
+            }
+        }
+        return cells;
+    }
+}
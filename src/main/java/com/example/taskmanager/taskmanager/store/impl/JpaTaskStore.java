@@ -0,0 +1,199 @@
+package com.example.taskmanager.taskmanager.store.impl;
+
+import com.example.taskmanager.taskmanager.entity.TaskEntity;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.StatusUpdateModel;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.repository.TaskRepo;
+import com.example.taskmanager.taskmanager.repository.TaskSpecifications;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import com.example.taskmanager.taskmanager.utility.CursorCodec;
+import com.example.taskmanager.taskmanager.utility.MapperClass;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.example.taskmanager.taskmanager.utility.MapperClass.mapToEntity;
+import static com.example.taskmanager.taskmanager.utility.MapperClass.mapToModel;
+
+/**
+ * Default backend on top of {@link TaskRepo}. Writes are flushed immediately so that constraint
+ * violations surface at the call rather than at commit; atomicity comes from the caller's transaction.
+ */
+@Repository
+@Timed(value = "taskmanager.store", histogram = true)
+@ConditionalOnProperty(name = "taskmanager.store.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaTaskStore implements TaskStore {
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    @Override
+    public Optional<TaskModel> findById(Long id) {
+        return taskRepo.findById(id).map(MapperClass::mapToModel);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return taskRepo.existsById(id);
+    }
+
+    @Override
+    public List<TaskModel> findAllById(Collection<Long> ids) {
+        return taskRepo.findAllById(ids).stream().map(MapperClass::mapToModel).toList();
+    }
+
+    @Override
+    public TaskModel insert(String tenantId, RequestTaskModel task) {
+        return mapToModel(taskRepo.saveAndFlush(mapToEntity(tenantId, task)));
+    }
+
+    @Override
+    public List<TaskModel> insertAll(String tenantId, List<RequestTaskModel> tasks) {
+        List<TaskEntity> entities = taskRepo.saveAll(tasks.stream().map(task -> mapToEntity(tenantId, task)).toList());
+        taskRepo.flush();
+        return entities.stream().map(MapperClass::mapToModel).toList();
+    }
+
+    @Override
+    public Optional<TaskModel> update(Long id, RequestTaskModel task, Long expectedVersion) {
+        TaskEntity entity = taskRepo.findById(id).orElse(null);
+        if (entity == null || (expectedVersion != null && !expectedVersion.equals(entity.getVersion()))) {
+            return Optional.empty();
+        }
+        entity.setTitle(task.getTitle());
+        entity.setDescription(task.getDescription());
+        entity.setStatus(task.getStatus());
+        entity.setPriority(task.getPriority());
+        entity.setDueDate(task.getDueDate());
+        return Optional.of(mapToModel(taskRepo.saveAndFlush(entity)));
+    }
+
+    @Override
+    public int updateStatus(Long id, Status status, Long expectedVersion) {
+        return taskRepo.updateStatusById(id, status, expectedVersion, LocalDateTime.now());
+    }
+
+    @Override
+    public Set<Long> updateStatuses(List<StatusUpdateModel> updates) {
+        // Managed entities are changed in place so Hibernate batches the updates at flush
+        Map<Long, TaskEntity> found = taskRepo.findAllById(updates.stream().map(StatusUpdateModel::getId).toList()).stream()
+                .collect(Collectors.toMap(TaskEntity::getId, Function.identity()));
+        for (StatusUpdateModel update : updates) {
+            TaskEntity entity = found.get(update.getId());
+            if (entity != null) {
+                entity.setStatus(update.getStatus());
+            }
+        }
+        taskRepo.flush();
+        return found.keySet();
+    }
+
+    @Override
+    public int deleteUnlessStatus(Long id, Status protectedStatus) {
+        return taskRepo.deleteByIdAndStatusNot(id, protectedStatus);
+    }
+
+    @Override
+    public void deleteAllById(Collection<Long> ids) {
+        taskRepo.deleteAllByIdInBatch(ids);
+    }
+
+    @Override
+    public Set<Long> deleteAllByIdAndVersion(Map<Long, Long> versions) {
+        Set<Long> unchanged = taskRepo.findAllByIdForUpdate(versions.keySet()).stream()
+                .filter(entity -> entity.getVersion().equals(versions.get(entity.getId())))
+                .map(TaskEntity::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (!unchanged.isEmpty()) {
+            taskRepo.deleteByIds(unchanged);
+        }
+        return unchanged;
+    }
+
+    @Override
+    public Set<Long> deleteAllByIdUnlessStatus(Collection<Long> ids, Status protectedStatus) {
+        Set<Long> deletable = taskRepo.findAllByIdForUpdate(ids).stream()
+                .filter(entity -> entity.getStatus() != protectedStatus)
+                .map(TaskEntity::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (!deletable.isEmpty()) {
+            taskRepo.deleteByIds(deletable);
+        }
+        return deletable;
+    }
+
+    @Override
+    public Page<TaskModel> findAll(TaskFilter filter, Pageable pageable) {
+        return taskRepo.findModels(TaskSpecifications.matches(filter), pageable);
+    }
+
+    @Override
+    public Slice<TaskModel> findAfter(TaskFilter filter, CursorCodec.Position position, int size) {
+        return taskRepo.findSliceOrderedByDueDate(TaskSpecifications.matches(filter).and(TaskSpecifications.after(position)), size);
+    }
+
+    @Override
+    public Stream<TaskModel> streamAll(TaskFilter filter, int fetchSize) {
+        return taskRepo.streamModels(TaskSpecifications.matches(filter), fetchSize);
+    }
+
+    @Override
+    public List<TaskModel> findCompletedBefore(LocalDateTime cutoff, int limit) {
+        return taskRepo.findByStatusAndUpdatedAtBeforeOrderByUpdatedAtAscIdAsc(Status.COMPLETED, cutoff, PageRequest.of(0, limit)).stream()
+                .map(MapperClass::mapToModel).toList();
+    }
+
+    @Override
+    public List<Object[]> countByStatusAndPriority() {
+        return taskRepo.getTaskStatusAndPriorityCount();
+    }
+
+    @Override
+    public List<Object[]> countOverdueByStatusAndPriority(LocalDateTime now) {
+        return taskRepo.getOverdueStatusAndPriorityCount(now, Status.COMPLETED);
+    }
+
+    @Override
+    public long countOverdue(LocalDateTime now) {
+        return taskRepo.countByDueDateBeforeAndStatusNot(now, Status.COMPLETED);
+    }
+
+    @Override
+    public long countNotOverdue(LocalDateTime now) {
+        return taskRepo.countByDueDateAfterAndStatusNot(now, Status.COMPLETED);
+    }
+
+    @Override
+    public Map<Long, LocalDateTime> findOpenDueBetween(LocalDateTime from, LocalDateTime to) {
+        Map<Long, LocalDateTime> dueDates = new LinkedHashMap<>();
+        for (Object[] row : taskRepo.findDueBetween(from, to, Status.COMPLETED)) {
+            dueDates.put((Long) row[0], (LocalDateTime) row[1]);
+        }
+        return dueDates;
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOpenDueDate(Long id) {
+        return taskRepo.findDueDateByIdAndStatusNot(id, Status.COMPLETED);
+    }
+}
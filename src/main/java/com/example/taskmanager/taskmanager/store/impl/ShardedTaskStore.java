@@ -0,0 +1,717 @@
+package com.example.taskmanager.taskmanager.store.impl;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.StatusUpdateModel;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.store.TaskOrder;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import com.example.taskmanager.taskmanager.utility.CursorCodec;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Backend that spreads tenants over several databases, selected with {@code taskmanager.store.type=sharded}.
+ * <p>
+ * Every JDBC URL in {@code taskmanager.sharding.urls} is a shard with its own task table. A tenant
+ * lives entirely on the shard picked by the hash of its id, so each shard checks the
+ * (tenant, title, status) rule by itself. Ids are {@code sequence * MAX_SHARDS + shard}, which routes
+ * every call by id without a lookup.
+ * <p>
+ * A query for one tenant runs on that tenant's shard only. A query that spans tenants runs on every
+ * shard in parallel. Each shard returns its first offset + size rows in the requested order and the
+ * page is cut from their merge. Keyset slices and id-ordered streams are merged the same way, and
+ * counts are summed.
+ * <p>
+ * A call routed to one shard runs on the caller's thread; calls that span shards run on one thread per
+ * shard. Either way they use the shards' own connections, outside the caller's transaction. A write
+ * that touches several shards opens a local transaction on each and commits them only once all of
+ * them have succeeded, but a failure between those commits leaves the earlier shards applied. Changing the number of shards
+ * moves tenants and is not supported on existing data.
+ */
+@Repository
+@Timed(value = "taskmanager.store", histogram = true)
+@ConditionalOnProperty(name = "taskmanager.store.type", havingValue = "sharded")
+public class ShardedTaskStore implements TaskStore {
+
+    private static final int MAX_SHARDS = 64;
+    private static final String COLUMNS = "id, tenant_id, title, description, status, priority, due_date, created_at, updated_at, version";
+    private static final String COMPLETED = Status.COMPLETED.name();
+    private static final Comparator<TaskModel> BY_UPDATED_AT = Comparator.comparing(TaskModel::getUpdatedAt).thenComparing(TaskOrder.BY_ID);
+    private static final Sort SLICE_ORDER = Sort.by("dueDate", "id");
+
+    private static final RowMapper<TaskModel> TASK_ROW = (rs, rowNum) -> new TaskModel(
+            rs.getLong("id"), rs.getString("tenant_id"), rs.getString("title"), rs.getString("description"),
+            Status.valueOf(rs.getString("status")), Priority.valueOf(rs.getString("priority")),
+            rs.getObject("due_date", LocalDateTime.class), rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class), rs.getLong("version"));
+
+    @Value("${taskmanager.sharding.urls:jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1}")
+    private List<String> urls;
+
+    @Value("${taskmanager.sharding.username:sa}")
+    private String username;
+
+    @Value("${taskmanager.sharding.password:}")
+    private String password;
+
+    @Value("${taskmanager.sharding.pool-size:5}")
+    private int poolSize;
+
+    private final List<Shard> shards = new ArrayList<>();
+    private final ExecutorService shardExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private record Shard(int index, HikariDataSource dataSource, JdbcTemplate jdbc, NamedParameterJdbcTemplate named,
+                         DataSourceTransactionManager transactionManager, TransactionTemplate transactionTemplate) {
+    }
+
+    // One shard's share of a page: its first rows in page order and its number of matches
+    private record Part(List<TaskModel> rows, long total) {
+    }
+
+    private record Where(List<String> predicates, List<Object> args) {
+
+        Where and(String predicate, Object... values) {
+            List<String> morePredicates = new ArrayList<>(predicates);
+            morePredicates.add(predicate);
+            List<Object> moreArgs = new ArrayList<>(args);
+            moreArgs.addAll(List.of(values));
+            return new Where(morePredicates, moreArgs);
+        }
+
+        String sql() {
+            return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+        }
+
+        Object[] args(Object... trailing) {
+            List<Object> all = new ArrayList<>(args);
+            all.addAll(List.of(trailing));
+            return all.toArray();
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (urls.isEmpty() || urls.size() > MAX_SHARDS) {
+            throw new IllegalStateException("taskmanager.sharding.urls must list between 1 and " + MAX_SHARDS + " shards");
+        }
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("shard-schema.sql"));
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + i);
+            dataSource.setJdbcUrl(urls.get(i).trim());
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+            dataSource.setMaximumPoolSize(poolSize);
+            schema.execute(dataSource);
+
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            shards.add(new Shard(i, dataSource, new JdbcTemplate(dataSource), new NamedParameterJdbcTemplate(dataSource),
+                    transactionManager, new TransactionTemplate(transactionManager)));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        shardExecutor.shutdownNow();
+        shards.forEach(shard -> shard.dataSource().close());
+    }
+
+    // --- Reads by id ---
+
+    @Override
+    public Optional<TaskModel> findById(Long id) {
+        Shard shard = shardOf(id);
+        if (shard == null) {
+            return Optional.empty();
+        }
+        return shard.jdbc().query("SELECT " + COLUMNS + " FROM task WHERE id = ?", TASK_ROW, id).stream().findFirst();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        Shard shard = shardOf(id);
+        return shard != null && shard.jdbc().queryForObject("SELECT COUNT(*) FROM task WHERE id = ?", Long.class, id) > 0;
+    }
+
+    @Override
+    public List<TaskModel> findAllById(Collection<Long> ids) {
+        Map<Shard, List<Long>> grouped = byShard(ids);
+        List<List<TaskModel>> parts = fanOut(List.copyOf(grouped.keySet()),
+                shard -> shard.named().query("SELECT " + COLUMNS + " FROM task WHERE id IN (:ids)", Map.of("ids", grouped.get(shard)), TASK_ROW));
+        return parts.stream().flatMap(List::stream).toList();
+    }
+
+    // --- Writes ---
+
+    @Override
+    public TaskModel insert(String tenantId, RequestTaskModel task) {
+        return insertAll(tenantId, List.of(task)).get(0);
+    }
+
+    @Override
+    public List<TaskModel> insertAll(String tenantId, List<RequestTaskModel> tasks) {
+        if (tenantId == null) {
+            throw new DataIntegrityViolationException("NULL not allowed for column TENANT_ID");
+        }
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+        Shard shard = shardFor(tenantId);
+        return shard.transactionTemplate().execute(status -> insertRows(shard, tenantId, tasks));
+    }
+
+    @Override
+    public Optional<TaskModel> update(Long id, RequestTaskModel task, Long expectedVersion) {
+        Shard shard = shardOf(id);
+        if (shard == null) {
+            return Optional.empty();
+        }
+        return shard.transactionTemplate().execute(status -> {
+            TaskModel current = shard.jdbc().query("SELECT " + COLUMNS + " FROM task WHERE id = ? FOR UPDATE", TASK_ROW, id).stream().findFirst().orElse(null);
+            if (current == null || (expectedVersion != null && !expectedVersion.equals(current.getVersion()))) {
+                return Optional.<TaskModel>empty();
+            }
+            if (sameFields(current, task)) {
+                // Like a JPA dirty check, an update that changes nothing keeps the version
+                return Optional.of(current);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            shard.jdbc().update("UPDATE task SET title = ?, description = ?, status = ?, priority = ?, due_date = ?, updated_at = ?, version = version + 1 WHERE id = ?",
+                    task.getTitle(), task.getDescription(), name(task.getStatus()), name(task.getPriority()), task.getDueDate(), now, id);
+            current.setTitle(task.getTitle());
+            current.setDescription(task.getDescription());
+            current.setStatus(task.getStatus());
+            current.setPriority(task.getPriority());
+            current.setDueDate(task.getDueDate());
+            current.setUpdatedAt(now);
+            current.setVersion(current.getVersion() + 1);
+            return Optional.of(current);
+        });
+    }
+
+    @Override
+    public int updateStatus(Long id, Status status, Long expectedVersion) {
+        Shard shard = shardOf(id);
+        if (shard == null) {
+            return 0;
+        }
+        String sql = "UPDATE task SET status = ?, updated_at = ?, version = version + 1 WHERE id = ?";
+        Object[] args = expectedVersion == null
+                ? new Object[]{name(status), LocalDateTime.now(), id}
+                : new Object[]{name(status), LocalDateTime.now(), id, expectedVersion};
+        return shard.jdbc().update(expectedVersion == null ? sql : sql + " AND version = ?", args);
+    }
+
+    @Override
+    public Set<Long> updateStatuses(List<StatusUpdateModel> updates) {
+        Map<Long, Status> statuses = new LinkedHashMap<>();
+        updates.forEach(update -> statuses.put(update.getId(), update.getStatus()));
+        Map<Shard, List<Long>> grouped = byShard(statuses.keySet());
+
+        Set<Long> found = new LinkedHashSet<>();
+        inTransactions(grouped.keySet(), shard -> {
+            Map<Long, String> current = new HashMap<>();
+            shard.named().query("SELECT id, status FROM task WHERE id IN (:ids) FOR UPDATE", Map.of("ids", grouped.get(shard)),
+                    (RowCallbackHandler) rs -> current.put(rs.getLong(1), rs.getString(2)));
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> changed = new ArrayList<>();
+            for (Long id : grouped.get(shard)) {
+                if (current.containsKey(id)) {
+                    found.add(id);
+                    if (!Objects.equals(current.get(id), name(statuses.get(id)))) {
+                        changed.add(id);
+                    }
+                }
+            }
+            if (!changed.isEmpty()) {
+                shard.jdbc().batchUpdate("UPDATE task SET status = ?, updated_at = ?, version = version + 1 WHERE id = ?", changed, changed.size(), (ps, id) -> {
+                    ps.setString(1, name(statuses.get(id)));
+                    ps.setObject(2, now);
+                    ps.setLong(3, id);
+                });
+            }
+        });
+        return found;
+    }
+
+    @Override
+    public int deleteUnlessStatus(Long id, Status protectedStatus) {
+        Shard shard = shardOf(id);
+        if (shard == null) {
+            return 0;
+        }
+        return shard.jdbc().update("DELETE FROM task WHERE id = ? AND status <> ?", id, name(protectedStatus));
+    }
+
+    @Override
+    public void deleteAllById(Collection<Long> ids) {
+        Map<Shard, List<Long>> grouped = byShard(ids);
+        inTransactions(grouped.keySet(), shard -> shard.named().update("DELETE FROM task WHERE id IN (:ids)", Map.of("ids", grouped.get(shard))));
+    }
+
+    @Override
+    public Set<Long> deleteAllByIdAndVersion(Map<Long, Long> versions) {
+        Map<Shard, List<Long>> grouped = byShard(versions.keySet());
+
+        Set<Long> deleted = new LinkedHashSet<>();
+        inTransactions(grouped.keySet(), shard -> {
+            List<Long> ids = grouped.get(shard);
+            int[][] counts = shard.jdbc().batchUpdate("DELETE FROM task WHERE id = ? AND version = ?", ids, ids.size(), (ps, id) -> {
+                ps.setLong(1, id);
+                ps.setLong(2, versions.get(id));
+            });
+            for (int i = 0; i < ids.size(); i++) {
+                if (counts[0][i] > 0) {
+                    deleted.add(ids.get(i));
+                }
+            }
+        });
+        return deleted;
+    }
+
+    @Override
+    public Set<Long> deleteAllByIdUnlessStatus(Collection<Long> ids, Status protectedStatus) {
+        Map<Shard, List<Long>> grouped = byShard(ids);
+
+        Set<Long> deleted = new LinkedHashSet<>();
+        inTransactions(grouped.keySet(), shard -> {
+            List<Long> shardIds = grouped.get(shard);
+            int[][] counts = shard.jdbc().batchUpdate("DELETE FROM task WHERE id = ? AND status <> ?", shardIds, shardIds.size(), (ps, id) -> {
+                ps.setLong(1, id);
+                ps.setString(2, name(protectedStatus));
+            });
+            for (int i = 0; i < shardIds.size(); i++) {
+                if (counts[0][i] > 0) {
+                    deleted.add(shardIds.get(i));
+                }
+            }
+        });
+        return deleted;
+    }
+
+    // --- Queries ---
+
+    @Override
+    public Page<TaskModel> findAll(TaskFilter filter, Pageable pageable) {
+        Where where = where(filter, LocalDateTime.now());
+        String select = "SELECT " + COLUMNS + " FROM task" + where.sql() + orderBy(pageable.getSort());
+        Comparator<TaskModel> order = TaskOrder.comparator(pageable.getSort());
+        List<Shard> targets = shardsFor(filter);
+
+        if (pageable.isUnpaged()) {
+            List<List<TaskModel>> parts = fanOut(targets, shard -> shard.jdbc().query(select, TASK_ROW, where.args()));
+            List<TaskModel> rows = merge(parts, order, Integer.MAX_VALUE);
+            return new PageImpl<>(rows, pageable, rows.size());
+        }
+
+        // One shard pages by itself; several each return their first offset + size rows for the merge
+        boolean single = targets.size() == 1;
+        long offset = single ? pageable.getOffset() : 0;
+        long limit = single ? pageable.getPageSize() : pageable.getOffset() + pageable.getPageSize();
+        String count = "SELECT COUNT(*) FROM task" + where.sql();
+        List<Part> parts = fanOut(targets, shard -> new Part(
+                shard.jdbc().query(select + " LIMIT ? OFFSET ?", TASK_ROW, where.args(limit, offset)),
+                shard.jdbc().queryForObject(count, Long.class, where.args())));
+
+        List<TaskModel> merged = merge(parts.stream().map(Part::rows).toList(), order, (int) Math.min(limit, Integer.MAX_VALUE));
+        List<TaskModel> content = single ? merged : new ArrayList<>(merged.subList((int) Math.min(pageable.getOffset(), merged.size()), merged.size()));
+        return new PageImpl<>(content, pageable, parts.stream().mapToLong(Part::total).sum());
+    }
+
+    @Override
+    public Slice<TaskModel> findAfter(TaskFilter filter, CursorCodec.Position position, int size) {
+        Where filtered = where(filter, LocalDateTime.now());
+        Where where = position == null ? filtered
+                : filtered.and("(due_date > ? OR (due_date = ? AND id > ?))", position.dueDate(), position.dueDate(), position.id());
+        String select = "SELECT " + COLUMNS + " FROM task" + where.sql() + " ORDER BY due_date, id LIMIT ?";
+
+        List<List<TaskModel>> parts = fanOut(shardsFor(filter), shard -> shard.jdbc().query(select, TASK_ROW, where.args(size + 1)));
+        List<TaskModel> rows = merge(parts, TaskOrder.comparator(SLICE_ORDER), size + 1);
+        boolean hasNext = rows.size() > size;
+        return new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, PageRequest.of(0, size, SLICE_ORDER), hasNext);
+    }
+
+    @Override
+    public Stream<TaskModel> streamAll(TaskFilter filter, int fetchSize) {
+        Where where = where(filter, LocalDateTime.now());
+        String select = "SELECT " + COLUMNS + " FROM task" + where.sql() + " ORDER BY id";
+
+        List<Stream<TaskModel>> streams = new ArrayList<>();
+        try {
+            for (Shard shard : shardsFor(filter)) {
+                streams.add(shard.jdbc().queryForStream(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(select);
+                    statement.setFetchSize(fetchSize);
+                    new ArgumentPreparedStatementSetter(where.args()).setValues(statement);
+                    return statement;
+                }, TASK_ROW));
+            }
+        } catch (RuntimeException ex) {
+            streams.forEach(Stream::close);
+            throw ex;
+        }
+
+        Iterator<TaskModel> merged = new MergingIterator<>(streams.stream().map(Stream::iterator).toList(), TaskOrder.BY_ID);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> streams.forEach(Stream::close));
+    }
+
+    @Override
+    public List<TaskModel> findCompletedBefore(LocalDateTime cutoff, int limit) {
+        String select = "SELECT " + COLUMNS + " FROM task WHERE status = ? AND updated_at < ? ORDER BY updated_at, id LIMIT ?";
+        List<List<TaskModel>> parts = fanOut(shards, shard -> shard.jdbc().query(select, TASK_ROW, COMPLETED, cutoff, limit));
+        return merge(parts, BY_UPDATED_AT, limit);
+    }
+
+    // --- Aggregates ---
+
+    @Override
+    public List<Object[]> countByStatusAndPriority() {
+        return countCells("SELECT status, priority, COUNT(*) FROM task GROUP BY status, priority");
+    }
+
+    @Override
+    public List<Object[]> countOverdueByStatusAndPriority(LocalDateTime now) {
+        return countCells("SELECT status, priority, COUNT(*) FROM task WHERE due_date < ? AND status <> ? GROUP BY status, priority", now, COMPLETED);
+    }
+
+    @Override
+    public long countOverdue(LocalDateTime now) {
+        return count("SELECT COUNT(*) FROM task WHERE due_date < ? AND status <> ?", now, COMPLETED);
+    }
+
+    @Override
+    public long countNotOverdue(LocalDateTime now) {
+        return count("SELECT COUNT(*) FROM task WHERE due_date > ? AND status <> ?", now, COMPLETED);
+    }
+
+    @Override
+    public Map<Long, LocalDateTime> findOpenDueBetween(LocalDateTime from, LocalDateTime to) {
+        List<Map<Long, LocalDateTime>> parts = fanOut(shards, shard -> {
+            Map<Long, LocalDateTime> dueDates = new LinkedHashMap<>();
+            shard.jdbc().query("SELECT id, due_date FROM task WHERE due_date > ? AND due_date <= ? AND status <> ?",
+                    (RowCallbackHandler) rs -> dueDates.put(rs.getLong(1), rs.getObject(2, LocalDateTime.class)), from, to, COMPLETED);
+            return dueDates;
+        });
+        Map<Long, LocalDateTime> dueDates = new LinkedHashMap<>();
+        parts.forEach(dueDates::putAll);
+        return dueDates;
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOpenDueDate(Long id) {
+        Shard shard = shardOf(id);
+        if (shard == null) {
+            return Optional.empty();
+        }
+        return shard.jdbc().query("SELECT due_date FROM task WHERE id = ? AND status <> ?",
+                (rs, rowNum) -> rs.getObject(1, LocalDateTime.class), id, COMPLETED).stream().findFirst();
+    }
+
+    // --- Routing ---
+
+    private Shard shardFor(String tenantId) {
+        return shards.get(Math.floorMod(tenantId.hashCode(), shards.size()));
+    }
+
+    // Null for ids that none of the configured shards can have handed out
+    private Shard shardOf(Long id) {
+        if (id == null || id <= 0) {
+            return null;
+        }
+        int index = (int) (id % MAX_SHARDS);
+        return index < shards.size() ? shards.get(index) : null;
+    }
+
+    private List<Shard> shardsFor(TaskFilter filter) {
+        return filter.tenantId() != null ? List.of(shardFor(filter.tenantId())) : shards;
+    }
+
+    private Map<Shard, List<Long>> byShard(Collection<Long> ids) {
+        Map<Shard, List<Long>> grouped = new TreeMap<>(Comparator.comparingInt(Shard::index));
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Shard shard = shardOf(id);
+            if (shard != null) {
+                grouped.computeIfAbsent(shard, s -> new ArrayList<>()).add(id);
+            }
+        }
+        return grouped;
+    }
+
+    // --- Execution ---
+
+    /**
+     * Runs {@code query} on every target shard at once and returns the results in target order.
+     * A single target is queried on the caller's thread.
+     */
+    private <T> List<T> fanOut(List<Shard> targets, Function<Shard, T> query) {
+        if (targets.size() == 1) {
+            return List.of(query.apply(targets.get(0)));
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(targets.size());
+        for (Shard shard : targets) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard), shardExecutor));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(join(future));
+            }
+        } catch (RuntimeException ex) {
+            futures.forEach(future -> future.cancel(true));
+            throw ex;
+        }
+        return results;
+    }
+
+    /**
+     * Runs {@code work} on each shard inside a local transaction and commits them all only when every
+     * shard has succeeded; transactions are completed innermost first, as Spring requires on one thread.
+     */
+    private void inTransactions(Collection<Shard> targets, Consumer<Shard> work) {
+        if (targets.isEmpty()) {
+            return;
+        }
+        join(CompletableFuture.runAsync(() -> {
+            Deque<Map.Entry<Shard, TransactionStatus>> open = new ArrayDeque<>();
+            try {
+                for (Shard shard : targets) {
+                    open.push(Map.entry(shard, shard.transactionManager().getTransaction(TransactionDefinition.withDefaults())));
+                    work.accept(shard);
+                }
+            } catch (RuntimeException ex) {
+                while (!open.isEmpty()) {
+                    Map.Entry<Shard, TransactionStatus> transaction = open.pop();
+                    transaction.getKey().transactionManager().rollback(transaction.getValue());
+                }
+                throw ex;
+            }
+            while (!open.isEmpty()) {
+                Map.Entry<Shard, TransactionStatus> transaction = open.pop();
+                transaction.getKey().transactionManager().commit(transaction.getValue());
+            }
+        }, shardExecutor));
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+    }
+
+    // --- Internals ---
+
+    // Caller runs inside the shard's transaction
+    private static List<TaskModel> insertRows(Shard shard, String tenantId, List<RequestTaskModel> tasks) {
+        List<Long> sequence = shard.jdbc().queryForList("SELECT NEXT VALUE FOR task_seq FROM SYSTEM_RANGE(1, ?)", Long.class, tasks.size());
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskModel> rows = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            RequestTaskModel task = tasks.get(i);
+            rows.add(new TaskModel(sequence.get(i) * MAX_SHARDS + shard.index(), tenantId, task.getTitle(), task.getDescription(),
+                    task.getStatus(), task.getPriority(), task.getDueDate(), now, now, 0L));
+        }
+        shard.jdbc().batchUpdate("INSERT INTO task (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.getId());
+            ps.setString(2, row.getTenantId());
+            ps.setString(3, row.getTitle());
+            ps.setString(4, row.getDescription());
+            ps.setString(5, name(row.getStatus()));
+            ps.setString(6, name(row.getPriority()));
+            ps.setObject(7, row.getDueDate());
+            ps.setObject(8, row.getCreatedAt());
+            ps.setObject(9, row.getUpdatedAt());
+            ps.setLong(10, row.getVersion());
+        });
+        return rows;
+    }
+
+    private long count(String sql, Object... args) {
+        return fanOut(shards, shard -> shard.jdbc().queryForObject(sql, Long.class, args)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    private List<Object[]> countCells(String sql, Object... args) {
+        long[][] counts = new long[Status.values().length][Priority.values().length];
+        List<long[][]> parts = fanOut(shards, shard -> {
+            long[][] part = new long[Status.values().length][Priority.values().length];
+            shard.jdbc().query(sql, (RowCallbackHandler) rs -> part[Status.valueOf(rs.getString(1)).ordinal()][Priority.valueOf(rs.getString(2)).ordinal()] += rs.getLong(3), args);
+            return part;
+        });
+        for (long[][] part : parts) {
+            for (int s = 0; s < counts.length; s++) {
+                for (int p = 0; p < counts[s].length; p++) {
+                    counts[s][p] += part[s][p];
+                }
+            }
+        }
+
+        List<Object[]> cells = new ArrayList<>();
+        for (Status status : Status.values()) {
+            for (Priority priority : Priority.values()) {
+                long count = counts[status.ordinal()][priority.ordinal()];
+                if (count > 0) {
+                    cells.add(new Object[]{status, priority, count});
+                }
+            }
+        }
+        return cells;
+    }
+
+    private static Where where(TaskFilter filter, LocalDateTime now) {
+        Where where = new Where(List.of(), List.of());
+        if (filter.tenantId() != null) {
+            where = where.and("tenant_id = ?", filter.tenantId());
+        }
+        if (filter.status() != null) {
+            where = where.and("status = ?", filter.status().name());
+        }
+        if (filter.priority() != null) {
+            where = where.and("priority = ?", filter.priority().name());
+        }
+        if (filter.overdue() != null) {
+            where = where.and(filter.overdue() ? "due_date < ?" : "due_date > ?", now).and("status <> ?", COMPLETED);
+        }
+        return where;
+    }
+
+    private static boolean sameFields(TaskModel current, RequestTaskModel task) {
+        return Objects.equals(current.getTitle(), task.getTitle()) && Objects.equals(current.getDescription(), task.getDescription())
+                && current.getStatus() == task.getStatus() && current.getPriority() == task.getPriority()
+                && Objects.equals(current.getDueDate(), task.getDueDate());
+    }
+
+    // Enums are stored by name; null is passed through so the NOT NULL constraints report it
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    // The order of TaskOrder in SQL, so that every shard returns its rows in merge order
+    private static String orderBy(Sort sort) {
+        StringJoiner order = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order property : sort) {
+            order.add(column(property.getProperty()) + (property.isDescending() ? " DESC" : ""));
+        }
+        return order.add("id").toString();
+    }
+
+    private static String column(String property) {
+        return switch (property) {
+            case "id", "title", "description", "status", "priority", "version" -> property;
+            case "tenantId" -> "tenant_id";
+            case "dueDate" -> "due_date";
+            case "createdAt" -> "created_at";
+            case "updatedAt" -> "updated_at";
+            default -> throw new IllegalArgumentException("No property '" + property + "' found for type 'TaskEntity'");
+        };
+    }
+
+    private static List<TaskModel> merge(List<List<TaskModel>> parts, Comparator<TaskModel> order, int limit) {
+        if (parts.size() == 1 && parts.get(0).size() <= limit) {
+            return parts.get(0);
+        }
+        Iterator<TaskModel> merged = new MergingIterator<>(parts.stream().map(List::iterator).toList(), order);
+        List<TaskModel> rows = new ArrayList<>();
+        while (rows.size() < limit && merged.hasNext()) {
+            rows.add(merged.next());
+        }
+        return rows;
+    }
+
+    /**
+     * Merges sources that are each already sorted by {@code order}, holding one row per source.
+     */
+    private static final class MergingIterator<T> implements Iterator<T> {
+
+        private record Head<T>(T value, Iterator<T> rest) {
+        }
+
+        private final PriorityQueue<Head<T>> heads;
+
+        MergingIterator(List<Iterator<T>> sources, Comparator<? super T> order) {
+            heads = new PriorityQueue<>(Math.max(1, sources.size()), (a, b) -> order.compare(a.value(), b.value()));
+            sources.forEach(this::advance);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            Head<T> head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            advance(head.rest());
+            return head.value();
+        }
+
+        private void advance(Iterator<T> source) {
+            if (source.hasNext()) {
+                heads.add(new Head<>(source.next(), source));
+            }
+        }
+    }
+}
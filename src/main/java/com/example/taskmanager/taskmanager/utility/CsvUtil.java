@@ -0,0 +1,136 @@
+package com.example.taskmanager.taskmanager.utility;
+
+import com.example.taskmanager.taskmanager.model.TaskModel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsvUtil {
+
+    public static final String EXPORT_HEADER = "id,tenantId,title,description,status,priority,dueDate,createdAt,updatedAt,version";
+
+    // An unterminated quote would otherwise pull the rest of the input into one record
+    private static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+    public static String toRow(TaskModel task) {
+        return String.join(",",
+                String.valueOf(task.getId()),
+                escape(task.getTenantId()),
+                escape(task.getTitle()),
+                escape(task.getDescription()),
+                escape(task.getStatus()),
+                escape(task.getPriority()),
+                escape(task.getDueDate()),
+                escape(task.getCreatedAt()),
+                escape(task.getUpdatedAt()),
+                escape(task.getVersion()));
+    }
+
+    /**
+     * Quotes a value when it contains a separator, quote or line break (RFC 4180); {@code null} becomes an empty field.
+     */
+    public static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Splits one CSV record, as returned by {@link RecordReader}, into its fields, honouring quoted
+     * fields, doubled quotes and line breaks inside quotes.
+     */
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Reads CSV records from a line-oriented reader. A record whose quotes are still open at the end
+     * of a line continues on the next one; the line break is kept as {@code \n}. Line numbers are
+     * physical lines, so errors can point at the line a record starts on.
+     */
+    public static class RecordReader {
+
+        private final BufferedReader reader;
+        private int lineNumber;
+        private int recordLine;
+
+        public RecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        /**
+         * The next record, or {@code null} at the end of the input.
+         */
+        public String next() throws IOException {
+            String line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            recordLine = ++lineNumber;
+            boolean open = insideQuotes(line, false);
+            if (!open) {
+                return line;
+            }
+
+            StringBuilder record = new StringBuilder(line);
+            while (open && record.length() < MAX_RECORD_LENGTH && (line = reader.readLine()) != null) {
+                lineNumber++;
+                record.append('\n').append(line);
+                open = insideQuotes(line, open);
+            }
+            return record.toString();
+        }
+
+        /**
+         * The line the last record returned by {@link #next()} starts on, counting from 1.
+         */
+        public int recordLine() {
+            return recordLine;
+        }
+
+        // Doubled quotes cancel out, so an odd count flips whether the record is inside a quoted field
+        private static boolean insideQuotes(String line, boolean open) {
+            for (int i = 0; i < line.length(); i++) {
+                if (line.charAt(i) == '"') {
+                    open = !open;
+                }
+            }
+            return open;
+        }
+    }
+}
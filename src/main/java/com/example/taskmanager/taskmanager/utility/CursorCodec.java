@@ -0,0 +1,41 @@
+package com.example.taskmanager.taskmanager.utility;
+
+import com.example.taskmanager.taskmanager.model.TaskModel;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque keyset cursor used by the seek pagination mode.
+ * A cursor carries the (dueDate, id) of the last task returned on the previous slice.
+ */
+public class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    public record Position(LocalDateTime dueDate, Long id) {
+    }
+
+    public static String encode(TaskModel last) {
+        String raw = last.getDueDate() + SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns {@code null} for a blank cursor, which opens the first slice.
+     */
+    public static Position decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            return new Position(LocalDateTime.parse(raw.substring(0, split)), Long.parseLong(raw.substring(split + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.taskmanager.taskmanager.utility;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Writes {@link LocalDateTime} in the same ISO-8601 form as {@code DateTimeFormatter.ISO_LOCAL_DATE_TIME}
+ * (seconds always present, fraction without trailing zeros), but digit by digit into a small char
+ * buffer handed straight to the generator, instead of going through the formatter and an intermediate
+ * {@link String}. Years outside 0000-9999 and timestamp output fall back to the stock serializer.
+ */
+public class IsoLocalDateTimeSerializer extends StdSerializer<LocalDateTime> {
+
+    public static final IsoLocalDateTimeSerializer INSTANCE = new IsoLocalDateTimeSerializer();
+
+    private static final int MAX_LENGTH = 29; // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn
+
+    public IsoLocalDateTimeSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS) || value.getYear() < 0 || value.getYear() > 9999) {
+            LocalDateTimeSerializer.INSTANCE.serialize(value, gen, provider);
+            return;
+        }
+
+        char[] buffer = new char[MAX_LENGTH];
+        int pos = writeDigits(buffer, 0, value.getYear(), 4);
+        buffer[pos++] = '-';
+        pos = writeDigits(buffer, pos, value.getMonthValue(), 2);
+        buffer[pos++] = '-';
+        pos = writeDigits(buffer, pos, value.getDayOfMonth(), 2);
+        buffer[pos++] = 'T';
+        pos = writeDigits(buffer, pos, value.getHour(), 2);
+        buffer[pos++] = ':';
+        pos = writeDigits(buffer, pos, value.getMinute(), 2);
+        buffer[pos++] = ':';
+        pos = writeDigits(buffer, pos, value.getSecond(), 2);
+
+        int nano = value.getNano();
+        if (nano > 0) {
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            buffer[pos++] = '.';
+            pos = writeDigits(buffer, pos, nano, width);
+        }
+
+        gen.writeString(buffer, 0, pos);
+    }
+
+    private static int writeDigits(char[] buffer, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+}
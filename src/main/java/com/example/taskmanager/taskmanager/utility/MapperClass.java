@@ -1,7 +1,10 @@
 package com.example.taskmanager.taskmanager.utility;
 
+import com.example.taskmanager.taskmanager.entity.TaskArchiveEntity;
+import com.example.taskmanager.taskmanager.entity.TaskChangeEntity;
 import com.example.taskmanager.taskmanager.entity.TaskEntity;
 import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.TaskChange;
 import com.example.taskmanager.taskmanager.model.TaskModel;
 
 import java.time.LocalDateTime;
@@ -11,6 +14,7 @@ public class MapperClass {
     public static TaskModel mapToModel(TaskEntity entity) {
         TaskModel model = new TaskModel();
         model.setId(entity.getId());
+        model.setTenantId(entity.getTenantId());
         model.setTitle(entity.getTitle());
         model.setDescription(entity.getDescription());
         model.setStatus(entity.getStatus());
@@ -18,11 +22,18 @@ public class MapperClass {
         model.setDueDate(entity.getDueDate());
         model.setCreatedAt(entity.getCreatedAt());
         model.setUpdatedAt(entity.getUpdatedAt());
+        model.setVersion(entity.getVersion());
         return model;
     }
 
-    public static TaskEntity mapToEntity(RequestTaskModel taskModel) {
+    public static TaskModel copyOf(TaskModel model) {
+        return new TaskModel(model.getId(), model.getTenantId(), model.getTitle(), model.getDescription(), model.getStatus(), model.getPriority(),
+                model.getDueDate(), model.getCreatedAt(), model.getUpdatedAt(), model.getVersion());
+    }
+
+    public static TaskEntity mapToEntity(String tenantId, RequestTaskModel taskModel) {
         TaskEntity entity = new TaskEntity();
+        entity.setTenantId(tenantId);
         entity.setTitle(taskModel.getTitle());
         entity.setDescription(taskModel.getDescription());
         entity.setStatus(taskModel.getStatus());
@@ -30,4 +41,29 @@ public class MapperClass {
         entity.setDueDate(taskModel.getDueDate());
         return entity;
     }
+
+    public static TaskModel mapToModel(TaskArchiveEntity entity) {
+        return new TaskModel(entity.getTaskId(), entity.getTenantId(), entity.getTitle(), entity.getDescription(), entity.getStatus(), entity.getPriority(),
+                entity.getDueDate(), entity.getCreatedAt(), entity.getUpdatedAt(), entity.getVersion());
+    }
+
+    public static TaskArchiveEntity mapToArchive(TaskModel model, LocalDateTime archivedAt) {
+        TaskArchiveEntity entity = new TaskArchiveEntity();
+        entity.setTaskId(model.getId());
+        entity.setTenantId(model.getTenantId());
+        entity.setTitle(model.getTitle());
+        entity.setDescription(model.getDescription());
+        entity.setStatus(model.getStatus());
+        entity.setPriority(model.getPriority());
+        entity.setDueDate(model.getDueDate());
+        entity.setCreatedAt(model.getCreatedAt());
+        entity.setUpdatedAt(model.getUpdatedAt());
+        entity.setVersion(model.getVersion());
+        entity.setArchivedAt(archivedAt);
+        return entity;
+    }
+
+    public static TaskChange mapToChange(TaskChangeEntity entity) {
+        return new TaskChange(entity.getChangeOffset(), entity.getTaskId(), entity.getChangeType(), entity.getStatus(), entity.getChangedAt(), entity.getPayload());
+    }
 }
@@ -0,0 +1,109 @@
+package com.example.taskmanager.taskmanager.utility;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution: the first caller runs the
+ * loader on its own thread and every caller that arrives while it runs waits for and shares
+ * its result. With a non-zero {@code ttl} the result is also reused for that long after it
+ * completes. Failures are not shared beyond the callers already waiting.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    private static class Flight<V> {
+
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        boolean reusable(long now, long ttlNanos) {
+            return !result.isDone() || (!result.isCompletedExceptionally() && now - completedAt < ttlNanos);
+        }
+    }
+
+    public SingleFlight(Duration ttl, int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        while (true) {
+            Flight<V> existing = flights.get(key);
+            if (existing != null) {
+                if (existing.reusable(System.nanoTime(), ttlNanos)) {
+                    shared.increment();
+                    return join(existing);
+                }
+                flights.remove(key, existing);
+                continue;
+            }
+
+            if (flights.size() >= maxEntries) {
+                flights.clear();
+            }
+            Flight<V> flight = new Flight<>();
+            if (flights.putIfAbsent(key, flight) != null) {
+                continue;
+            }
+            loads.increment();
+            return lead(key, flight, loader);
+        }
+    }
+
+    /**
+     * Forgets every completed and in-flight result, so the next call for any key runs the loader.
+     * Callers already waiting on a flight still receive its result.
+     */
+    public void invalidate() {
+        flights.clear();
+    }
+
+    public long loadCount() {
+        return loads.sum();
+    }
+
+    public long sharedCount() {
+        return shared.sum();
+    }
+
+    private V lead(K key, Flight<V> flight, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            flight.completedAt = System.nanoTime();
+            flight.result.complete(value);
+            if (ttlNanos <= 0) {
+                flights.remove(key, flight);
+            }
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flights.remove(key, flight);
+            flight.result.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private static <V> V join(Flight<V> flight) {
+        try {
+            return flight.result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
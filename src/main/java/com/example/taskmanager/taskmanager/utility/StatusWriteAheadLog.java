@@ -0,0 +1,172 @@
+package com.example.taskmanager.taskmanager.utility;
+
+import com.example.taskmanager.taskmanager.enums.Status;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of status changes in a memory-mapped file.
+ * <p>
+ * The file starts with a header holding a magic number and the checkpoint: the highest sequence
+ * number whose changes are known to be in the database. Fixed-size records follow, each carrying
+ * a sequence number, the task id, the status ordinal (-1 for a discard) and a CRC32 of those
+ * fields. Once every appended record is checkpointed the log rewinds and later records overwrite
+ * the old ones. Recovery therefore reads records while their checksum holds and their sequence
+ * keeps rising, and only returns the ones after the checkpoint. Appends are serialized by the log.
+ */
+public class StatusWriteAheadLog implements Closeable {
+
+    private static final long MAGIC = 0x5441534b57414c31L;
+    private static final int HEADER_SIZE = 16;
+    private static final int CHECKPOINT_OFFSET = 8;
+    private static final int RECORD_SIZE = 24;
+    private static final int CHECKED_SIZE = 20;
+    private static final int DISCARD = -1;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final boolean forceOnAppend;
+    private final List<Entry> recovered = new ArrayList<>();
+
+    private int position = HEADER_SIZE;
+    private long lastSequence;
+    private long checkpoint;
+
+    /**
+     * A logged change; {@code status} is {@code null} for a discard.
+     */
+    public record Entry(long sequence, long id, Status status) {
+    }
+
+    /**
+     * Opens or creates the log at {@code path}, mapping at least {@code capacity} bytes.
+     *
+     * @param forceOnAppend whether every append is forced to the device before it returns
+     */
+    public StatusWriteAheadLog(Path path, long capacity, boolean forceOnAppend) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = Math.max(channel.size(), capacity);
+            if (size > Integer.MAX_VALUE || size < HEADER_SIZE + RECORD_SIZE) {
+                throw new IllegalArgumentException("Write-ahead log size must be between " + (HEADER_SIZE + RECORD_SIZE) + " bytes and 2 GB");
+            }
+            boolean fresh = channel.size() == 0;
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            this.forceOnAppend = forceOnAppend;
+            if (fresh) {
+                buffer.putLong(0, MAGIC);
+                buffer.putLong(CHECKPOINT_OFFSET, 0);
+                buffer.force(0, HEADER_SIZE);
+            } else if (buffer.getLong(0) != MAGIC) {
+                throw new IllegalStateException(path + " is not a status write-ahead log");
+            }
+            recover();
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Entries found after the checkpoint when the log was opened, in append order.
+     */
+    public List<Entry> recovered() {
+        return List.copyOf(recovered);
+    }
+
+    /**
+     * Appends a change and returns its sequence number, or -1 when the log is full.
+     */
+    public long append(long id, Status status) {
+        return append(id, status, 0);
+    }
+
+    /**
+     * Appends a change only while {@code reserve} more records still fit after it, and returns its
+     * sequence number, or -1 when they do not.
+     */
+    public synchronized long append(long id, Status status, int reserve) {
+        if (position + (reserve + 1L) * RECORD_SIZE > buffer.capacity()) {
+            return -1;
+        }
+        long sequence = lastSequence + 1;
+        buffer.putLong(position, sequence);
+        buffer.putLong(position + 8, id);
+        buffer.putInt(position + 16, status != null ? status.ordinal() : DISCARD);
+        buffer.putInt(position + CHECKED_SIZE, checksum(position));
+        if (forceOnAppend) {
+            buffer.force(position, RECORD_SIZE);
+        }
+        position += RECORD_SIZE;
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * Records that every change up to {@code sequence} is in the database, and rewinds the log
+     * when that covers everything appended so far.
+     */
+    public synchronized void checkpoint(long sequence) {
+        if (sequence <= checkpoint) {
+            return;
+        }
+        checkpoint = Math.min(sequence, lastSequence);
+        buffer.putLong(CHECKPOINT_OFFSET, checkpoint);
+        buffer.force(CHECKPOINT_OFFSET, 8);
+        if (checkpoint == lastSequence) {
+            position = HEADER_SIZE;
+        }
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void recover() {
+        checkpoint = buffer.getLong(CHECKPOINT_OFFSET);
+        lastSequence = checkpoint;
+        long previous = 0;
+        int at = HEADER_SIZE;
+        while (at + RECORD_SIZE <= buffer.capacity()) {
+            long sequence = buffer.getLong(at);
+            int ordinal = buffer.getInt(at + 16);
+            // A torn append fails the checksum; records older than a rewind stop the rising sequence
+            if (sequence <= previous || buffer.getInt(at + CHECKED_SIZE) != checksum(at)
+                    || ordinal < DISCARD || ordinal >= Status.values().length) {
+                break;
+            }
+            if (sequence > checkpoint) {
+                recovered.add(new Entry(sequence, buffer.getLong(at + 8), ordinal == DISCARD ? null : Status.values()[ordinal]));
+            }
+            previous = sequence;
+            at += RECORD_SIZE;
+        }
+        lastSequence = Math.max(checkpoint, previous);
+        // Appends continue after the last valid record, or from the start when none is pending
+        position = recovered.isEmpty() ? HEADER_SIZE : at;
+    }
+
+    private int checksum(int at) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(at, CHECKED_SIZE));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,65 @@
+-- Baseline schema for the prod profile; later changes go into new V<n>__*.sql files, never into this one
+CREATE TABLE task (
+    id BIGINT PRIMARY KEY,
+    tenant_id VARCHAR(64) DEFAULT 'default' NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    status VARCHAR(255),
+    priority VARCHAR(255),
+    due_date TIMESTAMP,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    version BIGINT DEFAULT 0 NOT NULL,
+    UNIQUE (tenant_id, title, status)
+);
+
+CREATE SEQUENCE task_seq START WITH 100 INCREMENT BY 50;
+
+CREATE INDEX idx_task_tenant_status_priority_due ON task (tenant_id, status, priority, due_date);
+CREATE INDEX idx_task_status_priority_due ON task (status, priority, due_date);
+CREATE INDEX idx_task_due_status ON task (due_date, status);
+CREATE INDEX idx_task_priority_due ON task (priority, due_date);
+CREATE INDEX idx_task_status_updated ON task (status, updated_at);
+
+CREATE TABLE task_archive (
+    id BIGINT PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    status VARCHAR(255) NOT NULL,
+    priority VARCHAR(255) NOT NULL,
+    due_date TIMESTAMP NOT NULL,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    version BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE task_change (
+    id BIGINT PRIMARY KEY,
+    change_offset BIGINT UNIQUE,
+    task_id BIGINT NOT NULL,
+    change_type VARCHAR(32) NOT NULL,
+    status VARCHAR(255),
+    payload VARCHAR(4000),
+    changed_at TIMESTAMP NOT NULL
+);
+
+CREATE SEQUENCE task_change_seq START WITH 1 INCREMENT BY 50;
+
+CREATE INDEX idx_task_change_offset ON task_change (change_offset);
+
+CREATE TABLE task_stats_rollup (
+    id BIGINT PRIMARY KEY,
+    bucket VARCHAR(16) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    priority VARCHAR(255) NOT NULL,
+    total_count BIGINT NOT NULL,
+    overdue_count BIGINT NOT NULL,
+    UNIQUE (bucket, bucket_start, status, priority)
+);
+
+CREATE SEQUENCE task_stats_rollup_seq START WITH 1 INCREMENT BY 50;
+
+CREATE INDEX idx_task_stats_rollup_bucket_start ON task_stats_rollup (bucket, bucket_start);
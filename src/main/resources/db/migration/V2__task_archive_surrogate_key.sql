@@ -0,0 +1,13 @@
+-- Archive rows get their own key; the task id becomes a plain column, so an id the store hands out
+-- again is archived next to the earlier copy instead of replacing it
+ALTER TABLE task_archive ALTER COLUMN id RENAME TO task_id;
+ALTER TABLE task_archive DROP PRIMARY KEY;
+
+CREATE SEQUENCE task_archive_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE task_archive ADD COLUMN id BIGINT BEFORE task_id;
+UPDATE task_archive SET id = NEXT VALUE FOR task_archive_seq;
+ALTER TABLE task_archive ALTER COLUMN id SET NOT NULL;
+ALTER TABLE task_archive ADD PRIMARY KEY (id);
+
+CREATE INDEX idx_task_archive_task ON task_archive (task_id, archived_at);
@@ -0,0 +1,5 @@
+-- Every task has a status, a priority and a due date; the entity and the shard schema already
+-- require them, and V1 stays as applied
+ALTER TABLE task ALTER COLUMN status SET NOT NULL;
+ALTER TABLE task ALTER COLUMN priority SET NOT NULL;
+ALTER TABLE task ALTER COLUMN due_date SET NOT NULL;
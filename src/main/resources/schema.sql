@@ -1,11 +0,0 @@
-CREATE TABLE task (
-    id BIGINT PRIMARY KEY,
-    title VARCHAR(100) NOT NULL,
-    description VARCHAR(500),
-    status VARCHAR(255),
-    priority VARCHAR(255),
-    due_date TIMESTAMP,
-    created_at TIMESTAMP,
-    updated_at TIMESTAMP,
-    UNIQUE (title, status)
-);
\ No newline at end of file
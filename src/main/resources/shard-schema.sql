@@ -0,0 +1,23 @@
+-- Task table of every shard used by taskmanager.store.type=sharded; applied to each shard at startup
+CREATE TABLE IF NOT EXISTS task (
+    id BIGINT PRIMARY KEY,
+    tenant_id VARCHAR(64) NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    status VARCHAR(255) NOT NULL,
+    priority VARCHAR(255) NOT NULL,
+    due_date TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
+    UNIQUE (tenant_id, title, status)
+);
+
+-- Task ids are task_seq * 64 + shard index
+CREATE SEQUENCE IF NOT EXISTS task_seq START WITH 1 INCREMENT BY 1;
+
+CREATE INDEX IF NOT EXISTS idx_task_tenant_status_priority_due ON task (tenant_id, status, priority, due_date);
+CREATE INDEX IF NOT EXISTS idx_task_status_priority_due ON task (status, priority, due_date);
+CREATE INDEX IF NOT EXISTS idx_task_due_status ON task (due_date, status);
+CREATE INDEX IF NOT EXISTS idx_task_priority_due ON task (priority, due_date);
+CREATE INDEX IF NOT EXISTS idx_task_status_updated ON task (status, updated_at);
@@ -0,0 +1,78 @@
+package com.example.taskmanager.taskmanager;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.service.TaskService;
+import com.example.taskmanager.taskmanager.service.impl.TaskArchiver;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the prod profile on a fresh in-memory database, so the schema comes from the Flyway
+ * migrations alone and Hibernate neither creates nor updates it. Each test rolls back.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:prod-migrations;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("prod")
+@Transactional
+class ProdProfileMigrationTests {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskArchiver taskArchiver;
+
+    @Test
+    void versionedMigrationsAreAppliedWithoutTheSampleData() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().applied()).isNotEmpty().allSatisfy(migration -> assertThat(migration.getVersion()).isNotNull());
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task", Long.class)).isZero();
+    }
+
+    @Test
+    void taskStatusPriorityAndDueDateAreRequired() {
+        List<String> nullable = jdbcTemplate.queryForList(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'TASK' AND IS_NULLABLE = 'YES'", String.class);
+
+        assertThat(nullable).doesNotContain("STATUS", "PRIORITY", "DUE_DATE");
+    }
+
+    @Test
+    void tasksAreWrittenReadAndArchivedOnTheMigratedSchema() {
+        RequestTaskModel request = new RequestTaskModel();
+        request.setTitle("migrated");
+        request.setStatus(Status.COMPLETED);
+        request.setPriority(Priority.HIGH);
+        request.setDueDate(LocalDateTime.of(2999, 1, 1, 0, 0));
+        TaskModel task = taskStore.insert("default", request);
+
+        assertThat(taskArchiver.archive(LocalDateTime.now().plusSeconds(1))).isEqualTo(1);
+
+        assertThat(taskStore.existsById(task.getId())).isFalse();
+        TaskModel archived = taskService.getTaskById(task.getId());
+        assertThat(archived.getTitle()).isEqualTo("migrated");
+        assertThat(archived.getVersion()).isEqualTo(task.getVersion());
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.taskmanager.taskmanager.controller;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The bulk endpoints with chunks of two entries, so a constraint violation replays its chunk one
+ * entry at a time. Each test writes into a tenant of its own and removes it afterwards.
+ */
+@SpringBootTest(properties = "taskmanager.bulk.chunk-size=2")
+@AutoConfigureMockMvc
+class TaskControllerBulkTests {
+
+    private static final String DUE_DATE = "2999-01-01T00:00:00";
+    private static final long MISSING_ID = Long.MAX_VALUE;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    private final String tenant = "bulk-" + UUID.randomUUID();
+
+    @AfterEach
+    void deleteTasks() {
+        taskStore.deleteAllById(taskStore.findAll(new TaskFilter(tenant, null, null, null), Pageable.unpaged()).map(TaskModel::getId).toList());
+    }
+
+    private TaskModel insert(String title, Status status) {
+        RequestTaskModel request = new RequestTaskModel();
+        request.setTitle(title);
+        request.setStatus(status);
+        request.setPriority(Priority.LOW);
+        request.setDueDate(LocalDateTime.parse(DUE_DATE));
+        return taskStore.insert(tenant, request);
+    }
+
+    private static String task(String title) {
+        return """
+                {"title": "%s", "status": "PENDING", "priority": "LOW", "dueDate": "%s"}""".formatted(title, DUE_DATE);
+    }
+
+    @Test
+    void createReplaysAChunkWithADuplicateOneEntryAtATime() throws Exception {
+        insert("taken", Status.PENDING);
+
+        mockMvc.perform(post("/api/tasks/bulk").header(TaskController.TENANT_HEADER, tenant)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + task("first") + ", " + task("taken") + ", " + task("third") + ", " + task("first") + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.results[0].success").value(true))
+                .andExpect(jsonPath("$.results[1].index").value(1))
+                .andExpect(jsonPath("$.results[1].message").value("Task with the same title and status already exists."))
+                .andExpect(jsonPath("$.results[2].success").value(true))
+                .andExpect(jsonPath("$.results[3].message").value("Task with the same title and status already exists."));
+
+        assertThat(taskStore.findAll(new TaskFilter(tenant, null, null, null), Pageable.unpaged()).map(TaskModel::getTitle))
+                .containsExactlyInAnyOrder("taken", "first", "third");
+    }
+
+    @Test
+    void statusUpdatesApplyTheLastChangeOfARepeatedId() throws Exception {
+        TaskModel task = insert("status", Status.PENDING);
+        TaskModel other = insert("other", Status.PENDING);
+
+        mockMvc.perform(patch("/api/tasks/bulk/status").contentType(MediaType.APPLICATION_JSON).content("""
+                        [{"id": %d, "status": "IN_PROGRESS"}, {"id": %d, "status": "COMPLETED"},
+                         {"id": %d, "status": "IN_PROGRESS"}, {"id": %d, "status": "COMPLETED"}]
+                        """.formatted(task.getId(), MISSING_ID, other.getId(), task.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(3))
+                .andExpect(jsonPath("$.results[1].message").value("Task with id " + MISSING_ID + " not found"));
+
+        assertThat(taskStore.findById(task.getId()).orElseThrow().getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(taskStore.findById(other.getId()).orElseThrow().getStatus()).isEqualTo(Status.IN_PROGRESS);
+    }
+
+    @Test
+    void statusUpdateThatBreaksTheUniquenessRuleFailsAloneAfterTheReplay() throws Exception {
+        TaskModel pending = insert("clash", Status.PENDING);
+        insert("clash", Status.COMPLETED);
+        TaskModel free = insert("free", Status.PENDING);
+
+        mockMvc.perform(patch("/api/tasks/bulk/status").contentType(MediaType.APPLICATION_JSON).content("""
+                        [{"id": %d, "status": "IN_PROGRESS"}, {"id": %d, "status": "COMPLETED"}]
+                        """.formatted(free.getId(), pending.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].success").value(true))
+                .andExpect(jsonPath("$.results[1].message").value("Task with the same title and status already exists."));
+
+        assertThat(taskStore.findById(free.getId()).orElseThrow().getStatus()).isEqualTo(Status.IN_PROGRESS);
+        assertThat(taskStore.findById(pending.getId()).orElseThrow().getStatus()).isEqualTo(Status.PENDING);
+    }
+
+    @Test
+    void deleteKeepsTasksInProgressAndReportsRepeatedIdsAsNotFound() throws Exception {
+        TaskModel pending = insert("delete", Status.PENDING);
+        TaskModel inProgress = insert("busy", Status.IN_PROGRESS);
+
+        mockMvc.perform(delete("/api/tasks/bulk").contentType(MediaType.APPLICATION_JSON)
+                        .content("[%d, %d, %d, %d]".formatted(pending.getId(), inProgress.getId(), pending.getId(), MISSING_ID)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.results[0].message").value("Task Deleted Successfully"))
+                .andExpect(jsonPath("$.results[1].message").value("Cannot delete task with status IN_PROGRESS"))
+                .andExpect(jsonPath("$.results[2].message").value("Task with id " + pending.getId() + " not found"))
+                .andExpect(jsonPath("$.results[3].message").value("Task with id " + MISSING_ID + " not found"));
+
+        assertThat(taskStore.existsById(pending.getId())).isFalse();
+        assertThat(taskStore.existsById(inProgress.getId())).isTrue();
+    }
+}
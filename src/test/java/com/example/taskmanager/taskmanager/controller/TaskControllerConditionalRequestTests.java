@@ -0,0 +1,142 @@
+package com.example.taskmanager.taskmanager.controller;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag, If-None-Match and If-Match handling of the single-task endpoints. Writes commit, as the
+ * cache is only evicted after a commit, so each test removes its task afterwards.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskControllerConditionalRequestTests {
+
+    private static final String DUE_DATE = "2999-01-01T00:00:00";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    private TaskModel task;
+
+    @BeforeEach
+    void insertTask() {
+        RequestTaskModel request = new RequestTaskModel();
+        request.setTitle("conditional-" + UUID.randomUUID());
+        request.setStatus(Status.PENDING);
+        request.setPriority(Priority.LOW);
+        request.setDueDate(LocalDateTime.parse(DUE_DATE));
+        task = taskStore.insert("default", request);
+    }
+
+    @AfterEach
+    void deleteTask() {
+        taskStore.deleteAllById(List.of(task.getId()));
+    }
+
+    private String body(String title) {
+        return """
+                {"title": "%s", "description": "Changed", "status": "PENDING", "priority": "HIGH", "dueDate": "%s"}
+                """.formatted(title, DUE_DATE);
+    }
+
+    @Test
+    void getAnswersWithTheVersionAsETagAndMatchingIfNoneMatchWith304() throws Exception {
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void updateWithAStaleIfMatchIsRejectedWith412() throws Exception {
+        taskStore.updateStatus(task.getId(), Status.IN_PROGRESS, null);
+
+        mockMvc.perform(put("/api/tasks/{id}", task.getId()).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body(task.getTitle())))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+
+        TaskModel current = taskStore.findById(task.getId()).orElseThrow();
+        assertThat(current.getVersion()).isEqualTo(1);
+        assertThat(current.getStatus()).isEqualTo(Status.IN_PROGRESS);
+    }
+
+    @Test
+    void updateWithTheCurrentIfMatchSucceedsAndMovesTheETag() throws Exception {
+        mockMvc.perform(put("/api/tasks/{id}", task.getId()).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body(task.getTitle())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.task.priority").value("HIGH"));
+    }
+
+    @Test
+    void cachedReadIsReplacedOnceAnUpdateCommits() throws Exception {
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        mockMvc.perform(put("/api/tasks/{id}", task.getId()).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body(task.getTitle())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        mockMvc.perform(put("/api/tasks/{id}", task.getId()).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body(task.getTitle())))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void statusPatchWithAStaleIfMatchIsRejectedWith412() throws Exception {
+        mockMvc.perform(patch("/api/tasks/{id}/status", task.getId()).param("status", "COMPLETED").header(HttpHeaders.IF_MATCH, "W/\"7\""))
+                .andExpect(status().isPreconditionFailed());
+
+        assertThat(taskStore.findById(task.getId()).orElseThrow().getStatus()).isEqualTo(Status.PENDING);
+    }
+
+    @Test
+    void wildcardIfMatchSkipsTheVersionCheck() throws Exception {
+        mockMvc.perform(patch("/api/tasks/{id}/status", task.getId()).param("status", "COMPLETED").header(HttpHeaders.IF_MATCH, "*"))
+                .andExpect(status().isOk());
+
+        assertThat(taskStore.findById(task.getId()).orElseThrow().getStatus()).isEqualTo(Status.COMPLETED);
+    }
+
+    @Test
+    void malformedIfMatchIsABadRequest() throws Exception {
+        mockMvc.perform(patch("/api/tasks/{id}/status", task.getId()).param("status", "COMPLETED").header(HttpHeaders.IF_MATCH, "\"abc\""))
+                .andExpect(status().isBadRequest());
+    }
+}
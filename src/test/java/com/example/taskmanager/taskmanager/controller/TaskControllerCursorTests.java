@@ -0,0 +1,124 @@
+package com.example.taskmanager.taskmanager.controller;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Keyset pagination through {@code GET /api/tasks?cursor=}, next to the offset mode it must leave
+ * unchanged. The tasks live in a tenant of their own and are removed afterwards.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskControllerCursorTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    private final String tenant = "cursor-" + UUID.randomUUID();
+    private final List<TaskModel> tasks = new ArrayList<>();
+
+    @BeforeEach
+    void insertTasks() {
+        for (int day = 1; day <= 3; day++) {
+            RequestTaskModel request = new RequestTaskModel();
+            request.setTitle("cursor-" + day);
+            request.setStatus(Status.PENDING);
+            request.setPriority(Priority.LOW);
+            request.setDueDate(LocalDateTime.of(2999, 1, day, 0, 0));
+            tasks.add(taskStore.insert(tenant, request));
+        }
+    }
+
+    @AfterEach
+    void deleteTasks() {
+        taskStore.deleteAllById(tasks.stream().map(TaskModel::getId).toList());
+    }
+
+    @Test
+    void slicesFollowTheDueDateAndEndWithoutACursor() throws Exception {
+        String body = mockMvc.perform(get("/api/tasks").param("cursor", "").param("size", "2").header(TaskController.TENANT_HEADER, tenant))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(2))
+                .andExpect(jsonPath("$.tasks[0].id").value(tasks.get(0).getId()))
+                .andExpect(jsonPath("$.tasks[1].id").value(tasks.get(1).getId()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(body, "$.nextCursor");
+
+        mockMvc.perform(get("/api/tasks").param("cursor", nextCursor).param("size", "2").header(TaskController.TENANT_HEADER, tenant))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(1))
+                .andExpect(jsonPath("$.tasks[0].id").value(tasks.get(2).getId()))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    void sliceThatFillsUpTheRestIsTheLast() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("cursor", "").param("size", "3").header(TaskController.TENANT_HEADER, tenant))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(3))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    void invalidOrTruncatedCursorIsABadRequest() throws Exception {
+        String body = mockMvc.perform(get("/api/tasks").param("cursor", "").param("size", "1").header(TaskController.TENANT_HEADER, tenant))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(body, "$.nextCursor");
+
+        mockMvc.perform(get("/api/tasks").param("cursor", "not a cursor!"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks").param("cursor", nextCursor.substring(0, 8)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks").param("cursor", nextCursor.substring(0, 9)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void offsetPagesKeepTheirShape() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("page", "1").param("size", "2").header(TaskController.TENANT_HEADER, tenant))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(1))
+                .andExpect(jsonPath("$.currentPage").value(1))
+                .andExpect(jsonPath("$.totalItems").value(3))
+                .andExpect(jsonPath("$.totalPages").value(2))
+                .andExpect(jsonPath("$.hasNext").doesNotHaveJsonPath())
+                .andExpect(jsonPath("$.nextCursor").doesNotHaveJsonPath());
+    }
+
+    @Test
+    void deepOffsetPagesAreAcceptedWithoutAConfiguredLimit() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("page", "1000").param("size", "100").header(TaskController.TENANT_HEADER, tenant))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks.length()").value(0))
+                .andExpect(jsonPath("$.currentPage").value(1000))
+                .andExpect(jsonPath("$.totalItems").value(3));
+    }
+}
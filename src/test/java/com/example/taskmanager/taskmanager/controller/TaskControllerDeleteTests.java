@@ -0,0 +1,103 @@
+package com.example.taskmanager.taskmanager.controller;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code DELETE /api/tasks/{id}} decides from the row count of the conditional delete: one row is
+ * a delete, and no row is a protected task when it still exists and a missing one otherwise.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskControllerDeleteTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoSpyBean
+    private TaskStore taskStore;
+
+    private TaskModel task;
+
+    @AfterEach
+    void cleanUp() {
+        doCallRealMethod().when(taskStore).deleteUnlessStatus(any(), any());
+        if (task != null) {
+            taskStore.deleteAllById(List.of(task.getId()));
+        }
+    }
+
+    private TaskModel insert(Status status) {
+        RequestTaskModel request = new RequestTaskModel();
+        request.setTitle("delete-" + UUID.randomUUID());
+        request.setStatus(status);
+        request.setPriority(Priority.LOW);
+        request.setDueDate(LocalDateTime.of(2999, 1, 1, 0, 0));
+        return taskStore.insert("default", request);
+    }
+
+    @Test
+    void deletedRowAnswersOk() throws Exception {
+        task = insert(Status.PENDING);
+
+        mockMvc.perform(delete("/api/tasks/{id}", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Task Deleted Successfully"));
+
+        verify(taskStore).deleteUnlessStatus(task.getId(), Status.IN_PROGRESS);
+        assertThat(taskStore.existsById(task.getId())).isFalse();
+    }
+
+    @Test
+    void taskInProgressIsKeptAndAnswered400() throws Exception {
+        task = insert(Status.IN_PROGRESS);
+
+        mockMvc.perform(delete("/api/tasks/{id}", task.getId()))
+                .andExpect(status().isBadRequest());
+
+        assertThat(taskStore.existsById(task.getId())).isTrue();
+    }
+
+    @Test
+    void noRowForAnExistingTaskIsAnswered400EvenIfItWasReadAsDeletable() throws Exception {
+        // Stands in for a task that moved to IN_PROGRESS between the read and the delete
+        task = insert(Status.PENDING);
+        doReturn(0).when(taskStore).deleteUnlessStatus(task.getId(), Status.IN_PROGRESS);
+
+        mockMvc.perform(delete("/api/tasks/{id}", task.getId()))
+                .andExpect(status().isBadRequest());
+
+        assertThat(taskStore.existsById(task.getId())).isTrue();
+    }
+
+    @Test
+    void noRowForAMissingTaskIsAnswered404() throws Exception {
+        mockMvc.perform(delete("/api/tasks/{id}", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+
+        verify(taskStore).deleteUnlessStatus(Long.MAX_VALUE, Status.IN_PROGRESS);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.taskmanager.taskmanager.controller;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tenant checks of the endpoints that take an id, and the offset limit of the list and search
+ * endpoints once one is set. Each test removes its task afterwards.
+ */
+@SpringBootTest(properties = "taskmanager.api.max-offset=10000")
+@AutoConfigureMockMvc
+class TaskControllerTenantTests {
+
+    private static final String DUE_DATE = "2999-01-01T00:00:00";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    private TaskModel task;
+
+    @BeforeEach
+    void insertTask() {
+        RequestTaskModel request = new RequestTaskModel();
+        request.setTitle("tenant-" + UUID.randomUUID());
+        request.setStatus(Status.PENDING);
+        request.setPriority(Priority.LOW);
+        request.setDueDate(LocalDateTime.parse(DUE_DATE));
+        task = taskStore.insert("acme", request);
+    }
+
+    @AfterEach
+    void deleteTask() {
+        taskStore.deleteAllById(List.of(task.getId()));
+    }
+
+    @Test
+    void getAnswersATaskOfAnotherTenantWith404() throws Exception {
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()).header(TaskController.TENANT_HEADER, "other"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()).header(TaskController.TENANT_HEADER, "acme"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.task.title").value(task.getTitle()));
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void writesToATaskOfAnotherTenantAre404AndLeaveItUnchanged() throws Exception {
+        String body = """
+                {"title": "%s", "description": "Changed", "status": "PENDING", "priority": "HIGH", "dueDate": "%s"}
+                """.formatted(task.getTitle(), DUE_DATE);
+
+        mockMvc.perform(put("/api/tasks/{id}", task.getId()).header(TaskController.TENANT_HEADER, "other")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(patch("/api/tasks/{id}/status", task.getId()).param("status", "COMPLETED").header(TaskController.TENANT_HEADER, "other"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/tasks/{id}", task.getId()).header(TaskController.TENANT_HEADER, "other"))
+                .andExpect(status().isNotFound());
+
+        TaskModel current = taskStore.findById(task.getId()).orElseThrow();
+        assertThat(current.getVersion()).isZero();
+        assertThat(current.getPriority()).isEqualTo(Priority.LOW);
+    }
+
+    @Test
+    void bulkWritesReportTasksOfAnotherTenantAsNotFound() throws Exception {
+        mockMvc.perform(patch("/api/tasks/bulk/status").header(TaskController.TENANT_HEADER, "other")
+                        .contentType(MediaType.APPLICATION_JSON).content("[{\"id\": %d, \"status\": \"COMPLETED\"}]".formatted(task.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].message").value("Task with id " + task.getId() + " not found"));
+        mockMvc.perform(delete("/api/tasks/bulk").header(TaskController.TENANT_HEADER, "other")
+                        .contentType(MediaType.APPLICATION_JSON).content("[" + task.getId() + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.failed").value(1));
+
+        assertThat(taskStore.findById(task.getId()).orElseThrow().getStatus()).isEqualTo(Status.PENDING);
+    }
+
+    @Test
+    void pagesBeyondAConfiguredOffsetLimitAreRejected() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("page", "100").param("size", "100"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks").param("page", "101").param("size", "100"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks/search").param("q", "tenant").param("page", "10001").param("size", "1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks").param("page", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.taskmanager.taskmanager.interceptor;
+
+import com.example.taskmanager.taskmanager.exception.CustomExceptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Drives the interceptor through the servlet async lifecycle with a single permit, so whether the
+ * permit is still held shows in whether a second request can get one.
+ */
+class DbConcurrencyInterceptorTests {
+
+    private final DbConcurrencyInterceptor interceptor = new DbConcurrencyInterceptor(1, Duration.ofMillis(20), new SimpleMeterRegistry());
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    static class Handlers {
+
+        ResponseEntity<StreamingResponseBody> export() {
+            return null;
+        }
+
+        DeferredResult<String> changes() {
+            return null;
+        }
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), name);
+    }
+
+    private MockHttpServletRequest startAsync(HandlerMethod handler) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/export");
+        request.setAsyncSupported(true);
+        interceptor.preHandle(request, response, handler);
+        request.startAsync();
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+        return request;
+    }
+
+    private void assertPermitHeld() {
+        MockHttpServletRequest other = new MockHttpServletRequest("GET", "/api/tasks");
+        assertThatThrownBy(() -> interceptor.preHandle(other, response, null)).isInstanceOf(CustomExceptions.ServiceBusyException.class);
+    }
+
+    private void assertPermitFree() throws Exception {
+        MockHttpServletRequest other = new MockHttpServletRequest("GET", "/api/tasks");
+        interceptor.preHandle(other, response, null);
+        interceptor.afterCompletion(other, response, null, null);
+    }
+
+    @Test
+    void streamedResponseKeepsItsPermitUntilTheAsyncRequestCompletes() throws Exception {
+        HandlerMethod export = handler("export");
+        MockHttpServletRequest request = startAsync(export);
+        assertPermitHeld();
+
+        // The dispatch after the body is written must neither wait for a second permit nor free the first early
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, export);
+        assertPermitHeld();
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertPermitFree();
+
+        // Both the listener and the dispatch's completion callback run; only one release counts
+        interceptor.afterCompletion(request, response, export, null);
+        interceptor.preHandle(new MockHttpServletRequest(), response, null);
+        assertPermitHeld();
+    }
+
+    @Test
+    void streamedResponseReleasesItsPermitWhenTheAsyncRequestFails() throws Exception {
+        MockHttpServletRequest request = startAsync(handler("export"));
+        assertPermitHeld();
+
+        MockAsyncContext asyncContext = (MockAsyncContext) request.getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onError(new AsyncEvent(asyncContext, new IOException("Client went away")));
+        }
+        assertPermitFree();
+    }
+
+    @Test
+    void longPollGivesItsPermitBackWhileItWaits() throws Exception {
+        startAsync(handler("changes"));
+
+        assertPermitFree();
+    }
+}
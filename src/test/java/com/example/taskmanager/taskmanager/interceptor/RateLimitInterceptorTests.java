@@ -0,0 +1,136 @@
+package com.example.taskmanager.taskmanager.interceptor;
+
+import com.example.taskmanager.taskmanager.exception.CustomExceptions;
+import com.example.taskmanager.taskmanager.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class RateLimitInterceptorTests {
+
+    private static final String PROXY = "10.0.0.1";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @RestController
+    static class PingController {
+
+        @GetMapping("/api/ping")
+        String ping() {
+            return "pong";
+        }
+    }
+
+    private RateLimitInterceptor interceptor(double permitsPerSecond, int burst) {
+        return new RateLimitInterceptor(permitsPerSecond, burst, "X-Client-Id", List.of(PROXY), 1000, meterRegistry);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setRemoteAddr(remoteAddress);
+        if (clientId != null) {
+            request.addHeader("X-Client-Id", clientId);
+        }
+        return request;
+    }
+
+    private static long retryAfter(RateLimitInterceptor interceptor, MockHttpServletRequest request) {
+        try {
+            interceptor.preHandle(request, new MockHttpServletResponse(), null);
+        } catch (CustomExceptions.RateLimitExceededException ex) {
+            return ex.getRetryAfterSeconds();
+        }
+        throw new AssertionError("Request was admitted");
+    }
+
+    @Test
+    void retryAfterRoundsTheWaitUpToWholeSeconds() {
+        RateLimitInterceptor perSecond = interceptor(1, 1);
+        assertThat(perSecond.preHandle(request("192.0.2.1", null), response, null)).isTrue();
+        assertThat(retryAfter(perSecond, request("192.0.2.1", null))).isEqualTo(1);
+
+        RateLimitInterceptor slow = interceptor(0.4, 1);
+        slow.preHandle(request("192.0.2.1", null), response, null);
+        assertThat(retryAfter(slow, request("192.0.2.1", null))).isEqualTo(3);
+
+        assertThat(meterRegistry.get("taskmanager.api.rejected").tag("reason", "rate_limit").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void clientHeaderFromAnUntrustedAddressDoesNotBuyANewBucket() {
+        RateLimitInterceptor interceptor = interceptor(0.01, 1);
+        interceptor.preHandle(request("192.0.2.1", "first"), response, null);
+
+        assertThatThrownBy(() -> interceptor.preHandle(request("192.0.2.1", "second"), response, null))
+                .isInstanceOf(CustomExceptions.RateLimitExceededException.class);
+    }
+
+    @Test
+    void clientHeaderFromATrustedProxyNamesTheClient() {
+        RateLimitInterceptor interceptor = interceptor(0.01, 1);
+
+        assertThat(interceptor.preHandle(request(PROXY, "first"), response, null)).isTrue();
+        assertThat(interceptor.preHandle(request(PROXY, "second"), response, null)).isTrue();
+        assertThatThrownBy(() -> interceptor.preHandle(request(PROXY, "first"), response, null))
+                .isInstanceOf(CustomExceptions.RateLimitExceededException.class);
+        // Without the header, the proxy's own address is one client
+        assertThat(interceptor.preHandle(request(PROXY, null), response, null)).isTrue();
+    }
+
+    @Test
+    void authenticatedPrincipalsGetTheirOwnBucketsBehindOneAddress() {
+        RateLimitInterceptor interceptor = interceptor(0.01, 1);
+        MockHttpServletRequest alice = request("192.0.2.1", null);
+        alice.setUserPrincipal(() -> "alice");
+        MockHttpServletRequest bob = request("192.0.2.1", null);
+        bob.setUserPrincipal(() -> "bob");
+
+        assertThat(interceptor.preHandle(alice, response, null)).isTrue();
+        assertThat(interceptor.preHandle(bob, response, null)).isTrue();
+    }
+
+    @Test
+    void asyncDispatchIsNotChargedAgain() {
+        RateLimitInterceptor interceptor = interceptor(0.01, 1);
+        MockHttpServletRequest request = request("192.0.2.1", null);
+        interceptor.preHandle(request, response, null);
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+    }
+
+    @Test
+    void rejectedRequestsAreAnswered429WithRetryAfter() throws Exception {
+        GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
+        ReflectionTestUtils.setField(exceptionHandler, "meterRegistry", meterRegistry);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new PingController())
+                .addMappedInterceptors(new String[]{"/api/**"}, interceptor(0.01, 1))
+                .setControllerAdvice(exceptionHandler)
+                .build();
+
+        mockMvc.perform(get("/api/ping")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/ping"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "100"))
+                .andExpect(jsonPath("$.status").value(429));
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.taskmanager.taskmanager.repository;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks through H2 {@code EXPLAIN} that the statements Hibernate generates for every filter
+ * combination, and for the archiver's candidate query, are answered from an index rather than a
+ * table scan. The data source is wrapped so each query this thread issues is recorded with its
+ * bound parameters, then explained exactly as it ran.
+ */
+@SpringBootTest
+class TaskRepoIndexTests {
+
+    private record Binding(Method setter, Object[] args) {
+    }
+
+    private record Statement(long thread, String sql, List<Binding> bindings) {
+    }
+
+    private static final Queue<Statement> executed = new ConcurrentLinkedQueue<>();
+
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && beanName.equals("dataSource") ? recording(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void clear() {
+        executed.clear();
+    }
+
+    static Stream<Arguments> filterCombinations() {
+        List<Arguments> combinations = new ArrayList<>();
+        for (String tenant : new String[]{null, "default"}) {
+            for (Status status : new Status[]{null, Status.PENDING}) {
+                for (Priority priority : new Priority[]{null, Priority.HIGH}) {
+                    for (Boolean overdue : new Boolean[]{null, true, false}) {
+                        if (status != null || priority != null || overdue != null) {
+                            combinations.add(Arguments.of(new TaskFilter(tenant, status, priority, overdue)));
+                        }
+                    }
+                }
+            }
+        }
+        return combinations.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("filterCombinations")
+    void filterQueriesUseIndex(TaskFilter filter) throws SQLException {
+        // A later page forces the count query as well as the page query
+        taskStore.findAll(filter, PageRequest.of(1, 20));
+        taskStore.findAfter(filter, null, 20);
+
+        assertEveryTaskQueryUses("IDX_TASK_");
+    }
+
+    @Test
+    void archiveQueryUsesStatusAndUpdatedAtIndex() throws SQLException {
+        taskStore.findCompletedBefore(LocalDateTime.now(), 500);
+
+        assertEveryTaskQueryUses("IDX_TASK_STATUS_UPDATED");
+    }
+
+    private void assertEveryTaskQueryUses(String index) throws SQLException {
+        List<Statement> queries = executed.stream()
+                .filter(statement -> statement.thread() == Thread.currentThread().threadId())
+                .filter(statement -> statement.sql().toLowerCase().contains(" from task "))
+                .toList();
+        assertThat(queries).isNotEmpty();
+        for (Statement query : queries) {
+            assertThat(explain(query)).as(query.sql()).doesNotContainIgnoringCase("tableScan").containsIgnoringCase(index);
+        }
+    }
+
+    private String explain(Statement query) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + query.sql())) {
+            for (Binding binding : query.bindings()) {
+                invoke(binding.setter(), explain, binding.args());
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        }
+    }
+
+    private static DataSource recording(DataSource target) {
+        return proxy(DataSource.class, (proxy, method, args) -> {
+            Object result = invoke(method, target, args);
+            return result instanceof Connection connection ? recording(connection) : result;
+        });
+    }
+
+    private static Connection recording(Connection target) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(method, target, args);
+            if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                return recording(statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement recording(PreparedStatement target, String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                bindings.add(new Binding(method, args.clone()));
+            } else if (method.getName().equals("clearParameters")) {
+                bindings.clear();
+            } else if (method.getName().equals("executeQuery") && (args == null || args.length == 0)) {
+                executed.add(new Statement(Thread.currentThread().threadId(), sql, List.copyOf(bindings)));
+            }
+            return invoke(method, target, args);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(TaskRepoIndexTests.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            if (ex.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.entity.TaskArchiveEntity;
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.repository.TaskArchiveRepo;
+import com.example.taskmanager.taskmanager.service.TaskService;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Archives through the default store. Each test rolls back, so the completed seed tasks swept up
+ * by a cutoff in the future are restored afterwards.
+ */
+@SpringBootTest
+@Transactional
+class TaskArchiverTests {
+
+    @Autowired
+    private TaskArchiver taskArchiver;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private TaskArchiveRepo taskArchiveRepo;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TaskModel insert(Status status) {
+        RequestTaskModel request = new RequestTaskModel();
+        request.setTitle("archiver-" + UUID.randomUUID());
+        request.setStatus(status);
+        request.setPriority(Priority.MEDIUM);
+        request.setDueDate(LocalDateTime.of(2999, 1, 1, 0, 0));
+        return taskStore.insert("default", request);
+    }
+
+    @Test
+    void completedTasksMoveToTheArchiveAndStayReadableById() {
+        TaskModel completed = insert(Status.COMPLETED);
+        TaskModel open = insert(Status.PENDING);
+
+        assertThat(taskArchiver.archive(LocalDateTime.now().plusSeconds(1))).isPositive();
+
+        assertThat(taskStore.existsById(completed.getId())).isFalse();
+        assertThat(taskStore.existsById(open.getId())).isTrue();
+        assertThat(taskArchiveRepo.existsByTaskId(open.getId())).isFalse();
+        TaskModel archived = taskService.getTaskById(completed.getId());
+        assertThat(archived.getTitle()).isEqualTo(completed.getTitle());
+        assertThat(archived.getVersion()).isEqualTo(completed.getVersion());
+    }
+
+    @Test
+    void recentlyCompletedTasksStayLive() {
+        TaskModel completed = insert(Status.COMPLETED);
+
+        taskArchiver.archive(completed.getUpdatedAt().minusSeconds(1));
+
+        assertThat(taskStore.existsById(completed.getId())).isTrue();
+        assertThat(taskArchiveRepo.existsByTaskId(completed.getId())).isFalse();
+    }
+
+    @Test
+    void archivingAReusedIdKeepsTheEarlierCopy() {
+        TaskModel first = insert(Status.COMPLETED);
+        taskArchiver.archive(LocalDateTime.now().plusSeconds(1));
+
+        // The memory store hands out ids again after a restart; write the same id back as a new task
+        LocalDateTime updatedAt = LocalDateTime.now().minusMinutes(1);
+        jdbcTemplate.update("INSERT INTO task (id, tenant_id, title, status, priority, due_date, created_at, updated_at, version) VALUES (?, 'default', ?, 'COMPLETED', 'LOW', ?, ?, ?, 0)",
+                first.getId(), "reused-" + UUID.randomUUID(), LocalDateTime.of(2999, 1, 1, 0, 0), updatedAt, updatedAt);
+        taskArchiver.archive(LocalDateTime.now().plusSeconds(1));
+
+        List<String> titles = taskArchiveRepo.findAll().stream()
+                .filter(copy -> copy.getTaskId().equals(first.getId()))
+                .map(TaskArchiveEntity::getTitle)
+                .toList();
+        assertThat(titles).hasSize(2).contains(first.getTitle());
+        assertThat(taskArchiveRepo.findFirstByTaskIdOrderByArchivedAtDescIdDesc(first.getId()).orElseThrow().getTitle()).startsWith("reused-");
+    }
+}
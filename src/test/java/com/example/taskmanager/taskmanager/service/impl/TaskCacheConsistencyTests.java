@@ -0,0 +1,111 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.service.TaskService;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+
+/**
+ * A cache miss that read a task before a write committed must not leave that old version cached
+ * once the write's eviction has run.
+ */
+@SpringBootTest
+class TaskCacheConsistencyTests {
+
+    // Counted down after a task change commits, before the cache invalidator runs
+    private static volatile CountDownLatch committed = new CountDownLatch(0);
+
+    @TestConfiguration
+    static class CommitSignalConfig {
+
+        @Bean
+        CommitSignal commitSignal() {
+            return new CommitSignal();
+        }
+    }
+
+    static class CommitSignal {
+
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        @TransactionalEventListener
+        public void onTaskChanged(TaskChangedEvent event) {
+            committed.countDown();
+        }
+    }
+
+    @MockitoSpyBean
+    private TaskStore taskStore;
+
+    @Autowired
+    private TaskService taskService;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private TaskModel task;
+
+    @AfterEach
+    void cleanUp() {
+        executor.shutdownNow();
+        doCallRealMethod().when(taskStore).findById(any());
+        if (task != null) {
+            taskStore.deleteAllById(List.of(task.getId()));
+        }
+    }
+
+    @Test
+    void readRacingACommitDoesNotLeaveTheOldVersionCached() throws Exception {
+        RequestTaskModel request = new RequestTaskModel();
+        request.setTitle("cache-race-" + UUID.randomUUID());
+        request.setStatus(Status.PENDING);
+        request.setPriority(Priority.LOW);
+        request.setDueDate(LocalDateTime.of(2999, 1, 1, 0, 0));
+        task = taskStore.insert("default", request);
+
+        CountDownLatch loaded = new CountDownLatch(1);
+        committed = new CountDownLatch(1);
+        // The miss reads version 0, then stalls until the write below has committed
+        doAnswer(invocation -> {
+            Object result = invocation.callRealMethod();
+            loaded.countDown();
+            committed.await(5, TimeUnit.SECONDS);
+            return result;
+        }).when(taskStore).findById(task.getId());
+
+        Future<TaskModel> racingRead = executor.submit(() -> taskService.getTaskById(task.getId()));
+        assertThat(loaded.await(5, TimeUnit.SECONDS)).isTrue();
+        doCallRealMethod().when(taskStore).findById(any());
+
+        taskService.patchStatus(task.getId(), Status.IN_PROGRESS, null);
+
+        assertThat(racingRead.get(5, TimeUnit.SECONDS).getVersion()).isZero();
+        TaskModel cached = taskService.getTaskById(task.getId());
+        assertThat(cached.getVersion()).isEqualTo(1);
+        assertThat(cached.getStatus()).isEqualTo(Status.IN_PROGRESS);
+    }
+}
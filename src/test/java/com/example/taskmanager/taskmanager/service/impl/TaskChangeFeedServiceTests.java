@@ -0,0 +1,174 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.BulkItemResult;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.TaskChange;
+import com.example.taskmanager.taskmanager.model.TaskChangeFeedResponse;
+import com.example.taskmanager.taskmanager.repository.TaskChangeRepo;
+import com.example.taskmanager.taskmanager.service.TaskChangeFeedService;
+import com.example.taskmanager.taskmanager.service.TaskService;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against the scheduled drainer. Each test first waits until every committed outbox row has
+ * been published, so the feed head it reads is not moved by leftovers from other tests.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskChangeFeedServiceTests {
+
+    @Autowired
+    private TaskChangeFeedService taskChangeFeedService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private TaskChangeRepo taskChangeRepo;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final List<Long> created = new ArrayList<>();
+    private long head;
+
+    @BeforeEach
+    void awaitQuietFeed() throws InterruptedException {
+        Object feed = AopTestUtils.getTargetObject(taskChangeFeedService);
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!taskChangeRepo.findByChangeOffsetIsNullOrderByIdAsc(PageRequest.of(0, 1)).isEmpty()
+                || (long) ReflectionTestUtils.getField(feed, "lastOffset") != taskChangeRepo.findMaxChangeOffset()) {
+            assertThat(System.nanoTime()).as("outbox drained").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+        head = (long) ReflectionTestUtils.getField(feed, "lastOffset");
+    }
+
+    @AfterEach
+    void deleteTasks() {
+        taskStore.deleteAllById(created);
+    }
+
+    private List<Long> createTasks(int count) {
+        List<RequestTaskModel> requests = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            RequestTaskModel request = new RequestTaskModel();
+            request.setTitle("feed-" + UUID.randomUUID());
+            request.setStatus(Status.PENDING);
+            request.setPriority(Priority.LOW);
+            request.setDueDate(LocalDateTime.of(2999, 1, 1, 0, 0));
+            requests.add(request);
+        }
+        List<Long> ids = taskService.addTasks("default", requests).stream().map(BulkItemResult::getId).toList();
+        created.addAll(ids);
+        return ids;
+    }
+
+    private static TaskChangeFeedResponse await(DeferredResult<TaskChangeFeedResponse> result) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!result.hasResult()) {
+            assertThat(System.nanoTime()).as("long poll answered").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+        return (TaskChangeFeedResponse) result.getResult();
+    }
+
+    @Test
+    void changesArePublishedWithConsecutiveOffsetsInCommitOrder() throws InterruptedException {
+        List<Long> first = createTasks(2);
+        List<Long> second = createTasks(2);
+
+        List<TaskChange> changes = new ArrayList<>();
+        long since = head;
+        while (changes.size() < 4) {
+            TaskChangeFeedResponse response = await(taskChangeFeedService.changesSince(since, 100, Duration.ofSeconds(5)));
+            changes.addAll(response.changes());
+            since = response.nextOffset();
+        }
+
+        assertThat(changes).extracting(TaskChange::offset).containsExactly(head + 1, head + 2, head + 3, head + 4);
+        List<Long> expected = new ArrayList<>(first);
+        expected.addAll(second);
+        assertThat(changes).extracting(TaskChange::taskId).isEqualTo(expected);
+    }
+
+    @Test
+    void parkedPollsWakeUpWithTheChangesAfterTheirOwnOffset() throws InterruptedException {
+        DeferredResult<TaskChangeFeedResponse> fromHead = taskChangeFeedService.changesSince(head, 10, Duration.ofSeconds(10));
+        DeferredResult<TaskChangeFeedResponse> onePastHead = taskChangeFeedService.changesSince(head + 1, 10, Duration.ofSeconds(10));
+        DeferredResult<TaskChangeFeedResponse> limited = taskChangeFeedService.changesSince(head, 1, Duration.ofSeconds(10));
+        assertThat(fromHead.hasResult()).isFalse();
+
+        List<Long> ids = createTasks(3);
+
+        TaskChangeFeedResponse all = await(fromHead);
+        assertThat(all.changes()).extracting(TaskChange::taskId).isEqualTo(ids.subList(0, all.changes().size()));
+        assertThat(all.changes().get(0).offset()).isEqualTo(head + 1);
+        assertThat(all.nextOffset()).isEqualTo(head + all.changes().size());
+
+        TaskChangeFeedResponse later = await(onePastHead);
+        assertThat(later.changes()).isNotEmpty().allSatisfy(change -> assertThat(change.offset()).isGreaterThan(head + 1));
+        assertThat(later.changes().get(0).taskId()).isEqualTo(ids.get(1));
+
+        TaskChangeFeedResponse one = await(limited);
+        assertThat(one.changes()).singleElement().satisfies(change -> assertThat(change.taskId()).isEqualTo(ids.get(0)));
+        assertThat(one.nextOffset()).isEqualTo(head + 1);
+    }
+
+    @Test
+    void pollWithNothingNewAnswersEmptyAfterItsWait() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks/changes").param("since", String.valueOf(head)).param("wait", "PT0.2S"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        assertThat(asyncContext.getTimeout()).isEqualTo(200);
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes").isEmpty())
+                .andExpect(jsonPath("$.nextOffset").value(head));
+    }
+
+    @Test
+    void negativeWaitIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks/changes").param("since", String.valueOf(head)).param("wait", "-PT1S"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.taskmanager.event.TaskOverdueEvent;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.store.impl.InMemoryTaskStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the scheduler's dispatcher over an in-memory store with due dates a fraction of a second
+ * away, publishing change events by hand so each test decides what the scheduler hears about.
+ */
+class TaskDueDateSchedulerTests {
+
+    private static final long SOON_MILLIS = 300;
+    private static final long QUIET_MILLIS = 800;
+
+    private final InMemoryTaskStore taskStore = new InMemoryTaskStore();
+    private final BlockingQueue<TaskOverdueEvent> fired = new LinkedBlockingQueue<>();
+    private final TaskDueDateScheduler scheduler = new TaskDueDateScheduler();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduler, "taskStore", taskStore);
+        ReflectionTestUtils.setField(scheduler, "eventPublisher", (ApplicationEventPublisher) event -> {
+            if (event instanceof TaskOverdueEvent overdue) {
+                fired.add(overdue);
+            }
+        });
+        ReflectionTestUtils.setField(scheduler, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "window", Duration.ofHours(1));
+        ReflectionTestUtils.setField(scheduler, "refreshInterval", Duration.ofMinutes(15));
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    private static RequestTaskModel request(String title, Status status, LocalDateTime dueDate) {
+        RequestTaskModel request = new RequestTaskModel();
+        request.setTitle(title);
+        request.setStatus(status);
+        request.setPriority(Priority.MEDIUM);
+        request.setDueDate(dueDate);
+        return request;
+    }
+
+    private TaskModel insert(String title, LocalDateTime dueDate) {
+        return taskStore.insert("default", request(title, Status.PENDING, dueDate));
+    }
+
+    private TaskModel update(TaskModel task, Status status, LocalDateTime dueDate) {
+        return taskStore.update(task.getId(), request(task.getTitle(), status, dueDate), null).orElseThrow();
+    }
+
+    private static LocalDateTime soon() {
+        return LocalDateTime.now().plusNanos(SOON_MILLIS * 1_000_000);
+    }
+
+    private TaskOverdueEvent awaitFired() throws InterruptedException {
+        return fired.poll(5, TimeUnit.SECONDS);
+    }
+
+    private void assertNothingFires() throws InterruptedException {
+        assertThat(fired.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void firesOnceWhenALoadedTaskPassesItsDueDate() throws InterruptedException {
+        TaskModel task = insert("due", soon());
+        scheduler.onApplicationReady();
+
+        TaskOverdueEvent event = awaitFired();
+
+        assertThat(event).isEqualTo(new TaskOverdueEvent(task.getId(), task.getDueDate()));
+        assertNothingFires();
+    }
+
+    @Test
+    void movingTheDueDateLaterReschedulesTheTask() throws InterruptedException {
+        TaskModel task = insert("postponed", soon());
+        scheduler.onApplicationReady();
+
+        scheduler.onTaskChanged(TaskChangedEvent.updated(update(task, Status.PENDING, LocalDateTime.now().plusMinutes(30))));
+
+        assertNothingFires();
+    }
+
+    @Test
+    void movingTheDueDateEarlierReschedulesTheTask() throws InterruptedException {
+        TaskModel task = insert("brought-forward", LocalDateTime.now().plusMinutes(30));
+        scheduler.onApplicationReady();
+
+        TaskModel updated = update(task, Status.PENDING, soon());
+        scheduler.onTaskChanged(TaskChangedEvent.updated(updated));
+
+        assertThat(awaitFired()).isEqualTo(new TaskOverdueEvent(task.getId(), updated.getDueDate()));
+    }
+
+    @Test
+    void completingTheTaskCancelsIt() throws InterruptedException {
+        TaskModel patched = insert("patched", soon());
+        TaskModel updated = insert("updated", soon());
+        scheduler.onApplicationReady();
+
+        taskStore.updateStatus(patched.getId(), Status.COMPLETED, null);
+        scheduler.onTaskChanged(TaskChangedEvent.statusChanged(patched.getId(), Status.COMPLETED));
+        scheduler.onTaskChanged(TaskChangedEvent.updated(update(updated, Status.COMPLETED, updated.getDueDate())));
+
+        assertNothingFires();
+    }
+
+    @Test
+    void deletingTheTaskCancelsIt() throws InterruptedException {
+        TaskModel task = insert("deleted", soon());
+        scheduler.onApplicationReady();
+
+        taskStore.deleteAllById(List.of(task.getId()));
+        scheduler.onTaskChanged(TaskChangedEvent.deleted(task.getId()));
+
+        assertNothingFires();
+    }
+
+    @Test
+    void reopeningACompletedTaskSchedulesItFromTheStore() throws InterruptedException {
+        TaskModel task = insert("reopened", soon());
+        taskStore.updateStatus(task.getId(), Status.COMPLETED, null);
+        scheduler.onApplicationReady();
+
+        taskStore.updateStatus(task.getId(), Status.IN_PROGRESS, null);
+        scheduler.onTaskChanged(TaskChangedEvent.statusChanged(task.getId(), Status.IN_PROGRESS));
+
+        assertThat(awaitFired()).isEqualTo(new TaskOverdueEvent(task.getId(), task.getDueDate()));
+    }
+
+    @Test
+    void changesTheSchedulerHasNotHeardAboutAreCaughtBeforeFiring() throws InterruptedException {
+        // Committed, but their events have not reached the scheduler when the entries come due
+        TaskModel completed = insert("completed", soon());
+        TaskModel postponed = insert("postponed", soon());
+        scheduler.onApplicationReady();
+
+        taskStore.updateStatus(completed.getId(), Status.COMPLETED, null);
+        update(postponed, Status.PENDING, LocalDateTime.now().plusMinutes(30));
+
+        assertNothingFires();
+    }
+
+    @Test
+    void refreshIntervalMustBeShorterThanTheWindow() {
+        ReflectionTestUtils.setField(scheduler, "refreshInterval", Duration.ofHours(1));
+
+        assertThatThrownBy(scheduler::validate).isInstanceOf(IllegalStateException.class).hasMessageContaining("refresh-interval");
+
+        ReflectionTestUtils.setField(scheduler, "enabled", false);
+        scheduler.validate();
+    }
+}
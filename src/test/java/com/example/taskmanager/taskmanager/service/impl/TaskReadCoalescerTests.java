@@ -0,0 +1,86 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.service.TaskService;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Two identical list reads that overlap share one store query, and each gets task objects of its
+ * own so neither can change what the other returns.
+ */
+@SpringBootTest
+class TaskReadCoalescerTests {
+
+    @MockitoSpyBean
+    private TaskStore taskStore;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void cleanUp() {
+        executor.shutdownNow();
+        doCallRealMethod().when(taskStore).findAll(any(), any());
+    }
+
+    private double shared() {
+        return meterRegistry.get("taskmanager.coalescing.requests").tag("result", "shared").functionCounter().count();
+    }
+
+    @Test
+    void overlappingIdenticalReadsShareOneQueryButNotTheirTasks() throws Exception {
+        double sharedBefore = shared();
+        // The query only returns once the second read has joined it
+        doAnswer(invocation -> {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (shared() == sharedBefore && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return invocation.callRealMethod();
+        }).when(taskStore).findAll(any(TaskFilter.class), any(Pageable.class));
+
+        Future<Page<TaskModel>> first = executor.submit(() -> taskService.findAllData(null, Status.PENDING, null, null, PageRequest.of(0, 5)));
+        Future<Page<TaskModel>> second = executor.submit(() -> taskService.findAllData(null, Status.PENDING, null, null, PageRequest.of(0, 5)));
+        Page<TaskModel> firstPage = first.get(10, TimeUnit.SECONDS);
+        Page<TaskModel> secondPage = second.get(10, TimeUnit.SECONDS);
+
+        verify(taskStore, times(1)).findAll(any(TaskFilter.class), any(Pageable.class));
+        assertThat(shared()).isEqualTo(sharedBefore + 1);
+        assertThat(firstPage.getContent()).isNotEmpty();
+        assertThat(secondPage.getContent()).extracting(TaskModel::getId).isEqualTo(firstPage.getContent().stream().map(TaskModel::getId).toList());
+
+        TaskModel mine = firstPage.getContent().get(0);
+        TaskModel theirs = secondPage.getContent().get(0);
+        assertThat(mine).isNotSameAs(theirs);
+        mine.setTitle("changed by the first caller");
+        assertThat(theirs.getTitle()).isNotEqualTo("changed by the first caller");
+    }
+}
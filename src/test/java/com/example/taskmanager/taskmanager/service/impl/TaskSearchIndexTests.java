@@ -0,0 +1,174 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.store.impl.InMemoryTaskStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds the index over an in-memory store and publishes events by hand, like
+ * {@link TaskStatsEngineTests}, so each test decides what the index has seen.
+ */
+class TaskSearchIndexTests {
+
+    private static final LocalDateTime DUE_DATE = LocalDateTime.of(2999, 1, 1, 0, 0);
+
+    // Runs once, from the store's stream, to stand in for a change committed while the index rebuilds
+    private Runnable duringRebuild;
+
+    private final InMemoryTaskStore taskStore = new InMemoryTaskStore() {
+        @Override
+        public Stream<TaskModel> streamAll(TaskFilter filter, int fetchSize) {
+            Stream<TaskModel> tasks = super.streamAll(filter, fetchSize);
+            Runnable change = duringRebuild;
+            duringRebuild = null;
+            if (change != null) {
+                change.run();
+            }
+            return tasks;
+        }
+    };
+
+    private final TaskSearchIndex index = new TaskSearchIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "taskStore", taskStore);
+        ReflectionTestUtils.setField(index, "transactionManager", new NoTransactionManager());
+    }
+
+    private static RequestTaskModel request(String title, String description, Status status, Priority priority) {
+        RequestTaskModel request = new RequestTaskModel();
+        request.setTitle(title);
+        request.setDescription(description);
+        request.setStatus(status);
+        request.setPriority(priority);
+        request.setDueDate(DUE_DATE);
+        return request;
+    }
+
+    private TaskModel insert(String tenantId, String title, String description) {
+        return taskStore.insert(tenantId, request(title, description, Status.PENDING, Priority.LOW));
+    }
+
+    private TaskModel insert(String title, String description) {
+        return insert("default", title, description);
+    }
+
+    private TaskModel create(String title, String description) {
+        TaskModel task = insert(title, description);
+        index.onTaskChanged(TaskChangedEvent.created(task));
+        return task;
+    }
+
+    private List<Long> search(String query) {
+        return search(query, null, null);
+    }
+
+    private List<Long> search(String query, String tenantId, Status status) {
+        return index.search(query, tenantId, status, null, 0, 100).hits().stream().map(TaskSearchIndex.Hit::id).toList();
+    }
+
+    @Test
+    void tokenizeLowercasesAndSplitsOnEverythingButLettersAndDigits() {
+        assertThat(TaskSearchIndex.tokenize("Fix the LOGIN-page bug, v2!")).containsExactly("fix", "the", "login", "page", "bug", "v2");
+        assertThat(TaskSearchIndex.tokenize("  Caf\u00e9_\u00dcberpr\u00fcfung 42 ")).containsExactly("caf\u00e9", "\u00fcberpr\u00fcfung", "42");
+        assertThat(TaskSearchIndex.tokenize("--- !!")).isEmpty();
+        assertThat(TaskSearchIndex.tokenize(" ")).isEmpty();
+        assertThat(TaskSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void titleMatchesOutrankDescriptionMatches() {
+        index.rebuild();
+        TaskModel inDescription = create("Weekly sync", "Prepare the release notes");
+        TaskModel inTitle = create("Release checklist", "Walk through every step");
+
+        assertThat(search("release")).containsExactly(inTitle.getId(), inDescription.getId());
+    }
+
+    @Test
+    void rareTermsWeighMoreThanCommonOnes() {
+        index.rebuild();
+        create("Review budget", "finance");
+        create("Review roadmap", "planning");
+        TaskModel rare = create("Review security audit", "compliance");
+        TaskModel common = create("Review hiring", "review review");
+
+        // "audit" appears once in the corpus, "review" everywhere
+        assertThat(search("audit review").get(0)).isEqualTo(rare.getId());
+        assertThat(search("review")).first().isEqualTo(common.getId());
+    }
+
+    @Test
+    void equalScoresAreOrderedById() {
+        index.rebuild();
+        TaskModel first = create("Deploy service one", null);
+        TaskModel second = create("Deploy service two", null);
+
+        assertThat(search("deploy")).containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    void resultsAreFilteredByTenantAndStatus() {
+        TaskModel ours = insert("acme", "Quarterly report", null);
+        TaskModel theirs = insert("globex", "Quarterly report", null);
+        index.rebuild();
+        taskStore.updateStatus(ours.getId(), Status.COMPLETED, null);
+        index.onTaskChanged(TaskChangedEvent.statusChanged(ours.getId(), Status.COMPLETED));
+
+        assertThat(search("report", "acme", null)).containsExactly(ours.getId());
+        assertThat(search("report", "globex", null)).containsExactly(theirs.getId());
+        assertThat(search("report", null, Status.COMPLETED)).containsExactly(ours.getId());
+        assertThat(search("report", "globex", Status.COMPLETED)).isEmpty();
+        assertThat(index.search("report", null, null, null, 0, 1).total()).isEqualTo(2);
+    }
+
+    @Test
+    void updatesAndDeletesReplaceTheIndexedTerms() {
+        index.rebuild();
+        TaskModel task = create("Draft proposal", null);
+
+        TaskModel updated = taskStore.update(task.getId(), request("Final contract", null, Status.PENDING, Priority.LOW), null).orElseThrow();
+        index.onTaskChanged(TaskChangedEvent.updated(updated));
+        assertThat(search("proposal")).isEmpty();
+        assertThat(search("contract")).containsExactly(task.getId());
+
+        taskStore.deleteAllById(List.of(task.getId()));
+        index.onTaskChanged(TaskChangedEvent.deleted(task.getId()));
+        assertThat(search("contract")).isEmpty();
+    }
+
+    @Test
+    void changesCommittedDuringARebuildAreReplayed() {
+        TaskModel renamed = insert("Old name", null);
+        TaskModel deleted = insert("Obsolete entry", null);
+        insert("Untouched entry", null);
+        duringRebuild = () -> {
+            TaskModel updated = taskStore.update(renamed.getId(), request("New name", null, Status.PENDING, Priority.LOW), null).orElseThrow();
+            index.onTaskChanged(TaskChangedEvent.updated(updated));
+            taskStore.deleteAllById(List.of(deleted.getId()));
+            index.onTaskChanged(TaskChangedEvent.deleted(deleted.getId()));
+            create("Fresh entry", null);
+        };
+
+        assertThat(index.rebuild()).isEqualTo(3);
+
+        assertThat(search("old")).isEmpty();
+        assertThat(search("new")).containsExactly(renamed.getId());
+        assertThat(search("obsolete")).isEmpty();
+        assertThat(search("entry")).hasSize(2);
+    }
+}
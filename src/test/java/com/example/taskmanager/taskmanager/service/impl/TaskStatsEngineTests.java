@@ -0,0 +1,183 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.event.TaskChangedEvent;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.store.impl.InMemoryTaskStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the engine over an in-memory store, publishing events by hand so each test controls
+ * exactly what the counters see and when.
+ */
+class TaskStatsEngineTests {
+
+    private static final LocalDateTime FAR_FUTURE = LocalDateTime.of(2999, 1, 1, 0, 0);
+    private static final LocalDateTime FAR_PAST = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    // Runs once, from the store's stream, to stand in for a change committed while the engine rebuilds
+    private Runnable duringRebuild;
+
+    private final InMemoryTaskStore taskStore = new InMemoryTaskStore() {
+        @Override
+        public Stream<TaskModel> streamAll(TaskFilter filter, int fetchSize) {
+            Stream<TaskModel> tasks = super.streamAll(filter, fetchSize);
+            Runnable change = duringRebuild;
+            duringRebuild = null;
+            if (change != null) {
+                change.run();
+            }
+            return tasks;
+        }
+    };
+
+    private final TaskStatsEngine engine = new TaskStatsEngine();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(engine, "taskStore", taskStore);
+        ReflectionTestUtils.setField(engine, "transactionManager", new NoTransactionManager());
+    }
+
+    private TaskModel insert(String title, Status status, Priority priority, LocalDateTime dueDate) {
+        RequestTaskModel request = new RequestTaskModel();
+        request.setTitle(title);
+        request.setStatus(status);
+        request.setPriority(priority);
+        request.setDueDate(dueDate);
+        return taskStore.insert("default", request);
+    }
+
+    private TaskModel create(String title, Status status, Priority priority, LocalDateTime dueDate) {
+        TaskModel task = insert(title, status, priority, dueDate);
+        engine.onTaskChanged(TaskChangedEvent.created(task));
+        return task;
+    }
+
+    private long cell(Status status, Priority priority) {
+        return engine.cells().stream()
+                .filter(row -> row[0] == status && row[1] == priority)
+                .mapToLong(row -> (Long) row[2])
+                .sum();
+    }
+
+    private long overdue() {
+        return (Long) engine.snapshot().get("Overdue_Count");
+    }
+
+    private long notOverdue() {
+        return (Long) engine.snapshot().get("Not_Overdue_Count");
+    }
+
+    @Test
+    void rebuildLoadsTheStoreAndEventsAdjustTheCounters() {
+        insert("a", Status.PENDING, Priority.HIGH, FAR_FUTURE);
+        insert("b", Status.COMPLETED, Priority.LOW, FAR_PAST);
+        engine.rebuild();
+
+        assertThat(cell(Status.PENDING, Priority.HIGH)).isEqualTo(1);
+        assertThat(cell(Status.COMPLETED, Priority.LOW)).isEqualTo(1);
+        assertThat(overdue()).isZero();
+        assertThat(notOverdue()).isEqualTo(1);
+
+        TaskModel c = create("c", Status.PENDING, Priority.HIGH, FAR_PAST);
+        assertThat(cell(Status.PENDING, Priority.HIGH)).isEqualTo(2);
+        assertThat(overdue()).isEqualTo(1);
+
+        taskStore.updateStatus(c.getId(), Status.COMPLETED, null);
+        engine.onTaskChanged(TaskChangedEvent.statusChanged(c.getId(), Status.COMPLETED));
+        assertThat(cell(Status.PENDING, Priority.HIGH)).isEqualTo(1);
+        assertThat(cell(Status.COMPLETED, Priority.HIGH)).isEqualTo(1);
+        assertThat(overdue()).isZero();
+
+        taskStore.deleteAllById(List.of(c.getId()));
+        engine.onTaskChanged(TaskChangedEvent.deleted(c.getId()));
+        assertThat(cell(Status.COMPLETED, Priority.HIGH)).isZero();
+    }
+
+    @Test
+    void tasksMoveToOverdueWhenTheirDueDatePasses() {
+        engine.rebuild();
+        LocalDateTime dueDate = LocalDateTime.now().plusHours(1);
+        create("soon", Status.IN_PROGRESS, Priority.MEDIUM, dueDate);
+        create("later", Status.PENDING, Priority.MEDIUM, dueDate.plusHours(1));
+        create("done", Status.COMPLETED, Priority.MEDIUM, dueDate);
+        assertThat(overdue()).isZero();
+
+        engine.advanceOverdue(dueDate.plusMinutes(1));
+
+        assertThat(overdue()).isEqualTo(1);
+        assertThat(notOverdue()).isEqualTo(1);
+        assertThat(engine.cells()).anySatisfy(row -> assertThat(row).containsExactly(Status.IN_PROGRESS, Priority.MEDIUM, 1L, 1L));
+    }
+
+    @Test
+    void changesCommittedDuringARebuildAreReplayed() {
+        TaskModel deleted = insert("deleted", Status.PENDING, Priority.LOW, FAR_FUTURE);
+        insert("kept", Status.PENDING, Priority.LOW, FAR_FUTURE);
+        duringRebuild = () -> {
+            taskStore.deleteAllById(List.of(deleted.getId()));
+            engine.onTaskChanged(TaskChangedEvent.deleted(deleted.getId()));
+            create("created", Status.PENDING, Priority.HIGH, FAR_PAST);
+        };
+
+        engine.rebuild();
+
+        assertThat(cell(Status.PENDING, Priority.LOW)).isEqualTo(1);
+        assertThat(cell(Status.PENDING, Priority.HIGH)).isEqualTo(1);
+        assertThat(overdue()).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileRebuildsOnlyWhenTheSameDriftIsSeenTwice() {
+        engine.rebuild();
+        // Written without an event, as if one had been lost
+        insert("lost", Status.PENDING, Priority.HIGH, FAR_FUTURE);
+
+        engine.reconcile();
+        assertThat(cell(Status.PENDING, Priority.HIGH)).isZero();
+
+        engine.reconcile();
+        assertThat(cell(Status.PENDING, Priority.HIGH)).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileIgnoresDriftThatResolvesItself() {
+        engine.rebuild();
+        // Committed, but its event has not reached the engine yet when the first run reads the store
+        TaskModel late = insert("late", Status.PENDING, Priority.HIGH, FAR_FUTURE);
+        engine.reconcile();
+
+        engine.onTaskChanged(TaskChangedEvent.created(late));
+        insert("lost", Status.PENDING, Priority.LOW, FAR_FUTURE);
+        engine.reconcile();
+
+        // The second run saw different drift, so nothing was rebuilt yet
+        assertThat(cell(Status.PENDING, Priority.LOW)).isZero();
+        assertThat(cell(Status.PENDING, Priority.HIGH)).isEqualTo(1);
+    }
+
+    @Test
+    void reconcileAppliesPendingOverdueTransitionsBeforeComparing() throws InterruptedException {
+        engine.rebuild();
+        create("due", Status.PENDING, Priority.HIGH, LocalDateTime.now().plusNanos(1_000_000));
+        Thread.sleep(5);
+
+        // No tick has run, so only reconcile itself can move the task before it compares
+        engine.reconcile();
+
+        assertThat(overdue()).isEqualTo(1);
+        assertThat(notOverdue()).isZero();
+    }
+}
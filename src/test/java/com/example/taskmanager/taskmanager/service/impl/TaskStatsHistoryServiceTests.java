@@ -0,0 +1,139 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.StatsBucket;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.StatsHistoryPoint;
+import com.example.taskmanager.taskmanager.model.StatsHistoryResponse;
+import com.example.taskmanager.taskmanager.service.TaskStatsHistoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Records snapshots at fixed times far from the clock, so the scheduled recorder never writes into
+ * the buckets under test, and rolls every test back.
+ */
+@SpringBootTest
+@Transactional
+class TaskStatsHistoryServiceTests {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 3, 14, 10, 15, 20);
+
+    @MockitoBean
+    private TaskStatsEngine taskStatsEngine;
+
+    @Autowired
+    private TaskStatsHistoryService taskStatsHistoryService;
+
+    private TaskStatsHistoryServiceImpl recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder = AopTestUtils.getTargetObject(taskStatsHistoryService);
+        when(taskStatsEngine.isReady()).thenReturn(true);
+    }
+
+    private void recordAt(LocalDateTime time, Object[]... cells) {
+        when(taskStatsEngine.cells()).thenReturn(List.of(cells));
+        recorder.recordSnapshot(time);
+    }
+
+    private static Object[] cell(Status status, Priority priority, long total, long overdue) {
+        return new Object[]{status, priority, total, overdue};
+    }
+
+    private List<StatsHistoryPoint> history(StatsBucket bucket, LocalDateTime from, LocalDateTime to) {
+        return taskStatsHistoryService.getHistory(from, to, bucket).points();
+    }
+
+    @Test
+    void everyRunWritesItsMinuteAndOverwritesTheHourAndDay() {
+        recordAt(BASE, cell(Status.PENDING, Priority.HIGH, 3, 1), cell(Status.COMPLETED, Priority.LOW, 2, 0));
+        recordAt(BASE.plusMinutes(1), cell(Status.PENDING, Priority.HIGH, 4, 2));
+
+        List<StatsHistoryPoint> minutes = history(StatsBucket.MINUTE, BASE.withMinute(0), BASE.withMinute(59));
+        assertThat(minutes).extracting(StatsHistoryPoint::bucketStart).containsExactly(LocalDateTime.of(2030, 3, 14, 10, 15), LocalDateTime.of(2030, 3, 14, 10, 16));
+        assertThat(minutes.get(0).notOverdueCount()).isEqualTo(2);
+        assertThat(minutes.get(0).overdueCount()).isEqualTo(1);
+        assertThat(minutes.get(0).detailedStats()).hasSize(2);
+
+        StatsHistoryPoint latest = minutes.get(1);
+        assertThat(latest.notOverdueCount()).isEqualTo(2);
+        assertThat(latest.overdueCount()).isEqualTo(2);
+        assertThat(latest.detailedStats()).containsExactly(new StatsHistoryPoint.Cell(Status.PENDING, Priority.HIGH, 4, 2));
+
+        // The completed cell emptied by the second run, so the overwritten hour and day no longer list it
+        assertThat(history(StatsBucket.HOUR, BASE.withHour(0), BASE.withHour(23))).singleElement().isEqualTo(
+                new StatsHistoryPoint(LocalDateTime.of(2030, 3, 14, 10, 0), 2, 2, latest.detailedStats()));
+        assertThat(history(StatsBucket.DAY, BASE.minusDays(1), BASE)).singleElement().isEqualTo(
+                new StatsHistoryPoint(LocalDateTime.of(2030, 3, 14, 0, 0), 2, 2, latest.detailedStats()));
+    }
+
+    @Test
+    void coarserBucketsKeepTheCountsOfTheirClosingMinute() {
+        recordAt(BASE.withMinute(58), cell(Status.PENDING, Priority.LOW, 1, 0));
+        recordAt(BASE.withMinute(59), cell(Status.PENDING, Priority.LOW, 5, 0));
+        recordAt(BASE.withHour(11).withMinute(0), cell(Status.PENDING, Priority.LOW, 7, 3));
+
+        List<StatsHistoryPoint> hours = history(StatsBucket.HOUR, BASE.withHour(0), BASE.withHour(23));
+
+        assertThat(hours).extracting(StatsHistoryPoint::bucketStart).containsExactly(LocalDateTime.of(2030, 3, 14, 10, 0), LocalDateTime.of(2030, 3, 14, 11, 0));
+        assertThat(hours).extracting(StatsHistoryPoint::notOverdueCount).containsExactly(5L, 4L);
+        assertThat(hours).extracting(StatsHistoryPoint::overdueCount).containsExactly(0L, 3L);
+        assertThat(history(StatsBucket.MINUTE, BASE.withMinute(0), BASE.withHour(11).withMinute(30))).hasSize(3);
+    }
+
+    @Test
+    void completedTasksAreListedButNotCountedAsOpen() {
+        recordAt(BASE, cell(Status.COMPLETED, Priority.MEDIUM, 6, 0), cell(Status.IN_PROGRESS, Priority.MEDIUM, 2, 1));
+
+        StatsHistoryPoint point = history(StatsBucket.MINUTE, BASE.minusMinutes(1), BASE).get(0);
+
+        assertThat(point.notOverdueCount()).isEqualTo(1);
+        assertThat(point.overdueCount()).isEqualTo(1);
+        assertThat(point.detailedStats()).extracting(StatsHistoryPoint.Cell::count).containsExactlyInAnyOrder(6L, 2L);
+    }
+
+    @Test
+    void purgeDropsMinutesAndHoursPastTheirRetentionButKeepsDays() {
+        recordAt(BASE.minusDays(100), cell(Status.PENDING, Priority.HIGH, 1, 0));
+        recordAt(BASE.minusDays(3), cell(Status.PENDING, Priority.HIGH, 2, 0));
+        recordAt(BASE.minusHours(1), cell(Status.PENDING, Priority.HIGH, 3, 0));
+
+        recorder.purge(BASE);
+
+        assertThat(history(StatsBucket.MINUTE, BASE.minusDays(1), BASE)).extracting(StatsHistoryPoint::notOverdueCount).containsExactly(3L);
+        assertThat(history(StatsBucket.MINUTE, BASE.minusDays(3).minusHours(1), BASE.minusDays(3).plusHours(1))).isEmpty();
+        assertThat(history(StatsBucket.HOUR, BASE.minusDays(3).minusHours(1), BASE.minusDays(3).plusHours(1))).extracting(StatsHistoryPoint::notOverdueCount).containsExactly(2L);
+        assertThat(history(StatsBucket.HOUR, BASE.minusDays(100).minusHours(1), BASE.minusDays(100).plusHours(1))).isEmpty();
+        assertThat(history(StatsBucket.DAY, BASE.minusDays(101), BASE)).extracting(StatsHistoryPoint::notOverdueCount).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void rangeIsAlignedToTheBucketAndDefaultsToTheBucketsRange() {
+        StatsHistoryResponse response = taskStatsHistoryService.getHistory(null, BASE, StatsBucket.MINUTE);
+
+        assertThat(response.from()).isEqualTo(LocalDateTime.of(2030, 3, 14, 9, 15));
+        assertThat(response.to()).isEqualTo(BASE);
+    }
+
+    @Test
+    void invalidRangesAreRejected() {
+        assertThatThrownBy(() -> taskStatsHistoryService.getHistory(BASE, BASE.minusHours(1), StatsBucket.MINUTE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskStatsHistoryService.getHistory(BASE.minusDays(30), BASE, StatsBucket.MINUTE))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("2000");
+    }
+}
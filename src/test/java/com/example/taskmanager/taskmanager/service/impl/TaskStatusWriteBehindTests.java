@@ -0,0 +1,257 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.exception.CustomExceptions;
+import com.example.taskmanager.taskmanager.model.BulkItemResult;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.StatusUpdateModel;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.store.impl.InMemoryTaskStore;
+import com.example.taskmanager.taskmanager.utility.StatusWriteAheadLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Interleaves the committer with synchronous writes over an in-memory store. The batch writer is
+ * replaced by one that writes straight to the store and can be held mid-write.
+ */
+class TaskStatusWriteBehindTests {
+
+    @TempDir
+    private Path directory;
+
+    private final InMemoryTaskStore taskStore = new InMemoryTaskStore();
+    private final NoTransactionManager transactionManager = new NoTransactionManager();
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    private final TaskStatusWriteBehind writeBehind = new TaskStatusWriteBehind();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final AtomicInteger batches = new AtomicInteger();
+
+    // Runs inside every committer batch, before its changes reach the store
+    private volatile Runnable duringBatch = () -> {
+    };
+
+    private TaskModel task;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        TaskBatchWriter batchWriter = new TaskBatchWriter(transactionManager) {
+            @Override
+            public List<BulkItemResult> updateStatus(List<Item<StatusUpdateModel>> items) {
+                batches.incrementAndGet();
+                duringBatch.run();
+                Set<Long> found = taskStore.updateStatuses(items.stream().map(Item::value).toList());
+                return items.stream()
+                        .map(item -> BulkItemResult.builder().index(item.index()).id(item.value().getId()).success(found.contains(item.value().getId())).build())
+                        .toList();
+            }
+        };
+        ReflectionTestUtils.setField(writeBehind, "taskBatchWriter", batchWriter);
+        ReflectionTestUtils.setField(writeBehind, "cacheManager", new ConcurrentMapCacheManager());
+        ReflectionTestUtils.setField(writeBehind, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(writeBehind, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(writeBehind, "enabled", true);
+        ReflectionTestUtils.setField(writeBehind, "logPath", directory.resolve("status-wal.log"));
+        ReflectionTestUtils.setField(writeBehind, "logSize", DataSize.ofKilobytes(64));
+        ReflectionTestUtils.setField(writeBehind, "forceOnAppend", false);
+        ReflectionTestUtils.setField(writeBehind, "batchSize", 500);
+        writeBehind.start();
+
+        RequestTaskModel request = new RequestTaskModel();
+        request.setTitle("write-behind");
+        request.setStatus(Status.PENDING);
+        request.setPriority(Priority.LOW);
+        request.setDueDate(LocalDateTime.of(2999, 1, 1, 0, 0));
+        task = taskStore.insert("default", request);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        executor.shutdownNow();
+        duringBatch = () -> {
+        };
+        writeBehind.stop();
+    }
+
+    private void restart(Path logPath, DataSize logSize) throws IOException {
+        writeBehind.stop();
+        ReflectionTestUtils.setField(writeBehind, "logPath", logPath);
+        ReflectionTestUtils.setField(writeBehind, "logSize", logSize);
+        writeBehind.start();
+    }
+
+    private TaskServiceImpl taskService() {
+        TaskServiceImpl taskService = new TaskServiceImpl();
+        ReflectionTestUtils.setField(taskService, "taskStore", taskStore);
+        ReflectionTestUtils.setField(taskService, "taskStatusWriteBehind", writeBehind);
+        return taskService;
+    }
+
+    private Status stored() {
+        return taskStore.findById(task.getId()).orElseThrow().getStatus();
+    }
+
+    private Status shown() {
+        return writeBehind.overlay(taskStore.findById(task.getId()).orElseThrow()).getStatus();
+    }
+
+    private void writeSynchronously(Status status) {
+        transactionTemplate.executeWithoutResult(transaction ->
+                writeBehind.supersede(List.of(task.getId()), () -> taskStore.updateStatus(task.getId(), status, null)));
+    }
+
+    @Test
+    void synchronousUpdateWaitsForABatchAlreadyWritingTheTask() throws Exception {
+        writeBehind.submit(task.getId(), Status.COMPLETED);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        duringBatch = () -> {
+            writing.countDown();
+            await(release);
+        };
+
+        Future<?> flush = executor.submit(writeBehind::flush);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<?> update = executor.submit(() -> writeSynchronously(Status.IN_PROGRESS));
+        assertThatThrownBy(() -> update.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        release.countDown();
+        flush.get(5, TimeUnit.SECONDS);
+        update.get(5, TimeUnit.SECONDS);
+
+        assertThat(stored()).isEqualTo(Status.IN_PROGRESS);
+        assertThat(shown()).isEqualTo(Status.IN_PROGRESS);
+    }
+
+    @Test
+    void queuedChangeIsWrittenThroughBeforeTheSynchronousWrite() {
+        writeBehind.submit(task.getId(), Status.COMPLETED);
+
+        transactionTemplate.executeWithoutResult(transaction ->
+                writeBehind.supersede(List.of(task.getId()), () -> {
+                    assertThat(stored()).isEqualTo(Status.COMPLETED);
+                    return taskStore.updateStatus(task.getId(), Status.IN_PROGRESS, null);
+                }));
+        writeBehind.flush();
+
+        assertThat(batches).hasValue(1);
+        assertThat(stored()).isEqualTo(Status.IN_PROGRESS);
+        assertThat(shown()).isEqualTo(Status.IN_PROGRESS);
+    }
+
+    @Test
+    void batchSkipsAChangeQueuedWhileASynchronousUpdateIsOpen() throws Exception {
+        writeBehind.submit(task.getId(), Status.PENDING);
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        Future<?> update = executor.submit(() -> transactionTemplate.executeWithoutResult(transaction ->
+                writeBehind.supersede(List.of(task.getId()), () -> {
+                    taskStore.updateStatus(task.getId(), Status.IN_PROGRESS, null);
+                    written.countDown();
+                    await(commit);
+                    return null;
+                })));
+        assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+        writeBehind.submit(task.getId(), Status.COMPLETED);
+
+        writeBehind.flush();
+        assertThat(batches).hasValue(1);
+        assertThat(stored()).isEqualTo(Status.IN_PROGRESS);
+
+        commit.countDown();
+        update.get(5, TimeUnit.SECONDS);
+        writeBehind.flush();
+
+        assertThat(batches).hasValue(2);
+        assertThat(stored()).isEqualTo(Status.COMPLETED);
+    }
+
+    @Test
+    void rolledBackWriteStillAppliesTheQueuedChange() {
+        writeBehind.submit(task.getId(), Status.COMPLETED);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(transaction ->
+                writeBehind.supersede(List.of(task.getId()), () -> {
+                    throw new IllegalStateException("rolled back");
+                }))).isInstanceOf(IllegalStateException.class);
+
+        assertThat(stored()).isEqualTo(Status.COMPLETED);
+        writeBehind.flush();
+        assertThat(batches).hasValue(1);
+    }
+
+    @Test
+    void synchronousWriteLandsLastWhenTheLogIsFull() throws IOException {
+        // Room for the header and two records: one change and the record that discards it
+        Path logPath = directory.resolve("small-status-wal.log");
+        restart(logPath, DataSize.ofBytes(16 + 24 * 2));
+        assertThat(writeBehind.submit(task.getId(), Status.COMPLETED)).isTrue();
+        assertThat(writeBehind.submit(task.getId(), Status.PENDING)).isFalse();
+
+        writeSynchronously(Status.IN_PROGRESS);
+
+        // The discard record keeps a replay from applying the written change over the synchronous one
+        try (StatusWriteAheadLog log = new StatusWriteAheadLog(logPath, 16 + 24 * 2, false)) {
+            assertThat(log.recovered()).last().isEqualTo(new StatusWriteAheadLog.Entry(2, task.getId(), null));
+        }
+        writeBehind.flush();
+        assertThat(stored()).isEqualTo(Status.IN_PROGRESS);
+        assertThat(shown()).isEqualTo(Status.IN_PROGRESS);
+    }
+
+    @Test
+    void deleteRefusesATaskWhoseQueuedStatusIsInProgress() {
+        TaskServiceImpl taskService = taskService();
+        writeBehind.submit(task.getId(), Status.IN_PROGRESS);
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(transaction -> taskService.deleteTask(task.getId())))
+                .isInstanceOf(CustomExceptions.TaskDeletionException.class);
+
+        assertThat(stored()).isEqualTo(Status.IN_PROGRESS);
+        writeBehind.flush();
+        assertThat(shown()).isEqualTo(Status.IN_PROGRESS);
+    }
+
+    @Test
+    void queueingAStatusForAnUnknownTaskIsRejected() {
+        TaskServiceImpl taskService = taskService();
+
+        assertThatThrownBy(() -> taskService.queueStatus(task.getId() + 1000, Status.COMPLETED)).isInstanceOf(NoSuchElementException.class);
+        assertThat(taskService.queueStatus(task.getId(), Status.COMPLETED)).isTrue();
+        assertThat(shown()).isEqualTo(Status.COMPLETED);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.taskmanager.taskmanager.service.impl;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.enums.TransferFormat;
+import com.example.taskmanager.taskmanager.model.ImportSummary;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.service.TaskTransferService;
+import com.example.taskmanager.taskmanager.store.TaskStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Export and import through the service. Imports commit on the writer thread, so every test works
+ * in tenants of its own and deletes them afterwards.
+ */
+@SpringBootTest
+class TaskTransferServiceTests {
+
+    private static final LocalDateTime DUE_DATE = LocalDateTime.of(2999, 1, 1, 0, 0);
+
+    @Autowired
+    private TaskTransferService taskTransferService;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    private final String source = "transfer-" + UUID.randomUUID();
+    private final String target = "transfer-" + UUID.randomUUID();
+
+    @AfterEach
+    void cleanUp() {
+        taskStore.deleteAllById(tasks(source).stream().map(TaskModel::getId).toList());
+        taskStore.deleteAllById(tasks(target).stream().map(TaskModel::getId).toList());
+    }
+
+    private List<TaskModel> tasks(String tenant) {
+        return taskStore.findAll(new TaskFilter(tenant, null, null, null), PageRequest.of(0, 100)).getContent();
+    }
+
+    private void insert(String title, String description) {
+        RequestTaskModel request = new RequestTaskModel();
+        request.setTitle(title);
+        request.setDescription(description);
+        request.setStatus(Status.PENDING);
+        request.setPriority(Priority.MEDIUM);
+        request.setDueDate(DUE_DATE);
+        taskStore.insert(source, request);
+    }
+
+    private ImportSummary importCsv(String csv) throws Exception {
+        return taskTransferService.importTasks(target, TransferFormat.CSV, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void csvExportImportsBackUnchanged() throws Exception {
+        insert("plain", "Nothing special");
+        insert("commas, and \"quotes\"", "Say \"hi\", then leave");
+        insert("line breaks", "First line\nsecond line\n\nafter a blank line");
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        taskTransferService.exportTasks(new TaskFilter(source, null, null, null), TransferFormat.CSV, exported);
+
+        ImportSummary summary = importCsv(exported.toString(StandardCharsets.UTF_8));
+
+        assertThat(summary.getFailed()).isZero();
+        assertThat(summary.getImported()).isEqualTo(3);
+        Map<String, String> original = tasks(source).stream().collect(Collectors.toMap(TaskModel::getTitle, TaskModel::getDescription));
+        Map<String, String> imported = tasks(target).stream().collect(Collectors.toMap(TaskModel::getTitle, TaskModel::getDescription));
+        assertThat(imported).isEqualTo(original);
+    }
+
+    @Test
+    void csvErrorsPointAtTheLineTheRecordStartsOn() throws Exception {
+        String csv = """
+                title,description,status,priority,dueDate
+                first,"spans
+                three
+                lines",PENDING,LOW,2999-01-01T00:00:00
+                second,,UNKNOWN,LOW,2999-01-01T00:00:00
+                """;
+
+        ImportSummary summary = importCsv(csv);
+
+        assertThat(summary.getImported()).isEqualTo(1);
+        assertThat(summary.getErrors()).singleElement().satisfies(error -> assertThat(error.getLine()).isEqualTo(5));
+    }
+}
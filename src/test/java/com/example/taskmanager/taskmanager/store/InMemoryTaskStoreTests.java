@@ -0,0 +1,89 @@
+package com.example.taskmanager.taskmanager.store;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.store.impl.InMemoryTaskStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the conformance suite against a fresh in-memory store per test, plus the guarantees that the
+ * JPA store gets from its transaction and this one has to provide itself.
+ */
+class InMemoryTaskStoreTests extends TaskStoreConformanceTests {
+
+    private static final LocalDateTime DUE_DATE = LocalDateTime.of(2999, 1, 1, 0, 0);
+
+    private final TaskStore taskStore = new InMemoryTaskStore();
+
+    @Override
+    protected TaskStore store() {
+        return taskStore;
+    }
+
+    @Test
+    void failedInsertAllLeavesNothingBehind() {
+        insert("existing", Status.PENDING, Priority.LOW, DUE_DATE);
+
+        assertThatThrownBy(() -> taskStore.insertAll(tenant, List.of(
+                request("new", Status.PENDING, Priority.LOW, DUE_DATE),
+                request("existing", Status.PENDING, Priority.LOW, DUE_DATE))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(taskStore.countByStatusAndPriority()).singleElement().satisfies(cell -> assertThat(cell[2]).isEqualTo(1L));
+        assertThat(insert("new", Status.PENDING, Priority.LOW, DUE_DATE).getId()).isNotNull();
+    }
+
+    @Test
+    void failedUpdateStatusesLeavesNothingBehind() {
+        TaskModel first = insert("first", Status.PENDING, Priority.LOW, DUE_DATE);
+        TaskModel second = insert("second", Status.PENDING, Priority.LOW, DUE_DATE);
+        insert("second", Status.COMPLETED, Priority.LOW, DUE_DATE);
+
+        assertThatThrownBy(() -> taskStore.updateStatuses(List.of(statusUpdate(first.getId(), Status.COMPLETED), statusUpdate(second.getId(), Status.COMPLETED))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(taskStore.findById(first.getId()).orElseThrow().getStatus()).isEqualTo(Status.PENDING);
+        assertThat(taskStore.findById(first.getId()).orElseThrow().getVersion()).isZero();
+        assertThat(insert("first", Status.COMPLETED, Priority.LOW, DUE_DATE).getId()).isNotNull();
+    }
+
+    @Test
+    void concurrentInsertsAdmitOneTaskPerTitleAndStatus() throws Exception {
+        int writers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Callable<Boolean>> inserts = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                inserts.add(() -> {
+                    try {
+                        insert("contended", Status.PENDING, Priority.LOW, DUE_DATE);
+                        return true;
+                    } catch (DataIntegrityViolationException ex) {
+                        return false;
+                    }
+                });
+            }
+
+            int succeeded = 0;
+            for (Future<Boolean> result : executor.invokeAll(inserts)) {
+                succeeded += result.get() ? 1 : 0;
+            }
+            assertThat(succeeded).isOne();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.taskmanager.taskmanager.store;
+
+import com.example.taskmanager.taskmanager.store.impl.JpaTaskStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the conformance suite against the default store; every test rolls back its writes.
+ */
+@SpringBootTest
+@Transactional
+class JpaTaskStoreTests extends TaskStoreConformanceTests {
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Override
+    protected TaskStore store() {
+        return taskStore;
+    }
+
+    @Test
+    void jpaStoreIsTheDefault() {
+        assertThat(taskStore).isInstanceOf(JpaTaskStore.class);
+    }
+}
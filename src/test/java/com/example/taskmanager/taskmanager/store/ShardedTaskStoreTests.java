@@ -0,0 +1,139 @@
+package com.example.taskmanager.taskmanager.store;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.store.impl.ShardedTaskStore;
+import com.example.taskmanager.taskmanager.utility.CursorCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the conformance suite against three in-memory H2 shards, plus the merges of queries that
+ * span tenants. Those tests spread their tasks over several tenants and each use due dates in a year no
+ * other test writes, so every shard contributes and the merged order can be checked exactly.
+ */
+@SpringBootTest(properties = {
+        "taskmanager.store.type=sharded",
+        "taskmanager.sharding.urls=jdbc:h2:mem:shard-test-0;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard-test-1;DB_CLOSE_DELAY=-1,jdbc:h2:mem:shard-test-2;DB_CLOSE_DELAY=-1"
+})
+class ShardedTaskStoreTests extends TaskStoreConformanceTests {
+
+    private static final int TENANTS = 8;
+    private static final LocalDateTime FAR_FUTURE = LocalDateTime.of(2999, 1, 1, 0, 0);
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Override
+    protected TaskStore store() {
+        return taskStore;
+    }
+
+    // Two tasks per tenant with interleaved due dates, returned in (dueDate, id) order
+    private List<TaskModel> insertAcrossTenants(String name, int year) {
+        LocalDateTime dueDate = LocalDateTime.of(year, 1, 1, 0, 0);
+        List<TaskModel> tasks = new ArrayList<>();
+        for (int i = 0; i < TENANTS * 2; i++) {
+            tasks.add(taskStore.insert(tenant + "-" + (i % TENANTS), request(name + "-" + i, Status.PENDING, Priority.HIGH, dueDate.plusHours(i / 3))));
+        }
+        tasks.sort(Comparator.comparing(TaskModel::getDueDate).thenComparing(TaskModel::getId));
+        return tasks;
+    }
+
+    @Test
+    void shardedStoreIsSelected() {
+        assertThat(taskStore).isInstanceOf(ShardedTaskStore.class);
+    }
+
+    @Test
+    void pagesSpanningTenantsAreMergedInSortOrder() {
+        List<TaskModel> expected = insertAcrossTenants("merged-page", 3300);
+        List<Long> latestFirst = expected.reversed().stream().map(TaskModel::getId).toList();
+        TaskFilter filter = new TaskFilter(null, Status.PENDING, Priority.HIGH, false);
+
+        List<Long> paged = new ArrayList<>();
+        Page<TaskModel> page;
+        int number = 0;
+        do {
+            page = taskStore.findAll(filter, PageRequest.of(number++, 5, Sort.by(Sort.Direction.DESC, "dueDate").and(Sort.by(Sort.Direction.DESC, "id"))));
+            page.forEach(task -> paged.add(task.getId()));
+        } while (paged.size() < latestFirst.size() && page.hasNext());
+
+        assertThat(paged.subList(0, latestFirst.size())).containsExactlyElementsOf(latestFirst);
+        assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(latestFirst.size());
+    }
+
+    @Test
+    void slicesSpanningTenantsAreMergedInDueDateOrder() {
+        List<TaskModel> expected = insertAcrossTenants("merged-slice", 3200);
+        TaskFilter filter = new TaskFilter(null, Status.PENDING, Priority.HIGH, null);
+
+        List<Long> walked = new ArrayList<>();
+        CursorCodec.Position position = new CursorCodec.Position(LocalDateTime.of(3200, 1, 1, 0, 0).minusSeconds(1), 0L);
+        Slice<TaskModel> slice;
+        do {
+            slice = taskStore.findAfter(filter, position, 3);
+            slice.forEach(task -> walked.add(task.getId()));
+            if (slice.hasContent()) {
+                TaskModel last = slice.getContent().get(slice.getNumberOfElements() - 1);
+                position = new CursorCodec.Position(last.getDueDate(), last.getId());
+            }
+        } while (slice.hasNext() && walked.size() < expected.size());
+
+        assertThat(walked).containsExactlyElementsOf(expected.stream().map(TaskModel::getId).toList());
+    }
+
+    @Test
+    void streamsSpanningTenantsAreMergedInIdOrder() {
+        List<Long> ids = insertAcrossTenants("merged-stream", 3100).stream().map(TaskModel::getId).sorted().toList();
+
+        List<Long> streamed;
+        try (Stream<TaskModel> tasks = taskStore.streamAll(TaskFilter.ALL, 4)) {
+            streamed = tasks.map(TaskModel::getId).filter(ids::contains).toList();
+        }
+
+        assertThat(streamed).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void countsSpanningTenantsAreSummed() {
+        long before = taskStore.countNotOverdue(LocalDateTime.now());
+
+        insertAcrossTenants("merged-count", 3100);
+
+        assertThat(taskStore.countNotOverdue(LocalDateTime.now())).isEqualTo(before + TENANTS * 2);
+    }
+
+    @Test
+    void failedUpdateStatusesAcrossShardsLeavesNothingBehind() {
+        List<TaskModel> pending = new ArrayList<>();
+        for (int i = 0; i < TENANTS; i++) {
+            pending.add(taskStore.insert(tenant + "-" + i, request("rollback", Status.PENDING, Priority.LOW, FAR_FUTURE)));
+        }
+        TaskModel last = pending.get(TENANTS - 1);
+        taskStore.insert(last.getTenantId(), request("rollback", Status.COMPLETED, Priority.LOW, FAR_FUTURE));
+
+        assertThatThrownBy(() -> taskStore.updateStatuses(pending.stream().map(task -> statusUpdate(task.getId(), Status.COMPLETED)).toList()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(taskStore.findAllById(pending.stream().map(TaskModel::getId).toList()))
+                .extracting(TaskModel::getStatus).containsOnly(Status.PENDING);
+    }
+}
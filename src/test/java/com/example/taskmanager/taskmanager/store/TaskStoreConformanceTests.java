@@ -0,0 +1,404 @@
+package com.example.taskmanager.taskmanager.store;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.RequestTaskModel;
+import com.example.taskmanager.taskmanager.model.StatusUpdateModel;
+import com.example.taskmanager.taskmanager.model.TaskFilter;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import com.example.taskmanager.taskmanager.utility.CursorCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Behaviour every {@link TaskStore} backend has to share. Tasks written here get unique titles and
+ * tenants and due dates far in the past or future, and counts are compared before and after, so rows
+ * that are already present (such as the seed data) do not affect the outcome.
+ */
+public abstract class TaskStoreConformanceTests {
+
+    private static final LocalDateTime FAR_FUTURE = LocalDateTime.of(2999, 1, 1, 0, 0);
+    private static final LocalDateTime FAR_PAST = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final String prefix = "conformance-" + UUID.randomUUID() + "-";
+    protected final String tenant = "tenant-" + UUID.randomUUID();
+
+    protected abstract TaskStore store();
+
+    protected RequestTaskModel request(String title, Status status, Priority priority, LocalDateTime dueDate) {
+        RequestTaskModel request = new RequestTaskModel();
+        request.setTitle(prefix + title);
+        request.setDescription("Written by the store conformance tests");
+        request.setStatus(status);
+        request.setPriority(priority);
+        request.setDueDate(dueDate);
+        return request;
+    }
+
+    protected TaskModel insert(String title, Status status, Priority priority, LocalDateTime dueDate) {
+        return store().insert(tenant, request(title, status, priority, dueDate));
+    }
+
+    protected static StatusUpdateModel statusUpdate(Long id, Status status) {
+        StatusUpdateModel update = new StatusUpdateModel();
+        update.setId(id);
+        update.setStatus(status);
+        return update;
+    }
+
+    // --- Writes ---
+
+    @Test
+    void insertAssignsIdAndInitialVersion() {
+        TaskModel task = insert("insert", Status.PENDING, Priority.HIGH, FAR_FUTURE);
+
+        assertThat(task.getId()).isNotNull();
+        assertThat(task.getVersion()).isZero();
+        TaskModel found = store().findById(task.getId()).orElseThrow();
+        assertThat(found.getTitle()).isEqualTo(prefix + "insert");
+        assertThat(found.getStatus()).isEqualTo(Status.PENDING);
+        assertThat(found.getPriority()).isEqualTo(Priority.HIGH);
+        assertThat(found.getDueDate()).isEqualTo(FAR_FUTURE);
+        assertThat(found.getCreatedAt()).isNotNull();
+    }
+
+    @Test
+    void insertRejectsDuplicateTitleAndStatus() {
+        insert("duplicate", Status.PENDING, Priority.LOW, FAR_FUTURE);
+
+        assertThatThrownBy(() -> insert("duplicate", Status.PENDING, Priority.HIGH, FAR_FUTURE.plusDays(1)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void insertAcceptsSameTitleWithAnotherStatus() {
+        TaskModel pending = insert("same-title", Status.PENDING, Priority.LOW, FAR_FUTURE);
+        TaskModel completed = insert("same-title", Status.COMPLETED, Priority.LOW, FAR_FUTURE);
+
+        assertThat(completed.getId()).isNotEqualTo(pending.getId());
+    }
+
+    @Test
+    void insertAcceptsSameTitleAndStatusInAnotherTenant() {
+        TaskModel own = insert("shared-title", Status.PENDING, Priority.LOW, FAR_FUTURE);
+        TaskModel other = store().insert(tenant + "-other", request("shared-title", Status.PENDING, Priority.LOW, FAR_FUTURE));
+
+        assertThat(other.getId()).isNotEqualTo(own.getId());
+        assertThat(store().findById(other.getId()).orElseThrow().getTenantId()).isEqualTo(tenant + "-other");
+    }
+
+    @Test
+    void insertAllReturnsTasksInRequestOrder() {
+        List<TaskModel> tasks = store().insertAll(tenant, List.of(
+                request("batch-1", Status.PENDING, Priority.LOW, FAR_FUTURE),
+                request("batch-2", Status.PENDING, Priority.LOW, FAR_FUTURE)));
+
+        assertThat(tasks).extracting(TaskModel::getTitle).containsExactly(prefix + "batch-1", prefix + "batch-2");
+        assertThat(store().findAllById(tasks.stream().map(TaskModel::getId).toList())).hasSize(2);
+    }
+
+    @Test
+    void insertAllRejectsDuplicateWithinBatch() {
+        assertThatThrownBy(() -> store().insertAll(tenant, List.of(
+                request("batch-duplicate", Status.PENDING, Priority.LOW, FAR_FUTURE),
+                request("batch-duplicate", Status.PENDING, Priority.HIGH, FAR_FUTURE))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void updateReplacesFieldsAndIncrementsVersion() {
+        TaskModel task = insert("update", Status.PENDING, Priority.LOW, FAR_FUTURE);
+
+        TaskModel updated = store().update(task.getId(), request("updated", Status.IN_PROGRESS, Priority.HIGH, FAR_FUTURE.plusDays(1)), task.getVersion()).orElseThrow();
+
+        assertThat(updated.getVersion()).isEqualTo(task.getVersion() + 1);
+        TaskModel found = store().findById(task.getId()).orElseThrow();
+        assertThat(found.getTitle()).isEqualTo(prefix + "updated");
+        assertThat(found.getStatus()).isEqualTo(Status.IN_PROGRESS);
+        assertThat(found.getPriority()).isEqualTo(Priority.HIGH);
+        assertThat(found.getDueDate()).isEqualTo(FAR_FUTURE.plusDays(1));
+    }
+
+    @Test
+    void updateWithStaleVersionChangesNothing() {
+        TaskModel task = insert("stale-update", Status.PENDING, Priority.LOW, FAR_FUTURE);
+
+        assertThat(store().update(task.getId(), request("stale-updated", Status.PENDING, Priority.LOW, FAR_FUTURE), task.getVersion() + 1)).isEmpty();
+        assertThat(store().findById(task.getId()).orElseThrow().getTitle()).isEqualTo(prefix + "stale-update");
+    }
+
+    @Test
+    void updateOfMissingTaskIsEmpty() {
+        assertThat(store().update(Long.MAX_VALUE, request("missing", Status.PENDING, Priority.LOW, FAR_FUTURE), null)).isEmpty();
+    }
+
+    @Test
+    void updateRejectsDuplicateTitleAndStatus() {
+        insert("taken", Status.PENDING, Priority.LOW, FAR_FUTURE);
+        TaskModel task = insert("free", Status.PENDING, Priority.LOW, FAR_FUTURE);
+
+        assertThatThrownBy(() -> store().update(task.getId(), request("taken", Status.PENDING, Priority.LOW, FAR_FUTURE), null))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void updateStatusChecksVersion() {
+        TaskModel task = insert("status", Status.PENDING, Priority.LOW, FAR_FUTURE);
+
+        assertThat(store().updateStatus(task.getId(), Status.IN_PROGRESS, task.getVersion() + 1)).isZero();
+        assertThat(store().updateStatus(task.getId(), Status.IN_PROGRESS, task.getVersion())).isOne();
+        assertThat(store().updateStatus(Long.MAX_VALUE, Status.IN_PROGRESS, null)).isZero();
+
+        TaskModel found = store().findById(task.getId()).orElseThrow();
+        assertThat(found.getStatus()).isEqualTo(Status.IN_PROGRESS);
+        assertThat(found.getVersion()).isEqualTo(task.getVersion() + 1);
+    }
+
+    @Test
+    void updateStatusRejectsDuplicateTitleAndStatus() {
+        TaskModel pending = insert("status-duplicate", Status.PENDING, Priority.LOW, FAR_FUTURE);
+        insert("status-duplicate", Status.COMPLETED, Priority.LOW, FAR_FUTURE);
+
+        assertThatThrownBy(() -> store().updateStatus(pending.getId(), Status.COMPLETED, null))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void updateStatusesAppliesLastStatusAndReportsFoundIds() {
+        TaskModel task = insert("statuses", Status.PENDING, Priority.LOW, FAR_FUTURE);
+
+        Set<Long> found = store().updateStatuses(List.of(
+                statusUpdate(task.getId(), Status.IN_PROGRESS),
+                statusUpdate(Long.MAX_VALUE, Status.IN_PROGRESS),
+                statusUpdate(task.getId(), Status.COMPLETED)));
+
+        assertThat(found).containsExactly(task.getId());
+        assertThat(store().findById(task.getId()).orElseThrow().getStatus()).isEqualTo(Status.COMPLETED);
+    }
+
+    @Test
+    void deleteUnlessStatusProtectsThatStatus() {
+        TaskModel inProgress = insert("protected", Status.IN_PROGRESS, Priority.LOW, FAR_FUTURE);
+        TaskModel pending = insert("deletable", Status.PENDING, Priority.LOW, FAR_FUTURE);
+
+        assertThat(store().deleteUnlessStatus(inProgress.getId(), Status.IN_PROGRESS)).isZero();
+        assertThat(store().deleteUnlessStatus(pending.getId(), Status.IN_PROGRESS)).isOne();
+        assertThat(store().deleteUnlessStatus(pending.getId(), Status.IN_PROGRESS)).isZero();
+
+        assertThat(store().existsById(inProgress.getId())).isTrue();
+        assertThat(store().existsById(pending.getId())).isFalse();
+    }
+
+    @Test
+    void deleteAllByIdUnlessStatusReturnsTheDeletedIds() {
+        TaskModel inProgress = insert("protected-bulk", Status.IN_PROGRESS, Priority.LOW, FAR_FUTURE);
+        TaskModel pending = insert("deletable-bulk", Status.PENDING, Priority.LOW, FAR_FUTURE);
+
+        assertThat(store().deleteAllByIdUnlessStatus(List.of(inProgress.getId(), pending.getId(), pending.getId(), Long.MAX_VALUE), Status.IN_PROGRESS))
+                .containsExactly(pending.getId());
+
+        assertThat(store().existsById(inProgress.getId())).isTrue();
+        assertThat(store().existsById(pending.getId())).isFalse();
+    }
+
+    @Test
+    void deletedTitleAndStatusCanBeReused() {
+        TaskModel task = insert("reused", Status.PENDING, Priority.LOW, FAR_FUTURE);
+        store().deleteUnlessStatus(task.getId(), Status.IN_PROGRESS);
+
+        assertThat(insert("reused", Status.PENDING, Priority.LOW, FAR_FUTURE).getId()).isNotEqualTo(task.getId());
+    }
+
+    @Test
+    void deleteAllByIdRemovesEveryTask() {
+        TaskModel first = insert("bulk-delete-1", Status.PENDING, Priority.LOW, FAR_FUTURE);
+        TaskModel second = insert("bulk-delete-2", Status.COMPLETED, Priority.LOW, FAR_FUTURE);
+
+        store().deleteAllById(List.of(first.getId(), second.getId(), Long.MAX_VALUE));
+
+        assertThat(store().existsById(first.getId())).isFalse();
+        assertThat(store().existsById(second.getId())).isFalse();
+        assertThat(store().findAllById(List.of(first.getId(), second.getId()))).isEmpty();
+    }
+
+    @Test
+    void deleteAllByIdAndVersionSkipsChangedTasks() {
+        TaskModel unchanged = insert("versioned-delete-1", Status.COMPLETED, Priority.LOW, FAR_FUTURE);
+        TaskModel changed = insert("versioned-delete-2", Status.COMPLETED, Priority.LOW, FAR_FUTURE);
+        store().updateStatus(changed.getId(), Status.PENDING, null);
+
+        Set<Long> deleted = store().deleteAllByIdAndVersion(Map.of(unchanged.getId(), unchanged.getVersion(), changed.getId(), changed.getVersion(), Long.MAX_VALUE, 0L));
+
+        assertThat(deleted).containsExactly(unchanged.getId());
+        assertThat(store().existsById(unchanged.getId())).isFalse();
+        assertThat(store().existsById(changed.getId())).isTrue();
+    }
+
+    // --- Queries ---
+
+    @Test
+    void findAllByIdSkipsMissingIds() {
+        TaskModel task = insert("by-id", Status.PENDING, Priority.LOW, FAR_FUTURE);
+
+        assertThat(store().findAllById(List.of(task.getId(), Long.MAX_VALUE))).extracting(TaskModel::getId).containsExactly(task.getId());
+    }
+
+    @Test
+    void findAllFiltersSortsAndPages() {
+        TaskFilter filter = new TaskFilter(null, Status.PENDING, Priority.MEDIUM, false);
+        long before = store().findAll(filter, PageRequest.of(0, 1)).getTotalElements();
+
+        TaskModel first = insert("page-1", Status.PENDING, Priority.MEDIUM, FAR_FUTURE.plusDays(3));
+        TaskModel second = insert("page-2", Status.PENDING, Priority.MEDIUM, FAR_FUTURE.plusDays(2));
+        TaskModel third = insert("page-3", Status.PENDING, Priority.MEDIUM, FAR_FUTURE.plusDays(1));
+        insert("page-other-priority", Status.PENDING, Priority.HIGH, FAR_FUTURE.plusDays(4));
+        insert("page-other-status", Status.IN_PROGRESS, Priority.MEDIUM, FAR_FUTURE.plusDays(4));
+
+        Sort latestFirst = Sort.by(Sort.Direction.DESC, "dueDate");
+        Page<TaskModel> firstPage = store().findAll(filter, PageRequest.of(0, 2, latestFirst));
+        Page<TaskModel> secondPage = store().findAll(filter, PageRequest.of(1, 2, latestFirst));
+
+        assertThat(firstPage.getTotalElements()).isEqualTo(before + 3);
+        assertThat(firstPage.getContent()).extracting(TaskModel::getId).containsExactly(first.getId(), second.getId());
+        assertThat(secondPage.getContent()).extracting(TaskModel::getId).startsWith(third.getId());
+    }
+
+    @Test
+    void tenantFilterOnlyMatchesThatTenant() {
+        TaskModel own = insert("tenant-own", Status.PENDING, Priority.LOW, FAR_FUTURE);
+        TaskModel other = store().insert(tenant + "-other", request("tenant-other", Status.PENDING, Priority.LOW, FAR_FUTURE));
+
+        Page<TaskModel> page = store().findAll(new TaskFilter(tenant, null, null, null), PageRequest.of(0, 100));
+        Slice<TaskModel> slice = store().findAfter(new TaskFilter(tenant, Status.PENDING, null, null), null, 100);
+        List<Long> streamed;
+        try (Stream<TaskModel> tasks = store().streamAll(new TaskFilter(tenant, null, null, null), 10)) {
+            streamed = tasks.map(TaskModel::getId).toList();
+        }
+
+        assertThat(page.getContent()).extracting(TaskModel::getId).containsExactly(own.getId());
+        assertThat(page.getTotalElements()).isOne();
+        assertThat(slice.getContent()).extracting(TaskModel::getId).containsExactly(own.getId());
+        assertThat(streamed).containsExactly(own.getId()).doesNotContain(other.getId());
+    }
+
+    @Test
+    void overdueFilterNeverMatchesCompletedTasks() {
+        TaskModel open = insert("overdue-open", Status.PENDING, Priority.LOW, FAR_PAST);
+        insert("overdue-completed", Status.COMPLETED, Priority.LOW, FAR_PAST);
+
+        Page<TaskModel> overdue = store().findAll(new TaskFilter(null, null, Priority.LOW, true), PageRequest.of(0, 100, Sort.by("dueDate")));
+
+        assertThat(overdue.getContent()).extracting(TaskModel::getId).contains(open.getId());
+        assertThat(overdue.getContent()).extracting(TaskModel::getStatus).doesNotContain(Status.COMPLETED);
+        assertThat(store().findAll(new TaskFilter(null, Status.COMPLETED, null, true), PageRequest.of(0, 1)).getTotalElements()).isZero();
+    }
+
+    @Test
+    void findAfterWalksDueDateThenIdOrder() {
+        TaskModel late = insert("slice-late", Status.PENDING, Priority.LOW, FAR_FUTURE.plusDays(2));
+        TaskModel tiedFirst = insert("slice-tied-1", Status.PENDING, Priority.LOW, FAR_FUTURE.plusDays(1));
+        TaskModel tiedSecond = insert("slice-tied-2", Status.PENDING, Priority.LOW, FAR_FUTURE.plusDays(1));
+        insert("slice-completed", Status.COMPLETED, Priority.LOW, FAR_FUTURE.plusDays(1));
+
+        TaskFilter filter = new TaskFilter(null, Status.PENDING, null, null);
+        List<Long> walked = new ArrayList<>();
+        CursorCodec.Position position = new CursorCodec.Position(FAR_FUTURE, 0L);
+        Slice<TaskModel> slice;
+        do {
+            slice = store().findAfter(filter, position, 2);
+            slice.forEach(task -> walked.add(task.getId()));
+            if (slice.hasContent()) {
+                TaskModel last = slice.getContent().get(slice.getNumberOfElements() - 1);
+                position = new CursorCodec.Position(last.getDueDate(), last.getId());
+            }
+        } while (slice.hasNext());
+
+        List<Long> tied = Stream.of(tiedFirst.getId(), tiedSecond.getId()).sorted().toList();
+        assertThat(walked).startsWith(tied.get(0), tied.get(1), late.getId());
+    }
+
+    @Test
+    void streamAllReturnsMatchingTasksInIdOrder() {
+        TaskModel first = insert("stream-1", Status.IN_PROGRESS, Priority.HIGH, FAR_FUTURE);
+        TaskModel second = insert("stream-2", Status.IN_PROGRESS, Priority.HIGH, FAR_FUTURE);
+        insert("stream-other", Status.PENDING, Priority.HIGH, FAR_FUTURE);
+
+        List<Long> ids;
+        try (Stream<TaskModel> tasks = store().streamAll(new TaskFilter(null, Status.IN_PROGRESS, Priority.HIGH, null), 10)) {
+            ids = tasks.filter(task -> task.getTitle().startsWith(prefix)).map(TaskModel::getId).toList();
+        }
+
+        assertThat(ids).containsExactly(Math.min(first.getId(), second.getId()), Math.max(first.getId(), second.getId()));
+    }
+
+    // --- Aggregates ---
+
+    @Test
+    void countsFollowWrites() {
+        LocalDateTime now = LocalDateTime.now();
+        long cellBefore = cell(store().countByStatusAndPriority(), Status.IN_PROGRESS, Priority.LOW);
+        long overdueCellBefore = cell(store().countOverdueByStatusAndPriority(now), Status.IN_PROGRESS, Priority.LOW);
+        long overdueBefore = store().countOverdue(now);
+        long notOverdueBefore = store().countNotOverdue(now);
+
+        insert("count-overdue", Status.IN_PROGRESS, Priority.LOW, FAR_PAST);
+        insert("count-upcoming", Status.IN_PROGRESS, Priority.LOW, FAR_FUTURE);
+        insert("count-completed", Status.COMPLETED, Priority.LOW, FAR_PAST);
+
+        assertThat(cell(store().countByStatusAndPriority(), Status.IN_PROGRESS, Priority.LOW)).isEqualTo(cellBefore + 2);
+        assertThat(cell(store().countOverdueByStatusAndPriority(now), Status.IN_PROGRESS, Priority.LOW)).isEqualTo(overdueCellBefore + 1);
+        assertThat(store().countOverdue(now)).isEqualTo(overdueBefore + 1);
+        assertThat(store().countNotOverdue(now)).isEqualTo(notOverdueBefore + 1);
+    }
+
+    @Test
+    void openDueDatesSkipCompletedTasks() {
+        TaskModel open = insert("due-open", Status.PENDING, Priority.LOW, FAR_FUTURE.plusHours(1));
+        TaskModel completed = insert("due-completed", Status.COMPLETED, Priority.LOW, FAR_FUTURE.plusHours(1));
+        TaskModel later = insert("due-later", Status.PENDING, Priority.LOW, FAR_FUTURE.plusHours(3));
+
+        Map<Long, LocalDateTime> due = store().findOpenDueBetween(FAR_FUTURE, FAR_FUTURE.plusHours(2));
+
+        assertThat(due).containsEntry(open.getId(), FAR_FUTURE.plusHours(1)).doesNotContainKeys(completed.getId(), later.getId());
+        assertThat(store().findOpenDueDate(open.getId())).contains(FAR_FUTURE.plusHours(1));
+        assertThat(store().findOpenDueDate(completed.getId())).isEmpty();
+        assertThat(store().findOpenDueDate(Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void completedBeforeReturnsOldestCompletedTasksFirst() {
+        LocalDateTime before = LocalDateTime.now().minusSeconds(1);
+        TaskModel first = insert("archivable-1", Status.COMPLETED, Priority.LOW, FAR_PAST);
+        TaskModel second = insert("archivable-2", Status.COMPLETED, Priority.HIGH, FAR_FUTURE);
+        TaskModel open = insert("archivable-open", Status.PENDING, Priority.LOW, FAR_PAST);
+        LocalDateTime cutoff = LocalDateTime.now().plusSeconds(1);
+
+        List<TaskModel> completed = store().findCompletedBefore(cutoff, Integer.MAX_VALUE);
+
+        assertThat(completed).extracting(TaskModel::getId).contains(first.getId(), second.getId()).doesNotContain(open.getId());
+        assertThat(completed).extracting(TaskModel::getStatus).containsOnly(Status.COMPLETED);
+        assertThat(completed).isSortedAccordingTo(Comparator.comparing(TaskModel::getUpdatedAt).thenComparing(TaskModel::getId));
+        assertThat(store().findCompletedBefore(cutoff, 1)).hasSize(1);
+        assertThat(store().findCompletedBefore(before, Integer.MAX_VALUE)).extracting(TaskModel::getId).doesNotContain(first.getId(), second.getId());
+    }
+
+    private static long cell(List<Object[]> cells, Status status, Priority priority) {
+        return cells.stream().filter(row -> row[0] == status && row[1] == priority).mapToLong(row -> ((Number) row[2]).longValue()).sum();
+    }
+}
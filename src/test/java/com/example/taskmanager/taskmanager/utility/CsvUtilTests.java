@@ -0,0 +1,55 @@
+package com.example.taskmanager.taskmanager.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvUtilTests {
+
+    private static List<String> records(String csv, List<Integer> startLines) throws IOException {
+        CsvUtil.RecordReader reader = new CsvUtil.RecordReader(new BufferedReader(new StringReader(csv)));
+        List<String> records = new ArrayList<>();
+        String record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+            startLines.add(reader.recordLine());
+        }
+        return records;
+    }
+
+    @Test
+    void escapedValuesParseBackUnchanged() {
+        String value = "a, \"quoted\" value\nover two lines";
+
+        String row = String.join(",", CsvUtil.escape("plain"), CsvUtil.escape(value), CsvUtil.escape(null));
+
+        assertThat(CsvUtil.parseLine(row)).containsExactly("plain", value, "");
+    }
+
+    @Test
+    void quotedLineBreaksContinueTheRecordAndKeepStartLines() throws IOException {
+        List<Integer> startLines = new ArrayList<>();
+
+        List<String> records = records("h1,h2\n1,\"first\nsecond\n\"\"third\"\"\"\n2,plain\n", startLines);
+
+        assertThat(records).hasSize(3);
+        assertThat(CsvUtil.parseLine(records.get(1))).containsExactly("1", "first\nsecond\n\"third\"");
+        assertThat(CsvUtil.parseLine(records.get(2))).containsExactly("2", "plain");
+        assertThat(startLines).containsExactly(1, 2, 5);
+    }
+
+    @Test
+    void unterminatedQuoteIsReportedAtTheEndOfInput() throws IOException {
+        List<String> records = records("1,\"never closed\n2,x\n", new ArrayList<>());
+
+        assertThat(records).singleElement().satisfies(record ->
+                assertThatThrownBy(() -> CsvUtil.parseLine(record)).isInstanceOf(IllegalArgumentException.class));
+    }
+}
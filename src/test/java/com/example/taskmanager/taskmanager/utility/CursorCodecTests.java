@@ -0,0 +1,64 @@
+package com.example.taskmanager.taskmanager.utility;
+
+import com.example.taskmanager.taskmanager.enums.Priority;
+import com.example.taskmanager.taskmanager.enums.Status;
+import com.example.taskmanager.taskmanager.model.TaskModel;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTests {
+
+    private static TaskModel task(Long id, LocalDateTime dueDate) {
+        return new TaskModel(id, "default", "cursor", null, Status.PENDING, Priority.LOW, dueDate, dueDate, dueDate, 0L);
+    }
+
+    @Test
+    void positionSurvivesTheRoundTrip() {
+        LocalDateTime dueDate = LocalDateTime.of(2999, 1, 1, 12, 30, 15, 123_456_000);
+
+        String cursor = CursorCodec.encode(task(42L, dueDate));
+
+        assertThat(cursor).doesNotContain("=", "+", "/");
+        assertThat(CursorCodec.decode(cursor)).isEqualTo(new CursorCodec.Position(dueDate, 42L));
+    }
+
+    @Test
+    void wholeMinuteDueDateSurvivesTheRoundTrip() {
+        LocalDateTime dueDate = LocalDateTime.of(2999, 1, 1, 0, 0);
+
+        assertThat(CursorCodec.decode(CursorCodec.encode(task(Long.MAX_VALUE, dueDate))))
+                .isEqualTo(new CursorCodec.Position(dueDate, Long.MAX_VALUE));
+    }
+
+    @Test
+    void blankCursorOpensTheFirstSlice() {
+        assertThat(CursorCodec.decode(null)).isNull();
+        assertThat(CursorCodec.decode("")).isNull();
+        assertThat(CursorCodec.decode("  ")).isNull();
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        String cursor = CursorCodec.encode(task(42L, LocalDateTime.of(2999, 1, 1, 0, 0)));
+
+        // Not Base64, cut inside the due date, and a length Base64 cannot have
+        assertThatThrownBy(() -> CursorCodec.decode("not a cursor!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorCodec.decode(cursor.substring(0, 8))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorCodec.decode(cursor.substring(0, 9))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cursorWithoutANumericIdIsRejected() {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("2999-01-01T00:00|last".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> CursorCodec.decode(cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor: " + cursor);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.taskmanager.taskmanager.utility;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The serializer must write exactly what the stock JavaTimeModule serializer writes, so swapping it
+ * in changes no response body.
+ */
+class IsoLocalDateTimeSerializerTests {
+
+    private static final JsonMapper STOCK = mapper(false, false);
+    private static final JsonMapper CUSTOM = mapper(true, false);
+    private static final JsonMapper STOCK_TIMESTAMPS = mapper(false, true);
+    private static final JsonMapper CUSTOM_TIMESTAMPS = mapper(true, true);
+
+    private static JsonMapper mapper(boolean custom, boolean timestamps) {
+        JsonMapper.Builder builder = JsonMapper.builder().addModule(new JavaTimeModule()).configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, timestamps);
+        if (custom) {
+            builder.addModule(new SimpleModule().addSerializer(LocalDateTime.class, IsoLocalDateTimeSerializer.INSTANCE));
+        }
+        return builder.build();
+    }
+
+    static Stream<Arguments> values() {
+        List<Arguments> values = new ArrayList<>();
+        for (LocalDateTime value : new LocalDateTime[]{
+                LocalDateTime.of(2024, 1, 1, 0, 0),
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59),
+                LocalDateTime.of(2024, 6, 15, 10, 30, 0, 1),
+                LocalDateTime.of(2024, 6, 15, 10, 30, 0, 100_000_000),
+                LocalDateTime.of(2024, 6, 15, 10, 30, 5, 120_000),
+                LocalDateTime.of(2024, 6, 15, 10, 30, 5, 123_456_789),
+                LocalDateTime.of(0, 1, 1, 0, 0),
+                LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999),
+                LocalDateTime.of(10000, 1, 1, 0, 0),
+                LocalDateTime.of(-1, 1, 1, 0, 0)}) {
+            values.add(Arguments.of(value));
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime value = LocalDateTime.of(random.nextInt(10000), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextBoolean() ? 0 : random.nextInt(1_000_000_000));
+            values.add(Arguments.of(value));
+        }
+        return values.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    void writesTheSameTextAsTheStockSerializer(LocalDateTime value) throws Exception {
+        assertThat(CUSTOM.writeValueAsString(value)).isEqualTo(STOCK.writeValueAsString(value));
+    }
+
+    @ParameterizedTest
+    @MethodSource("values")
+    void writesTheSameTimestampArrayAsTheStockSerializer(LocalDateTime value) throws Exception {
+        assertThat(CUSTOM_TIMESTAMPS.writeValueAsString(value)).isEqualTo(STOCK_TIMESTAMPS.writeValueAsString(value));
+    }
+}
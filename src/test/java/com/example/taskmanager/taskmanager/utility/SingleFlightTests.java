@@ -0,0 +1,133 @@
+package com.example.taskmanager.taskmanager.utility;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The loader of each test blocks until every other caller has joined its flight, so the callers
+ * are known to overlap rather than merely likely to.
+ */
+class SingleFlightTests {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    // Runs the loader once all the other callers are waiting on the flight
+    private static <V> Supplier<V> afterOthersJoin(SingleFlight<String, V> flights, AtomicInteger runs, Supplier<V> result) {
+        return () -> {
+            runs.incrementAndGet();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (flights.sharedCount() < CALLERS - 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            return result.get();
+        };
+    }
+
+    private <V> List<Future<V>> callConcurrently(SingleFlight<String, V> flights, Supplier<V> loader) {
+        List<Future<V>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> flights.execute("key", loader)));
+        }
+        return results;
+    }
+
+    @Test
+    void concurrentIdenticalCallsRunTheLoaderOnce() throws Exception {
+        SingleFlight<String, Object> flights = new SingleFlight<>(Duration.ZERO, 100);
+        AtomicInteger runs = new AtomicInteger();
+        Object value = new Object();
+
+        List<Future<Object>> results = callConcurrently(flights, afterOthersJoin(flights, runs, () -> value));
+
+        for (Future<Object> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(value);
+        }
+        assertThat(runs).hasValue(1);
+        assertThat(flights.loadCount()).isEqualTo(1);
+        assertThat(flights.sharedCount()).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void aFailureReachesEveryWaiterAndIsNotReused() throws Exception {
+        SingleFlight<String, Object> flights = new SingleFlight<>(Duration.ofMinutes(1), 100);
+        AtomicInteger runs = new AtomicInteger();
+        IllegalStateException failure = new IllegalStateException("database unavailable");
+
+        List<Future<Object>> results = callConcurrently(flights, afterOthersJoin(flights, runs, () -> {
+            throw failure;
+        }));
+
+        for (Future<Object> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).hasCauseReference(failure);
+        }
+        assertThat(runs).hasValue(1);
+
+        // Even with a ttl, the next call loads again instead of replaying the failure
+        assertThat(flights.execute("key", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    void finishedResultsAreReusedOnlyWithinTheTtl() {
+        SingleFlight<String, String> noTtl = new SingleFlight<>(Duration.ZERO, 100);
+        noTtl.execute("key", () -> "first");
+        assertThat(noTtl.execute("key", () -> "second")).isEqualTo("second");
+
+        SingleFlight<String, String> withTtl = new SingleFlight<>(Duration.ofMinutes(1), 100);
+        withTtl.execute("key", () -> "first");
+        assertThat(withTtl.execute("key", () -> "second")).isEqualTo("first");
+        assertThat(withTtl.execute("other", () -> "third")).isEqualTo("third");
+
+        withTtl.invalidate();
+        assertThat(withTtl.execute("key", () -> "fourth")).isEqualTo("fourth");
+    }
+
+    @Test
+    void invalidateLetsANewCallLoadWhileEarlierWaitersKeepTheirFlight() throws Exception {
+        SingleFlight<String, String> flights = new SingleFlight<>(Duration.ZERO, 100);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> stale = executor.submit(() -> flights.execute("key", () -> {
+            loading.countDown();
+            await(release);
+            return "before write";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        flights.invalidate();
+        assertThat(flights.execute("key", () -> "after write")).isEqualTo("after write");
+
+        release.countDown();
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("before write");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
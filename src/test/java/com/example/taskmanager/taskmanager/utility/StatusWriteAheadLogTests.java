@@ -0,0 +1,98 @@
+package com.example.taskmanager.taskmanager.utility;
+
+import com.example.taskmanager.taskmanager.enums.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Reopens the log to check what a restart recovers; closing it stands in for a crash, since every
+ * append has already reached the mapped file.
+ */
+class StatusWriteAheadLogTests {
+
+    private static final long CAPACITY = 16 + 24 * 8;
+
+    @TempDir
+    private Path directory;
+
+    private StatusWriteAheadLog open() throws IOException {
+        return new StatusWriteAheadLog(directory.resolve("status.wal"), CAPACITY, false);
+    }
+
+    @Test
+    void recoversEntriesAfterTheCheckpoint() throws IOException {
+        try (StatusWriteAheadLog log = open()) {
+            log.append(1, Status.IN_PROGRESS);
+            log.append(2, Status.COMPLETED);
+            log.checkpoint(1);
+            log.append(3, null);
+        }
+
+        try (StatusWriteAheadLog log = open()) {
+            assertThat(log.recovered()).containsExactly(
+                    new StatusWriteAheadLog.Entry(2, 2, Status.COMPLETED),
+                    new StatusWriteAheadLog.Entry(3, 3, null));
+            assertThat(log.append(4, Status.PENDING)).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void rewindsOnceEverythingIsCheckpointed() throws IOException {
+        try (StatusWriteAheadLog log = open()) {
+            for (int i = 1; i <= 8; i++) {
+                log.append(i, Status.PENDING);
+            }
+            assertThat(log.append(9, Status.PENDING)).isNegative();
+            log.checkpoint(8);
+            // The new record overwrites the first slot; the older ones behind it must not come back
+            assertThat(log.append(10, Status.COMPLETED)).isEqualTo(9);
+        }
+
+        try (StatusWriteAheadLog log = open()) {
+            assertThat(log.recovered()).containsExactly(new StatusWriteAheadLog.Entry(9, 10, Status.COMPLETED));
+        }
+    }
+
+    @Test
+    void reservedRecordsAreLeftForLaterAppends() throws IOException {
+        try (StatusWriteAheadLog log = open()) {
+            for (int i = 1; i <= 6; i++) {
+                log.append(i, Status.PENDING);
+            }
+            assertThat(log.append(7, Status.PENDING, 2)).isNegative();
+            assertThat(log.append(7, Status.PENDING, 1)).isEqualTo(7);
+            assertThat(log.append(8, null)).isEqualTo(8);
+        }
+    }
+
+    @Test
+    void tornAppendEndsRecovery() throws IOException {
+        try (StatusWriteAheadLog log = open()) {
+            log.append(1, Status.IN_PROGRESS);
+            log.append(2, Status.COMPLETED);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("status.wal").toFile(), "rw")) {
+            file.seek(16 + 24 + 8);
+            file.writeLong(99);
+        }
+
+        try (StatusWriteAheadLog log = open()) {
+            assertThat(log.recovered()).containsExactly(new StatusWriteAheadLog.Entry(1, 1, Status.IN_PROGRESS));
+        }
+    }
+
+    @Test
+    void rejectsFilesThatAreNotALog() throws IOException {
+        Files.writeString(directory.resolve("status.wal"), "not a log");
+
+        assertThatThrownBy(this::open).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.taskmanager.taskmanager.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+
+    private static final long START = 1_000_000_000_000L;
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void fullBucketAdmitsTheBurstBackToBackThenWaitsOneInterval() {
+        TokenBucket bucket = new TokenBucket(10, 3, START);
+
+        assertThat(bucket.tryAcquire(START)).isZero();
+        assertThat(bucket.tryAcquire(START)).isZero();
+        assertThat(bucket.tryAcquire(START)).isZero();
+        assertThat(bucket.tryAcquire(START)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void rejectedRequestsDoNotUseUpTokens() {
+        TokenBucket bucket = new TokenBucket(10, 1, START);
+        bucket.tryAcquire(START);
+
+        assertThat(bucket.tryAcquire(START)).isEqualTo(INTERVAL);
+        assertThat(bucket.tryAcquire(START + INTERVAL / 4)).isEqualTo(INTERVAL * 3 / 4);
+        assertThat(bucket.tryAcquire(START + INTERVAL)).isZero();
+    }
+
+    @Test
+    void tokensRefillAtTheSustainedRate() {
+        TokenBucket bucket = new TokenBucket(10, 2, START);
+        bucket.tryAcquire(START);
+        bucket.tryAcquire(START);
+
+        assertThat(bucket.tryAcquire(START + INTERVAL)).isZero();
+        assertThat(bucket.tryAcquire(START + INTERVAL)).isEqualTo(INTERVAL);
+        assertThat(bucket.tryAcquire(START + 3 * INTERVAL)).isZero();
+        assertThat(bucket.tryAcquire(START + 3 * INTERVAL)).isZero();
+        assertThat(bucket.tryAcquire(START + 3 * INTERVAL)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void idleTimeRefillsNoMoreThanTheBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, START);
+        long later = START + TimeUnit.MINUTES.toNanos(5);
+
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void fractionalRatesSpaceRequestsBySeconds() {
+        TokenBucket bucket = new TokenBucket(0.5, 1, START);
+        bucket.tryAcquire(START);
+
+        assertThat(bucket.tryAcquire(START)).isEqualTo(TimeUnit.SECONDS.toNanos(2));
+    }
+}